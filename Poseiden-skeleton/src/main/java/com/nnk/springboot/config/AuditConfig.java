@@ -0,0 +1,31 @@
+package com.nnk.springboot.config;
+
+import com.nnk.springboot.services.AuditService;
+import com.nnk.springboot.services.UserService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+import java.util.Optional;
+
+/**
+ * Configuration class for the auditing of the entities.
+ * Entities listened to by the Spring Data AuditingEntityListener get their @CreatedBy and @LastModifiedBy
+ * properties set to the current user when saved; the history of their changes is kept by the AuditService.
+ */
+@Configuration
+@EnableJpaAuditing(auditorAwareRef = "auditorAware")
+public class AuditConfig {
+
+    /**
+     * Provides the name of the user saving an entity, or the system user when nobody is logged in.
+     *
+     * @param userService The user service.
+     * @return The AuditorAware bean.
+     */
+    @Bean
+    public AuditorAware<String> auditorAware(UserService userService) {
+        return () -> Optional.of(userService.getCurrentUsername().orElse(AuditService.SYSTEM_USER));
+    }
+}
@@ -0,0 +1,114 @@
+package com.nnk.springboot.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Configuration class for the application caches, all backed by Caffeine.
+ * Statistics are recorded so that the actuator publishes hit and miss counts for every cache.
+ * The Hibernate second-level cache regions are created here too, through the JCache API of Caffeine.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USER_DETAILS_CACHE = "userDetails";
+    public static final String TRADE_ROWS_CACHE = "tradeRows";
+    public static final String BID_LIST_ROWS_CACHE = "bidListRows";
+
+    /**
+     * Second-level cache regions of the reference data entities, as named by their @Cache annotation.
+     */
+    private static final List<String> REFERENCE_DATA_REGIONS = List.of("rating", "ruleName");
+
+    /**
+     * Creates the cache manager and registers each cache with its own bounds.
+     *
+     * @param userDetailsMaximumSize The maximum number of cached users.
+     * @param userDetailsTtl         The time after which a cached user is reloaded.
+     * @param listRowsMaximumSize    The maximum number of cached rendered rows per list page.
+     * @return The CacheManager bean.
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${cache.user-details.maximum-size:10000}") long userDetailsMaximumSize,
+                                     @Value("${cache.user-details.ttl:5m}") Duration userDetailsTtl,
+                                     @Value("${cache.list-rows.maximum-size:20000}") long listRowsMaximumSize) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(USER_DETAILS_CACHE, Caffeine.newBuilder()
+                .maximumSize(userDetailsMaximumSize)
+                .expireAfterWrite(userDetailsTtl)
+                .recordStats()
+                .build());
+        for (String listRowsCache : List.of(TRADE_ROWS_CACHE, BID_LIST_ROWS_CACHE)) {
+            cacheManager.registerCustomCache(listRowsCache, Caffeine.newBuilder()
+                    .maximumSize(listRowsMaximumSize)
+                    .recordStats()
+                    .build());
+        }
+        return cacheManager;
+    }
+
+    /**
+     * Creates the JCache manager holding the Hibernate second-level cache regions: one per reference data
+     * entity, the cached query results and the table update timestamps. The timestamps region is never
+     * evicted, since a cached query result is only valid while the timestamps of its tables are known.
+     *
+     * @param referenceDataMaximumSize The maximum number of cached entities per reference data region.
+     * @param referenceDataTtl         The time after which a cached entity is reloaded.
+     * @param queryResultsMaximumSize  The maximum number of cached query results.
+     * @return The JCache CacheManager bean.
+     */
+    @Bean(destroyMethod = "close")
+    public javax.cache.CacheManager hibernateCacheManager(@Value("${cache.reference-data.maximum-size:10000}") long referenceDataMaximumSize,
+                                                          @Value("${cache.reference-data.ttl:1h}") Duration referenceDataTtl,
+                                                          @Value("${cache.query-results.maximum-size:1000}") long queryResultsMaximumSize) {
+        // A provider of its own rather than the shared Caching one, so each application context gets its own regions
+        javax.cache.CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager();
+        for (String region : REFERENCE_DATA_REGIONS) {
+            cacheManager.createCache(region, regionConfiguration(referenceDataMaximumSize, referenceDataTtl));
+        }
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                regionConfiguration(queryResultsMaximumSize, referenceDataTtl));
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                regionConfiguration(-1, null));
+        return cacheManager;
+    }
+
+    /**
+     * Makes Hibernate use the regions of the JCache manager.
+     *
+     * @param hibernateCacheManager The JCache manager holding the regions.
+     * @return The HibernatePropertiesCustomizer bean.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(javax.cache.CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(long maximumSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (maximumSize >= 0) {
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        }
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
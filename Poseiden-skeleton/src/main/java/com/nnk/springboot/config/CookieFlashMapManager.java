@@ -0,0 +1,103 @@
+package com.nnk.springboot.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.servlet.FlashMap;
+import org.springframework.web.servlet.support.AbstractFlashMapManager;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FlashMapManager keeping the flash attributes in a cookie instead of the HTTP session, for the modes keeping the
+ * login out of the session: the page a form redirects to may then be served by any instance. The attributes are
+ * short messages, written as JSON: their values are strings, numbers or booleans.
+ */
+public class CookieFlashMapManager extends AbstractFlashMapManager {
+
+    public static final String COOKIE = "POSEIDON_FLASH";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * A flash map as written in the cookie
+     *
+     * @param path       the target request path, null for any
+     * @param params     the target request parameters
+     * @param expiresAt  the expiry time, in epoch milliseconds
+     * @param attributes the flash attributes
+     */
+    private record StoredFlashMap(String path, Map<String, List<String>> params, long expiresAt,
+                                  Map<String, Object> attributes) {
+    }
+
+    @Override
+    protected List<FlashMap> retrieveFlashMaps(HttpServletRequest request) {
+        Cookie cookie = WebUtils.getCookie(request, COOKIE);
+        if (cookie == null || cookie.getValue().isEmpty()) {
+            return null;
+        }
+        List<StoredFlashMap> storedFlashMaps;
+        try {
+            storedFlashMaps = MAPPER.readValue(DECODER.decode(cookie.getValue()), new TypeReference<>() {
+            });
+        } catch (IllegalArgumentException | IOException e) {
+            return null;
+        }
+        List<FlashMap> flashMaps = new ArrayList<>();
+        for (StoredFlashMap stored : storedFlashMaps) {
+            FlashMap flashMap = new FlashMap();
+            flashMap.setTargetRequestPath(stored.path());
+            flashMap.addTargetRequestParams(new LinkedMultiValueMap<>(stored.params()));
+            flashMap.setExpirationTime(stored.expiresAt());
+            flashMap.putAll(stored.attributes());
+            flashMaps.add(flashMap);
+        }
+        return flashMaps;
+    }
+
+    @Override
+    protected void updateFlashMaps(List<FlashMap> flashMaps, HttpServletRequest request, HttpServletResponse response) {
+        String value = "";
+        if (!flashMaps.isEmpty()) {
+            List<StoredFlashMap> storedFlashMaps = flashMaps.stream()
+                    .map(flashMap -> new StoredFlashMap(flashMap.getTargetRequestPath(),
+                            flashMap.getTargetRequestParams(), flashMap.getExpirationTime(), flashMap))
+                    .toList();
+            try {
+                value = ENCODER.encodeToString(MAPPER.writeValueAsBytes(storedFlashMaps));
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Flash attributes not serializable to a cookie", e);
+            }
+        }
+        response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE, value)
+                .httpOnly(true)
+                .secure(request.isSecure())
+                .sameSite("Lax")
+                .path("/")
+                .maxAge(value.isEmpty() ? Duration.ZERO : Duration.ofSeconds(getFlashMapTimeout()))
+                .build()
+                .toString());
+    }
+
+    /**
+     * No lock: the flash maps of a request are in its own cookie
+     */
+    @Override
+    protected Object getFlashMapsMutex(HttpServletRequest request) {
+        return null;
+    }
+}
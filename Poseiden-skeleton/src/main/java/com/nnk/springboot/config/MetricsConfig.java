@@ -0,0 +1,32 @@
+package com.nnk.springboot.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the application metrics.
+ * Services annotated with @Timed get a timer per public method, tagged with the class, the method and the
+ * exception thrown if any; its count is the number of calls. Requests, repositories, Hibernate and the
+ * Hikari pool are instrumented by Spring Boot, and everything is scraped from /actuator/prometheus.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Name of the timers of the service methods.
+     */
+    public static final String SERVICE_TIMER = "poseidon.service";
+
+    /**
+     * Creates the aspect recording the methods of the classes annotated with @Timed.
+     *
+     * @param registry The meter registry.
+     * @return The TimedAspect bean.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
@@ -0,0 +1,85 @@
+package com.nnk.springboot.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Configuration class of the read replica, active when spring.datasource.replica.url is set.
+ * The primary pool is configured by spring.datasource.* as without a replica, the replica pool by
+ * spring.datasource.replica.* (url, username, password, driver-class-name and hikari.*). The application
+ * DataSource routes read-only transactions to the replica, see ReplicaRoutingDataSource.
+ */
+@Configuration
+@ConditionalOnProperty("spring.datasource.replica.url")
+public class ReplicaDataSourceConfig {
+
+    /**
+     * Creates the connection pool of the primary database.
+     *
+     * @param properties The spring.datasource properties.
+     * @return The primary HikariDataSource bean, further configured by spring.datasource.hikari.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Reads the connection properties of the replica. Not an autowiring candidate, so that the
+     * spring.datasource properties remain the only DataSourceProperties bean to inject.
+     *
+     * @return The spring.datasource.replica properties.
+     */
+    @Bean(autowireCandidate = false)
+    @ConfigurationProperties("spring.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    /**
+     * Creates the connection pool of the replica database, read-only.
+     *
+     * @return The replica HikariDataSource bean, further configured by spring.datasource.replica.hikari.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = replicaDataSourceProperties().initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Creates the DataSource of the application, routing each transaction to the primary or the replica.
+     * The connection is only obtained on the first statement, once the transaction is known to be read-only or not.
+     *
+     * @param primaryDataSource    The primary pool.
+     * @param replicaDataSource    The replica pool.
+     * @param readYourWritesWindow The time after a commit during which the reads of the same session stay on the primary,
+     *                             longer than the usual replication lag.
+     * @param securityMode         The security.mode: out of the session mode, no HTTP session is created for the window.
+     * @return The DataSource bean used by JPA and the transaction manager.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+                                 @Value("${spring.datasource.replica.read-your-writes-window:5s}") Duration readYourWritesWindow,
+                                 @Value("${security.mode:session}") String securityMode) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource,
+                readYourWritesWindow, !"session".equals(securityMode)));
+    }
+}
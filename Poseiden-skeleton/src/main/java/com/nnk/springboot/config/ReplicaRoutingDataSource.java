@@ -0,0 +1,137 @@
+package com.nnk.springboot.config;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * DataSource sending the connections of read-only transactions to the replica and every other connection to the primary.
+ * A replica applies the primary changes with some lag, so once a session has committed a read-write transaction,
+ * its reads stay on the primary for the read-your-writes window: a user always sees what they have just saved.
+ * Requests without a session and background work read the replica as soon as their transaction is read-only.
+ * When the login is kept out of the HTTP session, the time of the last commit is kept in a cookie expiring with the
+ * window instead, so that no session is created.
+ * The route is decided when the connection is obtained, so this DataSource must be wrapped in a
+ * LazyConnectionDataSourceProxy for the transaction read-only flag to be known by then.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Session attribute holding the time, in epoch milliseconds, of the last commit of the session on the primary
+     */
+    public static final String LAST_WRITE_ATTRIBUTE = ReplicaRoutingDataSource.class.getName() + ".LAST_WRITE";
+
+    /**
+     * Cookie holding the time, in epoch milliseconds, of the last commit of the user when there is no session
+     */
+    public static final String LAST_WRITE_COOKIE = "POSEIDON_LAST_WRITE";
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final long readYourWritesWindowMillis;
+    private final boolean sessionless;
+
+    /**
+     * Create the DataSource routing between the primary and the replica
+     *
+     * @param primary              the primary DataSource
+     * @param replica              the replica DataSource
+     * @param readYourWritesWindow the time after a commit during which the reads of the same session stay on the primary
+     * @param sessionless          true to keep the time of the last commit in a cookie rather than in the HTTP session
+     */
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWritesWindow,
+                                    boolean sessionless) {
+        this.readYourWritesWindowMillis = readYourWritesWindow.toMillis();
+        this.sessionless = sessionless;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Route determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recordWrite();
+                    }
+                });
+            }
+            return Route.PRIMARY;
+        }
+        return wroteRecently() ? Route.PRIMARY : Route.REPLICA;
+    }
+
+    private void recordWrite() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (!sessionless) {
+            attributes.setAttribute(LAST_WRITE_ATTRIBUTE, now, RequestAttributes.SCOPE_SESSION);
+            return;
+        }
+        // The cookie is set once per request, its expiry being close enough for the later commits of the request
+        boolean cookieSet = attributes.getAttribute(LAST_WRITE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+        attributes.setAttribute(LAST_WRITE_ATTRIBUTE, now, RequestAttributes.SCOPE_REQUEST);
+        if (!cookieSet && attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletResponse response = servletAttributes.getResponse();
+            if (response != null && !response.isCommitted()) {
+                response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(LAST_WRITE_COOKIE, Long.toString(now))
+                        .httpOnly(true)
+                        .secure(servletAttributes.getRequest().isSecure())
+                        .sameSite("Lax")
+                        .path("/")
+                        .maxAge(Duration.ofSeconds((readYourWritesWindowMillis + 999) / 1000))
+                        .build()
+                        .toString());
+            }
+        }
+    }
+
+    private boolean wroteRecently() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return false;
+        }
+        Long lastWrite = sessionless ? lastWriteWithoutSession(attributes)
+                : (Long) attributes.getAttribute(LAST_WRITE_ATTRIBUTE, RequestAttributes.SCOPE_SESSION);
+        return lastWrite != null && System.currentTimeMillis() - lastWrite < readYourWritesWindowMillis;
+    }
+
+    private static Long lastWriteWithoutSession(RequestAttributes attributes) {
+        if (attributes.getAttribute(LAST_WRITE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Long lastWrite) {
+            return lastWrite;
+        }
+        Cookie[] cookies = attributes instanceof ServletRequestAttributes servletAttributes
+                ? servletAttributes.getRequest().getCookies() : null;
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (LAST_WRITE_COOKIE.equals(cookie.getName())) {
+                    try {
+                        return Long.valueOf(cookie.getValue());
+                    } catch (NumberFormatException e) {
+                        return null;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+}
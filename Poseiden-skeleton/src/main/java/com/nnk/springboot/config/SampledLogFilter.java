@@ -0,0 +1,71 @@
+package com.nnk.springboot.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Logback filter sampling the events of one logger: at most maxPerMinute events are logged per minute, the
+ * following ones are dropped until the next minute starts. Declared in logback-spring.xml for the Hibernate
+ * slow query log, so a burst of slow statements cannot flood the log.
+ */
+public class SampledLogFilter extends TurboFilter {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    /**
+     * A minute and the number of events counted in it, replaced as a whole so that a new minute starts with the
+     * event opening it, whatever the other threads count at the same time
+     */
+    private record Window(long start, int count) {
+    }
+
+    private final LongSupplier nanoTime;
+    private final AtomicReference<Window> window;
+
+    private String loggerName;
+    private int maxPerMinute = 60;
+
+    public SampledLogFilter() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * Constructor of a filter reading the time from a clock
+     *
+     * @param nanoTime the clock, in nanoseconds as System.nanoTime
+     */
+    public SampledLogFilter(LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+        this.window = new AtomicReference<>(new Window(nanoTime.getAsLong(), 0));
+    }
+
+    public void setLoggerName(String loggerName) {
+        this.loggerName = loggerName;
+    }
+
+    public void setMaxPerMinute(int maxPerMinute) {
+        this.maxPerMinute = maxPerMinute;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (format == null || !logger.getName().equals(loggerName)) {
+            return FilterReply.NEUTRAL;
+        }
+        long now = nanoTime.getAsLong();
+        Window counted = window.updateAndGet(current -> {
+            if (now - current.start() >= MINUTE) {
+                return new Window(now, 1);
+            }
+            return current.count() > maxPerMinute ? current : new Window(current.start(), current.count() + 1);
+        });
+        return counted.count() <= maxPerMinute ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
@@ -0,0 +1,52 @@
+package com.nnk.springboot.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.FlashMapManager;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for the static resources and the flash attributes. The stylesheets are served with a public
+ * Cache-Control max-age, so that browsers and proxies reuse them across the pages without asking again; once it is
+ * over, they revalidate them with If-Modified-Since. The other resources keep the defaults of Spring Boot.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final Duration cssMaxAge;
+
+    /**
+     * Constructor of the configuration.
+     *
+     * @param cssMaxAge The time the stylesheets may be reused without revalidation.
+     */
+    public WebConfig(@Value("${web.css.max-age:7d}") Duration cssMaxAge) {
+        this.cssMaxAge = cssMaxAge;
+    }
+
+    /**
+     * Creates the FlashMapManager of the modes keeping the login out of the HTTP session, security.mode=token or
+     * store, which keeps the flash attributes in a cookie. The session mode keeps them in the HTTP session.
+     *
+     * @return The CookieFlashMapManager bean.
+     */
+    @Bean(DispatcherServlet.FLASH_MAP_MANAGER_BEAN_NAME)
+    @ConditionalOnExpression("'${security.mode:session}' != 'session'")
+    public FlashMapManager flashMapManager() {
+        return new CookieFlashMapManager();
+    }
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/css/**")
+                .addResourceLocations("classpath:/static/css/")
+                .setCacheControl(CacheControl.maxAge(cssMaxAge).cachePublic());
+    }
+}
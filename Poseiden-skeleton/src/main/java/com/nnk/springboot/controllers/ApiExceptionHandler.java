@@ -0,0 +1,62 @@
+package com.nnk.springboot.controllers;
+
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Exception handler of the JSON API controllers.
+ */
+@RestControllerAdvice(annotations = RestController.class)
+public class ApiExceptionHandler {
+
+    /**
+     * Handler for a sort parameter naming an unknown property.
+     *
+     * @param e The exception raised by Spring Data.
+     * @return A 400 problem detail.
+     */
+    @ExceptionHandler(PropertyReferenceException.class)
+    public ProblemDetail handleUnknownProperty(PropertyReferenceException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    /**
+     * Handler for a request naming a field that cannot be updated, or carrying an invalid value.
+     *
+     * @param e The exception raised by the service.
+     * @return A 400 problem detail.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail handleInvalidArgument(IllegalArgumentException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    /**
+     * Handler for an update of a resource that does not exist.
+     *
+     * @param e The exception raised by the service.
+     * @return A 404 problem detail.
+     */
+    @ExceptionHandler(NoSuchElementException.class)
+    public ProblemDetail handleNotFound(NoSuchElementException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage());
+    }
+
+    /**
+     * Handler for an update based on a version that is no longer the current one.
+     *
+     * @param e The exception raised on the version check.
+     * @return A 409 problem detail.
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ProblemDetail handleConflict(ObjectOptimisticLockingFailureException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, "The resource has been changed since the given version");
+    }
+}
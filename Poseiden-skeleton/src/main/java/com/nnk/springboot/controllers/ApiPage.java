@@ -0,0 +1,29 @@
+package com.nnk.springboot.controllers;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Page of resources as returned by the JSON API.
+ *
+ * @param content       The resources of the page.
+ * @param page          The zero-based index of the page.
+ * @param size          The requested page size.
+ * @param totalElements The number of resources across all pages.
+ * @param totalPages    The number of pages.
+ * @param <T>           The type of the resources.
+ */
+public record ApiPage<T>(List<T> content, int page, int size, long totalElements, int totalPages) {
+
+    /**
+     * Builds the API page of a Spring Data page.
+     *
+     * @param page The Spring Data page.
+     * @param <T>  The type of the resources.
+     * @return The API page.
+     */
+    public static <T> ApiPage<T> of(Page<T> page) {
+        return new ApiPage<>(page.getContent(), page.getNumber(), page.getSize(), page.getTotalElements(), page.getTotalPages());
+    }
+}
@@ -0,0 +1,41 @@
+package com.nnk.springboot.controllers;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * Responses of the JSON API controllers.
+ */
+final class ApiResponses {
+
+    private ApiResponses() {
+    }
+
+    /**
+     * Builds a 200 response carrying an ETag computed from the body. The bodies are records, whose string form
+     * covers every field, so the tag is computed without serializing the body to JSON; when it matches the
+     * If-None-Match header, Spring MVC answers 304 and the body is never serialized.
+     *
+     * @param body The body of the response.
+     * @param <T>  The type of the body.
+     * @return The response.
+     */
+    static <T> ResponseEntity<T> withETag(T body) {
+        String tag = DigestUtils.md5DigestAsHex(body.toString().getBytes(StandardCharsets.UTF_8));
+        return ResponseEntity.ok().eTag('"' + tag + '"').body(body);
+    }
+
+    /**
+     * Builds the response of a single resource: 200 with an ETag when found, 404 otherwise.
+     *
+     * @param resource The resource, empty if not found.
+     * @param <T>      The type of the resource.
+     * @return The response.
+     */
+    static <T> ResponseEntity<T> withETagOrNotFound(Optional<T> resource) {
+        return resource.map(ApiResponses::withETag).orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,83 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.repositories.BidListSummary;
+import com.nnk.springboot.repositories.SearchCriteria;
+import com.nnk.springboot.services.BidListService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Controller class exposing the bid lists as JSON.
+ */
+@RestController
+@RequestMapping("/api/v1/bidLists")
+public class BidListApiController {
+
+    private final BidListService bidListService;
+
+    /**
+     * Constructor with BidListService injection.
+     *
+     * @param bidListService The BidListService instance to be injected.
+     */
+    @Autowired
+    public BidListApiController(BidListService bidListService) {
+        this.bidListService = bidListService;
+    }
+
+    /**
+     * Handler for getting a page of bid lists, optionally filtered.
+     *
+     * @param criteria The filter: account, book, trader, status, security, side, and the from and to days of the bid list date.
+     * @param pageable The page, size and sort requested, 50 bid lists sorted by ID by default.
+     * @return The page of bid lists, with an ETag.
+     */
+    @GetMapping
+    public ResponseEntity<ApiPage<BidListSummary>> getBids(SearchCriteria criteria,
+                                                           @PageableDefault(size = 50, sort = "id") Pageable pageable) {
+        return ApiResponses.withETag(ApiPage.of(bidListService.getBidSummaries(criteria, pageable)));
+    }
+
+    /**
+     * Handler for getting a bid list.
+     *
+     * @param id The ID of the bid list.
+     * @return The bid list with an ETag, or 404 if not found.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<BidListSummary> getBid(@PathVariable("id") Long id) {
+        return ApiResponses.withETagOrNotFound(bidListService.getBidSummaryById(id));
+    }
+
+    /**
+     * Handler for updating some fields of a bid list. Only the fields present in the body are written; when the body
+     * holds the version of the bid list as last read, the update is refused if it has changed since.
+     *
+     * @param id     The ID of the bid list.
+     * @param fields The new values by field name, and optionally the expected version.
+     * @return The updated bid list with an ETag, 400 for an unknown field or an invalid value, 404 if not found,
+     * 409 if the bid list has changed since the expected version.
+     */
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<BidListSummary> patchBid(@PathVariable("id") Long id, @RequestBody Map<String, Object> fields) {
+        Map<String, Object> changes = new HashMap<>(fields);
+        Object version = changes.remove("version");
+        if (version != null && !(version instanceof Integer)) {
+            throw new IllegalArgumentException("Invalid version: " + version);
+        }
+        bidListService.updateBid(id, (Integer) version, changes);
+        return ApiResponses.withETagOrNotFound(bidListService.getBidSummaryById(id));
+    }
+}
@@ -1,19 +1,31 @@
 package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.repositories.BidListRow;
+import com.nnk.springboot.repositories.BidListSortColumn;
+import com.nnk.springboot.repositories.SearchCriteria;
 import com.nnk.springboot.services.BidListService;
 import com.nnk.springboot.services.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
 
 import javax.validation.Valid;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -24,7 +36,9 @@ public class BidListController {
 
     private final BidListService bidListService;
     private final UserService userService;
-    private static final String REDIRECT_BIDLIST = "redirect:/bidList/list";
+    private static final String BIDLIST_PATH = "/bidList/list";
+    private static final String REDIRECT_BIDLIST = "redirect:" + BIDLIST_PATH;
+    private static final String DEFAULT_PAGE_SIZE = "50";
 
     /**
      * Constructor to initialize the BidListController with necessary services.
@@ -39,16 +53,63 @@ public class BidListController {
     }
 
     /**
-     * Handler for displaying the bid list page.
+     * Handler for displaying the bid list page, one keyset page at a time, optionally filtered.
      *
-     * @param model The model to be populated with data.
+     * @param criteria   The filter: account, book, trader, status, security, side, and the from and to days of the bid list date.
+     * @param sort       The attribute to sort on (id, account, type or bidQuantity).
+     * @param direction  The sort direction (asc or desc).
+     * @param afterId    The id of the last bid of the previous page, absent for the first page.
+     * @param afterValue The sort attribute value of the last bid of the previous page.
+     * @param size       The number of bids per page.
+     * @param model      The model to be populated with data.
      * @return The view name for the bid list page.
+     * @throws ResponseStatusException 400 if the afterId or afterValue cursor is not a value of the sort attribute.
      */
     @RequestMapping("/bidList/list")
-    public String home(Model model) {
+    public String home(@ModelAttribute("criteria") SearchCriteria criteria,
+                       @RequestParam(value = "sort", required = false) String sort,
+                       @RequestParam(value = "direction", required = false) String direction,
+                       @RequestParam(value = "afterId", required = false) Long afterId,
+                       @RequestParam(value = "afterValue", required = false) String afterValue,
+                       @RequestParam(value = "size", defaultValue = DEFAULT_PAGE_SIZE) int size,
+                       Model model) {
         String currentUser = userService.getCurrentLoggedInUser();
-        List<BidList> bids = bidListService.getAllBids();
+        BidListSortColumn sortColumn = BidListSortColumn.fromProperty(sort);
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction).orElse(Sort.Direction.ASC);
+
+        Comparable<?> afterSortValue;
+        try {
+            afterSortValue = sortColumn.parseValue(afterValue);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Invalid afterValue for the sort on " + sortColumn.getProperty(), e);
+        }
+
+        Slice<BidListRow> page = bidListService.getBidsPage(criteria, sortColumn, sortDirection, afterId,
+                afterSortValue, size);
+        List<BidListRow> bids = page.getContent();
+        String directionName = sortDirection.name().toLowerCase();
         model.addAttribute("bids", bids);
+        model.addAttribute("sort", sortColumn.getProperty());
+        model.addAttribute("direction", directionName);
+        model.addAttribute("size", page.getSize());
+        Map<String, String> sortLinks = new HashMap<>();
+        for (BidListSortColumn column : BidListSortColumn.values()) {
+            String columnDirection = column == sortColumn && sortDirection.isAscending() ? "desc" : "asc";
+            sortLinks.put(column.getProperty(), ListLinks.of(BIDLIST_PATH, criteria,
+                    "sort", column.getProperty(), "direction", columnDirection, "size", page.getSize()));
+        }
+        model.addAttribute("sortLinks", sortLinks);
+        model.addAttribute("firstLink", ListLinks.of(BIDLIST_PATH, criteria,
+                "sort", sortColumn.getProperty(), "direction", directionName, "size", page.getSize()));
+        if (page.hasNext()) {
+            BidListRow last = bids.get(bids.size() - 1);
+            Object lastValue = sortColumn.valueOf(last);
+            model.addAttribute("nextLink", ListLinks.of(BIDLIST_PATH, criteria,
+                    "sort", sortColumn.getProperty(), "direction", directionName, "size", page.getSize(),
+                    "afterId", last.id(), "afterValue", lastValue == null ? "" : lastValue.toString()));
+        }
+        model.addAttribute("allLink", ListLinks.of(BIDLIST_PATH + "/all", criteria));
         model.addAttribute("currentUser", currentUser);
         return "bidList/list";
     }
@@ -89,30 +150,39 @@ public class BidListController {
      * @return The view name for the update bid form.
      */
     @GetMapping("/bidList/update/{id}")
-    public String showUpdateForm(@PathVariable("id") Integer id, Model model) {
+    public String showUpdateForm(@PathVariable("id") Long id, Model model) {
         Optional<BidList> bid = bidListService.getBidByBidListId(id);
         bid.ifPresent(b -> model.addAttribute("bid", b));
         return "bidList/update";
     }
 
     /**
-     * Handler for updating an existing bid.
+     * Handler for updating an existing bid. Only the fields submitted by the form are updated, provided the bid
+     * has not been changed by someone else since the form was displayed; otherwise the form is displayed again
+     * with the current values.
      *
-     * @param id      The ID of the bid to be updated.
-     * @param bidList The updated bid information.
-     * @param result  The binding result for validation.
+     * @param id         The ID of the bid to be updated.
+     * @param bidList    The updated bid information.
+     * @param result     The binding result for validation.
+     * @param parameters The submitted form parameters.
+     * @param model      The model to be populated with data.
      * @return The view name for redirection after updating the bid.
      */
     @PostMapping("/bidList/update/{id}")
-    public String updateBid(@PathVariable("id") Integer id, @Valid BidList bidList,
-                            BindingResult result) {
+    public String updateBid(@PathVariable("id") Long id, @Valid BidList bidList,
+                            BindingResult result, @RequestParam Map<String, String> parameters, Model model) {
         if (result.hasErrors()) {
             return "bidList/update";
         }
-        if (bidList == null) {
-            bidList = new BidList(); // Créez un nouvel objet si aucun n'existe
+        Map<String, String> fields = new HashMap<>(parameters);
+        fields.keySet().retainAll(BidListService.UPDATABLE_FIELDS);
+        try {
+            bidListService.updateBid(id, bidList.getVersion(), fields);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            bidListService.getBidByBidListId(id).ifPresent(b -> model.addAttribute("bid", b));
+            model.addAttribute("conflict", true);
+            return "bidList/update";
         }
-        bidListService.saveBid(bidList);
         return REDIRECT_BIDLIST;
     }
 
@@ -123,7 +193,7 @@ public class BidListController {
      * @return The view name for redirection after deleting the bid.
      */
     @GetMapping("/bidList/delete/{id}")
-    public String deleteBid(@PathVariable("id") Integer id) {
+    public String deleteBid(@PathVariable("id") Long id) {
         bidListService.deleteBidById(id);
         return REDIRECT_BIDLIST;
     }
@@ -0,0 +1,77 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.services.BidListImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Controller class for bulk loading bids from CSV files.
+ */
+@Controller
+public class BidListImportController {
+
+    private final BidListImportService bidListImportService;
+
+    /**
+     * Constructor with BidListImportService injection.
+     *
+     * @param bidListImportService The BidListImportService instance to be injected.
+     */
+    @Autowired
+    public BidListImportController(BidListImportService bidListImportService) {
+        this.bidListImportService = bidListImportService;
+    }
+
+    /**
+     * Handler importing a CSV document sent as the raw request body (Content-Type: text/csv).
+     * The body is read as it arrives, without being stored first.
+     *
+     * @param request The HTTP request carrying the CSV document.
+     * @return The import result.
+     * @throws IOException If the request body cannot be read.
+     */
+    @PostMapping(value = "/bidList/import", consumes = "text/csv")
+    @ResponseBody
+    public BidListImportService.ImportResult importCsv(HttpServletRequest request) throws IOException {
+        return bidListImportService.importCsv(request.getReader());
+    }
+
+    /**
+     * Handler importing a CSV file uploaded as a multipart form field named "file".
+     *
+     * @param file The uploaded CSV file.
+     * @return The import result.
+     * @throws IOException If the file cannot be read.
+     */
+    @PostMapping(value = "/bidList/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @ResponseBody
+    public BidListImportService.ImportResult importFile(@RequestParam("file") MultipartFile file) throws IOException {
+        try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            return bidListImportService.importCsv(reader);
+        }
+    }
+
+    /**
+     * Reject documents whose header cannot be mapped to bid columns.
+     *
+     * @param e The exception raised by the import service.
+     * @return A 400 response with the reason.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> badDocument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
@@ -0,0 +1,129 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.repositories.SearchCriteria;
+import com.nnk.springboot.services.BulkOperationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller class deleting or updating many rows at once through the JSON API, each call running a single
+ * statement in one transaction.
+ */
+@RestController
+@RequestMapping("/api/v1")
+public class BulkApiController {
+
+    /**
+     * Body of a bulk request: the rows are those having the ids and matching the criteria
+     *
+     * @param ids      the ids of the rows, null to select on the criteria alone
+     * @param criteria the search criteria of the trades or bids, null to select on the ids alone
+     * @param status   the new status, for a status update
+     */
+    public record BulkRequest(List<Long> ids, SearchCriteria criteria, String status) {
+    }
+
+    /**
+     * Result of a bulk request
+     *
+     * @param count the number of rows deleted or updated
+     */
+    public record BulkResult(long count) {
+    }
+
+    private final BulkOperationService bulkOperationService;
+
+    /**
+     * Constructor with BulkOperationService injection.
+     *
+     * @param bulkOperationService The BulkOperationService instance to be injected.
+     */
+    @Autowired
+    public BulkApiController(BulkOperationService bulkOperationService) {
+        this.bulkOperationService = bulkOperationService;
+    }
+
+    /**
+     * Handler for deleting the bid lists having the ids and matching the criteria.
+     *
+     * @param request The ids and criteria of the bid lists.
+     * @return The number of deleted bid lists, or 400 if neither ids nor criteria are given or too many rows match.
+     */
+    @PostMapping("/bidLists/bulk-delete")
+    public BulkResult deleteBids(@RequestBody BulkRequest request) {
+        return new BulkResult(bulkOperationService.deleteBids(request.ids(), request.criteria()));
+    }
+
+    /**
+     * Handler for setting the status of the bid lists having the ids and matching the criteria.
+     *
+     * @param request The ids and criteria of the bid lists, and the new status.
+     * @return The number of updated bid lists, or 400 if the status is missing, neither ids nor criteria are given
+     * or too many rows match.
+     */
+    @PostMapping("/bidLists/bulk-status")
+    public BulkResult updateBidStatus(@RequestBody BulkRequest request) {
+        return new BulkResult(bulkOperationService.updateBidStatus(request.ids(), request.criteria(), request.status()));
+    }
+
+    /**
+     * Handler for deleting the trades having the ids and matching the criteria.
+     *
+     * @param request The ids and criteria of the trades.
+     * @return The number of deleted trades, or 400 if neither ids nor criteria are given or too many rows match.
+     */
+    @PostMapping("/trades/bulk-delete")
+    public BulkResult deleteTrades(@RequestBody BulkRequest request) {
+        return new BulkResult(bulkOperationService.deleteTrades(request.ids(), request.criteria()));
+    }
+
+    /**
+     * Handler for setting the status of the trades having the ids and matching the criteria.
+     *
+     * @param request The ids and criteria of the trades, and the new status.
+     * @return The number of updated trades, or 400 if the status is missing, neither ids nor criteria are given
+     * or too many rows match.
+     */
+    @PostMapping("/trades/bulk-status")
+    public BulkResult updateTradeStatus(@RequestBody BulkRequest request) {
+        return new BulkResult(bulkOperationService.updateTradeStatus(request.ids(), request.criteria(), request.status()));
+    }
+
+    /**
+     * Handler for deleting the curve points having the ids.
+     *
+     * @param request The ids of the curve points.
+     * @return The number of deleted curve points, or 400 if the ids are missing or too many.
+     */
+    @PostMapping("/curvePoints/bulk-delete")
+    public BulkResult deleteCurvePoints(@RequestBody BulkRequest request) {
+        return new BulkResult(bulkOperationService.deleteCurvePoints(request.ids()));
+    }
+
+    /**
+     * Handler for deleting the ratings having the ids.
+     *
+     * @param request The ids of the ratings.
+     * @return The number of deleted ratings, or 400 if the ids are missing or too many.
+     */
+    @PostMapping("/ratings/bulk-delete")
+    public BulkResult deleteRatings(@RequestBody BulkRequest request) {
+        return new BulkResult(bulkOperationService.deleteRatings(request.ids()));
+    }
+
+    /**
+     * Handler for deleting the rule names having the ids.
+     *
+     * @param request The ids of the rule names.
+     * @return The number of deleted rule names, or 400 if the ids are missing or too many.
+     */
+    @PostMapping("/ruleNames/bulk-delete")
+    public BulkResult deleteRuleNames(@RequestBody BulkRequest request) {
+        return new BulkResult(bulkOperationService.deleteRuleNames(request.ids()));
+    }
+}
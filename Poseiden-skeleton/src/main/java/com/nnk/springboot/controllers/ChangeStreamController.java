@@ -0,0 +1,47 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.services.ChangeStreamService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+/**
+ * Controller class streaming the trade and bid changes as server-sent events.
+ */
+@RestController
+@RequestMapping("/api/v1/changes")
+public class ChangeStreamController {
+
+    private final ChangeStreamService changeStreamService;
+
+    /**
+     * Constructor with ChangeStreamService injection.
+     *
+     * @param changeStreamService The ChangeStreamService instance to be injected.
+     */
+    @Autowired
+    public ChangeStreamController(ChangeStreamService changeStreamService) {
+        this.changeStreamService = changeStreamService;
+    }
+
+    /**
+     * Handler for subscribing to the changes. Each committed change is sent as a "change" event with its summary;
+     * a reconnecting client first gets the changes it missed, or a "reset" event if they are no longer available.
+     *
+     * @param entityTypes The entity types to receive the changes of, Trade or BidList, all of them if absent.
+     * @param lastEventId The id of the last event received, sent back by the browser when it reconnects.
+     * @return The event stream.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestParam(name = "entity", defaultValue = "") Set<String> entityTypes,
+                                @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return changeStreamService.subscribe(entityTypes, lastEventId);
+    }
+}
@@ -86,7 +86,7 @@ public class CurveController {
      * @return The view name for the update curve point form.
      */
     @GetMapping("/curvePoint/update/{id}")
-    public String showUpdateForm(@PathVariable("id") Integer id, Model model) {
+    public String showUpdateForm(@PathVariable("id") Long id, Model model) {
         Optional<CurvePoint> curvePoint = curvePointService.getCurvePointById(id);
         curvePoint.ifPresent(cp -> model.addAttribute("curvePoint", cp));
         return "curvePoint/update";
@@ -102,7 +102,7 @@ public class CurveController {
      * @return The view name for redirection after updating the curve point.
      */
     @PostMapping("/curvePoint/update/{id}")
-    public String updateCurve(@PathVariable("id") Integer id, @Valid CurvePoint curvePoint,
+    public String updateCurve(@PathVariable("id") Long id, @Valid CurvePoint curvePoint,
                               BindingResult result, Model model) {
         if (result.hasErrors()) {
             return "curvePoint/update";
@@ -118,7 +118,7 @@ public class CurveController {
      * @return The view name for redirection after deleting the curve point.
      */
     @GetMapping("/curvePoint/delete/{id}")
-    public String deleteCurve(@PathVariable("id") Integer id) {
+    public String deleteCurve(@PathVariable("id") Long id) {
         curvePointService.deleteCurvePointById(id);
         return "redirect:/curvePoint/list";
     }
@@ -0,0 +1,54 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.repositories.CurvePointSummary;
+import com.nnk.springboot.services.CurvePointService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller class exposing the curve points as JSON.
+ */
+@RestController
+@RequestMapping("/api/v1/curvePoints")
+public class CurvePointApiController {
+
+    private final CurvePointService curvePointService;
+
+    /**
+     * Constructor with CurvePointService injection.
+     *
+     * @param curvePointService The CurvePointService instance to be injected.
+     */
+    @Autowired
+    public CurvePointApiController(CurvePointService curvePointService) {
+        this.curvePointService = curvePointService;
+    }
+
+    /**
+     * Handler for getting a page of curve points.
+     *
+     * @param pageable The page, size and sort requested, 50 curve points sorted by ID by default.
+     * @return The page of curve points, with an ETag.
+     */
+    @GetMapping
+    public ResponseEntity<ApiPage<CurvePointSummary>> getCurvePoints(@PageableDefault(size = 50, sort = "id") Pageable pageable) {
+        return ApiResponses.withETag(ApiPage.of(curvePointService.getCurvePointSummaries(pageable)));
+    }
+
+    /**
+     * Handler for getting a curve point.
+     *
+     * @param id The ID of the curve point.
+     * @return The curve point with an ETag, or 404 if not found.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<CurvePointSummary> getCurvePoint(@PathVariable("id") Long id) {
+        return ApiResponses.withETagOrNotFound(curvePointService.getCurvePointSummaryById(id));
+    }
+}
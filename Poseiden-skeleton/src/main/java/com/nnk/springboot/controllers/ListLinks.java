@@ -0,0 +1,32 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.repositories.SearchCriteria;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Links between the pages of a filtered list, carrying the search criteria over.
+ */
+final class ListLinks {
+
+    private ListLinks() {
+    }
+
+    /**
+     * Builds the link to a list page.
+     *
+     * @param path       The path of the list.
+     * @param criteria   The search criteria to keep.
+     * @param parameters The other request parameters, as name and value pairs; null values are left out.
+     * @return The encoded link.
+     */
+    static String of(String path, SearchCriteria criteria, Object... parameters) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromPath(path);
+        for (int i = 0; i < parameters.length; i += 2) {
+            if (parameters[i + 1] != null) {
+                builder.queryParam((String) parameters[i], parameters[i + 1]);
+            }
+        }
+        criteria.toParameters().forEach(builder::queryParam);
+        return builder.encode().build().toUriString();
+    }
+}
@@ -0,0 +1,112 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.repositories.SearchCriteria;
+import com.nnk.springboot.services.ListStreamService;
+import com.nnk.springboot.services.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.support.RequestContextUtils;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.thymeleaf.spring6.view.ThymeleafViewResolver;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+
+/**
+ * Controller class streaming every trade or bid matching a search in one page. The page template is rendered
+ * without its rows, its head is sent at once, then the rows are written as they are read from the database and
+ * the tail of the page closes the table: the first bytes do not wait for the rows, which are never all in memory.
+ */
+@Controller
+public class ListStreamController {
+
+    /**
+     * Comment of the page templates standing for the rows
+     */
+    static final String ROWS_MARKER = "<!-- rows -->";
+
+    private final ListStreamService listStreamService;
+    private final UserService userService;
+    private final ThymeleafViewResolver viewResolver;
+
+    /**
+     * Constructor with ListStreamService, UserService and ThymeleafViewResolver injection.
+     *
+     * @param listStreamService The ListStreamService instance to be injected.
+     * @param userService       The UserService instance to be injected.
+     * @param viewResolver      The resolver of the page templates.
+     */
+    @Autowired
+    public ListStreamController(ListStreamService listStreamService, UserService userService,
+                                ThymeleafViewResolver viewResolver) {
+        this.listStreamService = listStreamService;
+        this.userService = userService;
+        this.viewResolver = viewResolver;
+    }
+
+    /**
+     * Handler streaming every trade matching the search, ordered by ID.
+     *
+     * @param criteria The filter: account, book, trader, status, security, side, and the from and to days of the trade date.
+     * @param model    The Model object to add attributes.
+     * @param request  The HTTP request.
+     * @param response The HTTP response to write to.
+     * @throws Exception If the page cannot be rendered or written.
+     */
+    @GetMapping("/trade/list/all")
+    public void allTrades(@ModelAttribute("criteria") SearchCriteria criteria, Model model,
+                          HttpServletRequest request, HttpServletResponse response) throws Exception {
+        model.addAttribute("currentUser", userService.getCurrentLoggedInUser());
+        streamPage("trade/all", model, request, response, writer -> listStreamService.writeTradeRows(criteria, writer));
+    }
+
+    /**
+     * Handler streaming every bid matching the search, ordered by ID.
+     *
+     * @param criteria The filter: account, book, trader, status, security, side, and the from and to days of the bid date.
+     * @param model    The Model object to add attributes.
+     * @param request  The HTTP request.
+     * @param response The HTTP response to write to.
+     * @throws Exception If the page cannot be rendered or written.
+     */
+    @GetMapping("/bidList/list/all")
+    public void allBidLists(@ModelAttribute("criteria") SearchCriteria criteria, Model model,
+                            HttpServletRequest request, HttpServletResponse response) throws Exception {
+        model.addAttribute("currentUser", userService.getCurrentLoggedInUser());
+        streamPage("bidList/all", model, request, response,
+                writer -> listStreamService.writeBidListRows(criteria, writer));
+    }
+
+    /**
+     * Writer of the rows of a page
+     */
+    @FunctionalInterface
+    private interface RowsWriter {
+        long write(Writer writer) throws IOException;
+    }
+
+    private void streamPage(String viewName, Model model, HttpServletRequest request, HttpServletResponse response,
+                            RowsWriter rows) throws Exception {
+        View view = viewResolver.resolveViewName(viewName, RequestContextUtils.getLocale(request));
+        ContentCachingResponseWrapper page = new ContentCachingResponseWrapper(response);
+        view.render(model.asMap(), request, page);
+        String html = new String(page.getContentAsByteArray(), page.getCharacterEncoding());
+        int marker = html.indexOf(ROWS_MARKER);
+        if (marker < 0) {
+            throw new IllegalStateException("No rows marker in the template " + viewName);
+        }
+        PrintWriter writer = response.getWriter();
+        writer.write(html, 0, marker);
+        writer.flush();
+        rows.write(writer);
+        writer.write(html, marker + ROWS_MARKER.length(), html.length() - marker - ROWS_MARKER.length());
+        writer.flush();
+    }
+}
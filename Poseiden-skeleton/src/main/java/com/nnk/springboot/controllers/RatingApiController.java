@@ -0,0 +1,54 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.repositories.RatingSummary;
+import com.nnk.springboot.services.RatingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller class exposing the ratings as JSON.
+ */
+@RestController
+@RequestMapping("/api/v1/ratings")
+public class RatingApiController {
+
+    private final RatingService ratingService;
+
+    /**
+     * Constructor with RatingService injection.
+     *
+     * @param ratingService The RatingService instance to be injected.
+     */
+    @Autowired
+    public RatingApiController(RatingService ratingService) {
+        this.ratingService = ratingService;
+    }
+
+    /**
+     * Handler for getting a page of ratings.
+     *
+     * @param pageable The page, size and sort requested, 50 ratings sorted by ID by default.
+     * @return The page of ratings, with an ETag.
+     */
+    @GetMapping
+    public ResponseEntity<ApiPage<RatingSummary>> getRatings(@PageableDefault(size = 50, sort = "id") Pageable pageable) {
+        return ApiResponses.withETag(ApiPage.of(ratingService.getRatingSummaries(pageable)));
+    }
+
+    /**
+     * Handler for getting a rating.
+     *
+     * @param id The ID of the rating.
+     * @return The rating with an ETag, or 404 if not found.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<RatingSummary> getRating(@PathVariable("id") Long id) {
+        return ApiResponses.withETagOrNotFound(ratingService.getRatingSummaryById(id));
+    }
+}
@@ -87,7 +87,7 @@ public class RatingController {
      * @return The view name for the update rating form.
      */
     @GetMapping("/rating/update/{id}")
-    public String showUpdateForm(@PathVariable("id") Integer id, Model model) {
+    public String showUpdateForm(@PathVariable("id") Long id, Model model) {
         Optional<Rating> rating = ratingService.getRatingById(id);
         rating.ifPresent(r -> model.addAttribute("rating", r));
         return "rating/update";
@@ -103,7 +103,7 @@ public class RatingController {
      * @return The view name to redirect to after updating the rating.
      */
     @PostMapping("/rating/update/{id}")
-    public String updateRating(@PathVariable("id") Integer id, @Valid Rating rating,
+    public String updateRating(@PathVariable("id") Long id, @Valid Rating rating,
                                BindingResult result, Model model) {
         if (result.hasErrors()) {
             return "rating/update";
@@ -119,7 +119,7 @@ public class RatingController {
      * @return The view name to redirect to after deleting the rating.
      */
     @GetMapping("/rating/delete/{id}")
-    public String deleteRating(@PathVariable("id") Integer id) {
+    public String deleteRating(@PathVariable("id") Long id) {
         ratingService.deleteRatingById(id);
         return "redirect:/rating/list";
     }
@@ -0,0 +1,54 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.repositories.RuleNameSummary;
+import com.nnk.springboot.services.RuleNameService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller class exposing the rule names as JSON.
+ */
+@RestController
+@RequestMapping("/api/v1/ruleNames")
+public class RuleNameApiController {
+
+    private final RuleNameService ruleNameService;
+
+    /**
+     * Constructor with RuleNameService injection.
+     *
+     * @param ruleNameService The RuleNameService instance to be injected.
+     */
+    @Autowired
+    public RuleNameApiController(RuleNameService ruleNameService) {
+        this.ruleNameService = ruleNameService;
+    }
+
+    /**
+     * Handler for getting a page of rule names.
+     *
+     * @param pageable The page, size and sort requested, 50 rule names sorted by ID by default.
+     * @return The page of rule names, with an ETag.
+     */
+    @GetMapping
+    public ResponseEntity<ApiPage<RuleNameSummary>> getRuleNames(@PageableDefault(size = 50, sort = "id") Pageable pageable) {
+        return ApiResponses.withETag(ApiPage.of(ruleNameService.getRuleNameSummaries(pageable)));
+    }
+
+    /**
+     * Handler for getting a rule name.
+     *
+     * @param id The ID of the rule name.
+     * @return The rule name with an ETag, or 404 if not found.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<RuleNameSummary> getRuleName(@PathVariable("id") Long id) {
+        return ApiResponses.withETagOrNotFound(ruleNameService.getRuleNameSummaryById(id));
+    }
+}
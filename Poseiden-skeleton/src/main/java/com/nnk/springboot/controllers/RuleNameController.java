@@ -88,7 +88,7 @@ public class RuleNameController {
      * @return The view name for the update rule name form.
      */
     @GetMapping("/ruleName/update/{id}")
-    public String showUpdateForm(@PathVariable("id") Integer id, Model model) {
+    public String showUpdateForm(@PathVariable("id") Long id, Model model) {
         Optional<RuleName> ruleName = ruleNameService.getRuleNameById(id);
         ruleName.ifPresent(r -> model.addAttribute("ruleName", r));
         return "ruleName/update";
@@ -104,7 +104,7 @@ public class RuleNameController {
      * @return The view name to redirect to after updating the rule name.
      */
     @PostMapping("/ruleName/update/{id}")
-    public String updateRuleName(@PathVariable("id") Integer id, @Valid RuleName ruleName,
+    public String updateRuleName(@PathVariable("id") Long id, @Valid RuleName ruleName,
                                  BindingResult result, Model model) {
         if (result.hasErrors()) {
             return "ruleName/update";
@@ -120,7 +120,7 @@ public class RuleNameController {
      * @return The view name to redirect to after deleting the rule name.
      */
     @GetMapping("/ruleName/delete/{id}")
-    public String deleteRuleName(@PathVariable("id") Integer id) {
+    public String deleteRuleName(@PathVariable("id") Long id) {
         ruleNameService.deleteRuleNameById(id);
         return "redirect:/ruleName/list";
     }
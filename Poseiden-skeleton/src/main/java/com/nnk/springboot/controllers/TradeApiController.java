@@ -0,0 +1,83 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.repositories.SearchCriteria;
+import com.nnk.springboot.repositories.TradeSummary;
+import com.nnk.springboot.services.TradeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Controller class exposing the trades as JSON.
+ */
+@RestController
+@RequestMapping("/api/v1/trades")
+public class TradeApiController {
+
+    private final TradeService tradeService;
+
+    /**
+     * Constructor with TradeService injection.
+     *
+     * @param tradeService The TradeService instance to be injected.
+     */
+    @Autowired
+    public TradeApiController(TradeService tradeService) {
+        this.tradeService = tradeService;
+    }
+
+    /**
+     * Handler for getting a page of trades, optionally filtered.
+     *
+     * @param criteria The filter: account, book, trader, status, security, side, and the from and to days of the trade date.
+     * @param pageable The page, size and sort requested, 50 trades sorted by ID by default.
+     * @return The page of trades, with an ETag.
+     */
+    @GetMapping
+    public ResponseEntity<ApiPage<TradeSummary>> getTrades(SearchCriteria criteria,
+                                                           @PageableDefault(size = 50, sort = "tradeId") Pageable pageable) {
+        return ApiResponses.withETag(ApiPage.of(tradeService.getTradeSummaries(criteria, pageable)));
+    }
+
+    /**
+     * Handler for getting a trade.
+     *
+     * @param id The ID of the trade.
+     * @return The trade with an ETag, or 404 if not found.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<TradeSummary> getTrade(@PathVariable("id") Long id) {
+        return ApiResponses.withETagOrNotFound(tradeService.getTradeSummaryById(id));
+    }
+
+    /**
+     * Handler for updating some fields of a trade. Only the fields present in the body are written; when the body
+     * holds the version of the trade as last read, the update is refused if it has changed since.
+     *
+     * @param id     The ID of the trade.
+     * @param fields The new values by field name, and optionally the expected version.
+     * @return The updated trade with an ETag, 400 for an unknown field or an invalid value, 404 if not found,
+     * 409 if the trade has changed since the expected version.
+     */
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<TradeSummary> patchTrade(@PathVariable("id") Long id, @RequestBody Map<String, Object> fields) {
+        Map<String, Object> changes = new HashMap<>(fields);
+        Object version = changes.remove("version");
+        if (version != null && !(version instanceof Integer)) {
+            throw new IllegalArgumentException("Invalid version: " + version);
+        }
+        tradeService.updateTrade(id, (Integer) version, changes);
+        return ApiResponses.withETagOrNotFound(tradeService.getTradeSummaryById(id));
+    }
+}
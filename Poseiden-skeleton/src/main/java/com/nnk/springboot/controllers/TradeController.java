@@ -1,16 +1,25 @@
 package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.SearchCriteria;
+import com.nnk.springboot.repositories.TradeRow;
 import com.nnk.springboot.services.TradeService;
 import com.nnk.springboot.services.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -19,6 +28,8 @@ import java.util.Optional;
 @Controller
 public class TradeController {
 
+    private static final String TRADE_PATH = "/trade/list";
+
     private final TradeService tradeService;
     private final UserService userService;
 
@@ -35,17 +46,32 @@ public class TradeController {
     }
 
     /**
-     * Handler for displaying the list of trades.
+     * Handler for displaying the list of trades, one page at a time, optionally filtered.
      *
-     * @param model The Model object to add attributes.
+     * @param criteria The filter: account, book, trader, status, security, side, and the from and to days of the trade date.
+     * @param pageable The page and size requested, 50 trades by default, always sorted by ID.
+     * @param model    The Model object to add attributes.
      * @return The view name for the list of trades.
      */
     @RequestMapping("/trade/list")
-    public String home(Model model) {
+    public String home(@ModelAttribute("criteria") SearchCriteria criteria,
+                       @PageableDefault(size = 50) Pageable pageable, Model model) {
         String currentUser = userService.getCurrentLoggedInUser();
 
-        List<Trade> trades = tradeService.getAllTrades();
-        model.addAttribute("trades", trades);
+        Page<TradeRow> page = tradeService.searchTrades(criteria,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("tradeId")));
+        model.addAttribute("trades", page.getContent());
+        model.addAttribute("page", page);
+        model.addAttribute("size", page.getSize());
+        if (page.hasPrevious()) {
+            model.addAttribute("previousLink", ListLinks.of(TRADE_PATH, criteria,
+                    "page", page.getNumber() - 1, "size", page.getSize()));
+        }
+        if (page.hasNext()) {
+            model.addAttribute("nextLink", ListLinks.of(TRADE_PATH, criteria,
+                    "page", page.getNumber() + 1, "size", page.getSize()));
+        }
+        model.addAttribute("allLink", ListLinks.of(TRADE_PATH + "/all", criteria));
         model.addAttribute("currentUser", currentUser);
         return "trade/list";
     }
@@ -87,28 +113,39 @@ public class TradeController {
      * @return The view name for the update trade form.
      */
     @GetMapping("/trade/update/{id}")
-    public String showUpdateForm(@PathVariable("id") Integer id, Model model) {
+    public String showUpdateForm(@PathVariable("id") Long id, Model model) {
         Optional<Trade> trade = tradeService.getTradeById(id);
         trade.ifPresent(t -> model.addAttribute("trade", t));
         return "trade/update";
     }
 
     /**
-     * Handler for updating an existing trade.
+     * Handler for updating an existing trade. Only the fields submitted by the form are updated, provided the trade
+     * has not been changed by someone else since the form was displayed; otherwise the form is displayed again
+     * with the current values.
      *
-     * @param id     The ID of the trade to be updated.
-     * @param trade  The Trade object with updated information.
-     * @param result The BindingResult for validation errors.
-     * @param model  The Model object to add attributes.
+     * @param id         The ID of the trade to be updated.
+     * @param trade      The Trade object with updated information.
+     * @param result     The BindingResult for validation errors.
+     * @param parameters The submitted form parameters.
+     * @param model      The Model object to add attributes.
      * @return The view name to redirect to after updating the trade.
      */
     @PostMapping("/trade/update/{id}")
-    public String updateTrade(@PathVariable("id") Integer id, @Valid Trade trade,
-                              BindingResult result, Model model) {
+    public String updateTrade(@PathVariable("id") Long id, @Valid Trade trade,
+                              BindingResult result, @RequestParam Map<String, String> parameters, Model model) {
         if (result.hasErrors()) {
             return "trade/update";
         }
-        tradeService.saveTrade(trade);
+        Map<String, String> fields = new HashMap<>(parameters);
+        fields.keySet().retainAll(TradeService.UPDATABLE_FIELDS);
+        try {
+            tradeService.updateTrade(id, trade.getVersion(), fields);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            tradeService.getTradeById(id).ifPresent(t -> model.addAttribute("trade", t));
+            model.addAttribute("conflict", true);
+            return "trade/update";
+        }
         return "redirect:/trade/list";
     }
 
@@ -119,7 +156,7 @@ public class TradeController {
      * @return The view name to redirect to after deleting the trade.
      */
     @GetMapping("/trade/delete/{id}")
-    public String deleteTrade(@PathVariable("id") Integer id) {
+    public String deleteTrade(@PathVariable("id") Long id) {
         tradeService.deleteTradeById(id);
         return "redirect:/trade/list";
     }
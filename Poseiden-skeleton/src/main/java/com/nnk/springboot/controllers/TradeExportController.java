@@ -0,0 +1,55 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.services.TradeExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Controller class exporting the whole trade table for downstream risk systems.
+ */
+@Controller
+public class TradeExportController {
+
+    private final TradeExportService tradeExportService;
+
+    /**
+     * Constructor with TradeExportService injection.
+     *
+     * @param tradeExportService The TradeExportService instance to be injected.
+     */
+    @Autowired
+    public TradeExportController(TradeExportService tradeExportService) {
+        this.tradeExportService = tradeExportService;
+    }
+
+    /**
+     * Handler streaming every trade as CSV or NDJSON. Rows are written straight to the response
+     * while they are read from the database, nothing is buffered beyond the servlet output buffer.
+     *
+     * @param format   The export format, csv (default) or ndjson.
+     * @param response The HTTP response to write to.
+     * @throws IOException If writing to the response fails.
+     */
+    @GetMapping("/trade/export")
+    public void exportTrades(@RequestParam(value = "format", defaultValue = "csv") String format,
+                             HttpServletResponse response) throws IOException {
+        TradeExportService.Format exportFormat;
+        try {
+            exportFormat = TradeExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Unknown export format: " + format);
+            return;
+        }
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"trades." + exportFormat.getExtension() + "\"");
+        tradeExportService.exportTrades(exportFormat, response.getWriter());
+    }
+}
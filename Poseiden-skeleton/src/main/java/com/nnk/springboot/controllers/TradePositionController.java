@@ -0,0 +1,41 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.repositories.TradePosition;
+import com.nnk.springboot.services.TradePositionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.List;
+
+/**
+ * Controller class exposing the trade positions aggregated by account, book and security.
+ */
+@Controller
+public class TradePositionController {
+
+    private final TradePositionService tradePositionService;
+
+    /**
+     * Constructor with TradePositionService injection.
+     *
+     * @param tradePositionService The TradePositionService instance to be injected.
+     */
+    @Autowired
+    public TradePositionController(TradePositionService tradePositionService) {
+        this.tradePositionService = tradePositionService;
+    }
+
+    /**
+     * Handler returning the positions as JSON: net quantity, notional and VWAP by account, book and security.
+     * They are served from memory, the trade table is not read.
+     *
+     * @return The positions sorted by account, book and security.
+     */
+    @GetMapping("/trade/positions")
+    @ResponseBody
+    public List<TradePosition> getPositions() {
+        return tradePositionService.getPositions();
+    }
+}
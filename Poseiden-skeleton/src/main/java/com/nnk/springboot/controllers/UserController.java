@@ -2,10 +2,11 @@ package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.domain.User;
 import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.security.TokenDenyList;
+import com.nnk.springboot.services.UserDetailsServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -27,6 +28,12 @@ public class UserController {
 
     @Autowired
     private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private TokenDenyList tokenDenyList;
     /**
      * Handler for displaying the list of users.
      *
@@ -118,7 +125,7 @@ public class UserController {
      * @return The view name for the update user form.
      */
     @GetMapping("/user/update/{id}")
-    public String showUpdateForm(@PathVariable("id") Integer id, Model model) {
+    public String showUpdateForm(@PathVariable("id") Long id, Model model) {
         // Récupérer l'ID de l'utilisateur connecté
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String currentPrincipalName = authentication.getName();
@@ -150,7 +157,7 @@ public class UserController {
      * @return The view name to redirect to after updating the user.
      */
     @PostMapping("/user/update/{id}")
-    public String updateUser(@PathVariable("id") Integer id, @Valid User user,
+    public String updateUser(@PathVariable("id") Long id, @Valid User user,
                              BindingResult result, Model model) {
         // Vérifier les erreurs de validation dans le formulaire
         if (result.hasErrors()) {
@@ -183,6 +190,8 @@ public class UserController {
 
         // Enregistrer les modifications dans la base de données
         userRepository.save(existingUser);
+        userDetailsService.evictUser(existingUser.getUsername());
+        tokenDenyList.revokeUser(existingUser.getUsername());
 
         // Redirection vers la liste des utilisateurs après la mise à jour
         return "redirect:/user/list";
@@ -195,7 +204,7 @@ public class UserController {
      * @return The view name to redirect to after deleting the user.
      */
     @GetMapping("/user/delete/{id}")
-    public String deleteUser(@PathVariable("id") Integer id, RedirectAttributes redirectAttributes) {
+    public String deleteUser(@PathVariable("id") Long id, RedirectAttributes redirectAttributes) {
         // Récupérer l'utilisateur connecté
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String currentPrincipalName = authentication.getName();
@@ -213,6 +222,8 @@ public class UserController {
 
         // Supprimer l'utilisateur de la base de données
         userRepository.delete(userToDelete);
+        userDetailsService.evictUser(userToDelete.getUsername());
+        tokenDenyList.revokeUser(userToDelete.getUsername());
 
         // Redirection vers la liste des utilisateurs après la suppression
         return "redirect:/user/list";
@@ -0,0 +1,45 @@
+package com.nnk.springboot.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.hibernate.Length;
+
+import java.time.Instant;
+
+/**
+ * Row of the append-only audit trail: one create, update or delete of a domain entity, with the changed values.
+ * Rows are inserted in JDBC batches by the AuditService, never updated nor deleted by the application.
+ */
+@Entity
+@Table(name = "audit_event", indexes = @Index(name = "audit_event_entity_idx", columnList = "entity_type, entity_id"))
+@Getter
+@Setter
+@RequiredArgsConstructor
+public class AuditEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "entity_type", nullable = false, length = 64)
+    private String entityType;
+
+    @Column(name = "entity_id", length = 64)
+    private String entityId;
+
+    @Column(name = "action", nullable = false, length = 16)
+    private String action;
+
+    @Column(name = "username", length = 125)
+    private String username;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    @Lob
+    @Column(name = "changes", length = Length.LONG32)
+    private String changes;
+}
@@ -2,21 +2,36 @@ package com.nnk.springboot.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedBy;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import javax.validation.constraints.NotNull;
-import java.security.Timestamp;
+import java.time.LocalDateTime;
 
 @Getter
 @Setter
 @Entity
-@Table(name = "bidlist")
+@EntityListeners(AuditingEntityListener.class)
+@DynamicUpdate
+@Table(name = "bidlist", indexes = {
+        @Index(name = "bidlist_account_type_idx", columnList = "account, type"),
+        @Index(name = "bidlist_bid_list_date_idx", columnList = "bid_list_date")})
 @RequiredArgsConstructor
 public class BidList {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bidlist_seq")
+    @SequenceGenerator(name = "bidlist_seq", sequenceName = "bidlist_seq", allocationSize = 50)
     @Column(name = "id")
-    private Integer id;
+    private Long id;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Integer version;
 
     @Column(name = "account", nullable = false)
     @NotNull
@@ -43,7 +58,7 @@ public class BidList {
     private String benchmark;
 
     @Column(name = "bid_list_date")
-    private Timestamp bidListDate;
+    private LocalDateTime bidListDate;
 
     @Column(name = "commentary")
     private String commentary;
@@ -60,17 +75,21 @@ public class BidList {
     @Column(name = "book")
     private String book;
 
-    @Column(name = "creation_name")
+    @CreatedBy
+    @Column(name = "creation_name", updatable = false)
     private String creationName;
 
-    @Column(name = "creation_date")
-    private Timestamp creationDate;
+    @CreatedDate
+    @Column(name = "creation_date", updatable = false)
+    private LocalDateTime creationDate;
 
+    @LastModifiedBy
     @Column(name = "revision_name")
     private String revisionName;
 
+    @LastModifiedDate
     @Column(name = "revision_date")
-    private Timestamp revisionDate;
+    private LocalDateTime revisionDate;
 
     @Column(name = "deal_name")
     private String dealName;
@@ -6,34 +6,34 @@ import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
 import javax.validation.constraints.NotNull;
-import java.security.Timestamp;
+import java.time.LocalDateTime;
 
 
 @Entity
-@Table(name = "curvepoint")
+@Table(name = "curvepoint", indexes = @Index(name = "curvepoint_curve_id_term_idx", columnList = "curve_id, term"))
 @Getter
 @Setter
 public class CurvePoint {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id")
-    private Integer id;
+    private Long id;
 
     @Column(name = "curve_id", nullable = false)
     @NotNull
     private Integer curveId;
 
     @Column(name = "as_of_date")
-    private Timestamp asOfDate;
+    private LocalDateTime asOfDate;
 
     @Column(name = "term")
     private Double term;
 
-    @Column(name = "value")
+    @Column(name = "`value`")
     private Double value;
 
     @Column(name = "creation_date")
-    private Timestamp creationDate;
+    private LocalDateTime creationDate;
 
     // Default constructor (required by JPA)
     public CurvePoint() {
@@ -3,17 +3,22 @@ package com.nnk.springboot.domain;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.Length;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "ruleName")
 @Table(name = "rulename")
 public class RuleName {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id")
-    private Integer id;
+    private Long id;
 
     @Column(name = "name")
     private String name;
@@ -21,7 +26,8 @@ public class RuleName {
     @Column(name = "description")
     private String description;
 
-    @Column(name = "json")
+    @Lob
+    @Column(name = "json", length = Length.LONG32)
     private String json;
 
     @Column(name = "template")
@@ -3,21 +3,35 @@ package com.nnk.springboot.domain;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedBy;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import javax.validation.constraints.NotNull;
-import java.security.Timestamp;
+import java.time.LocalDateTime;
 
 
 @Getter
 @Setter
 @Entity
-@Table(name = "trade")
+@EntityListeners(AuditingEntityListener.class)
+@DynamicUpdate
+@Table(name = "trade", indexes = {
+        @Index(name = "trade_account_book_security_idx", columnList = "account, book, security"),
+        @Index(name = "trade_trade_date_idx", columnList = "trade_date")})
 public class Trade {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id")
-    private Integer tradeId;
+    private Long tradeId;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Integer version;
 
     @Column(name = "account", nullable = false)
     @NotNull
@@ -44,7 +58,7 @@ public class Trade {
     private String benchmark;
 
     @Column(name = "trade_date")
-    private Timestamp tradeDate;
+    private LocalDateTime tradeDate;
 
     @Column(name = "security")
     private String security;
@@ -58,17 +72,21 @@ public class Trade {
     @Column(name = "book")
     private String book;
 
-    @Column(name = "creation_name")
+    @CreatedBy
+    @Column(name = "creation_name", updatable = false)
     private String creationName;
 
-    @Column(name = "creation_date")
-    private Timestamp creationDate;
+    @CreatedDate
+    @Column(name = "creation_date", updatable = false)
+    private LocalDateTime creationDate;
 
+    @LastModifiedBy
     @Column(name = "revision_name")
     private String revisionName;
 
+    @LastModifiedDate
     @Column(name = "revision_date")
-    private Timestamp revisionDate;
+    private LocalDateTime revisionDate;
 
     @Column(name = "deal_name")
     private String dealName;
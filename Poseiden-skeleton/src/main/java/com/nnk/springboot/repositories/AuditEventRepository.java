@@ -0,0 +1,18 @@
+package com.nnk.springboot.repositories;
+
+import com.nnk.springboot.domain.AuditEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface AuditEventRepository extends JpaRepository<AuditEvent, Long> {
+
+    /**
+     * Get the history of an entity, oldest change first
+     *
+     * @param entityType the entity class simple name
+     * @param entityId   the entity id
+     * @return the audit events of the entity
+     */
+    List<AuditEvent> findByEntityTypeAndEntityIdOrderByIdAsc(String entityType, String entityId);
+}
@@ -2,8 +2,54 @@ package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.BidList;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
-public interface BidListRepository extends JpaRepository<BidList, Integer> {
 
+public interface BidListRepository extends JpaRepository<BidList, Long>, JpaSpecificationExecutor<BidList>,
+        BidListRepositoryCustom {
+
+    /**
+     * Get one bid, projected on the given type
+     *
+     * @param id   the id
+     * @param type the projection type
+     * @return the projection, empty if no bid has the id
+     */
+    <T> Optional<T> findProjectedById(Long id, Class<T> type);
+
+    /**
+     * Delete the bids with the given ids in a single statement. The entity listeners are bypassed and the
+     * persistence context is cleared.
+     *
+     * @param ids the ids
+     * @return the number of deleted bids
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from BidList b where b.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Set the status of the bids with the given ids in a single statement, with their revision name and date,
+     * and increment their version. The entity listeners are bypassed and the persistence context is cleared.
+     *
+     * @param ids          the ids
+     * @param status       the new status
+     * @param revisionName the user making the change
+     * @param revisionDate the time of the change
+     * @return the number of updated bids
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update BidList b set b.status = :status, b.revisionName = :revisionName,"
+            + " b.revisionDate = :revisionDate, b.version = b.version + 1 where b.id in :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") String status,
+                           @Param("revisionName") String revisionName,
+                           @Param("revisionDate") LocalDateTime revisionDate);
 }
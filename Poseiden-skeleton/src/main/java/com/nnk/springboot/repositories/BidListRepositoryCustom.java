@@ -0,0 +1,36 @@
+package com.nnk.springboot.repositories;
+
+import com.nnk.springboot.domain.BidList;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Bid queries that cannot be expressed as derived or annotated repository methods.
+ */
+public interface BidListRepositoryCustom {
+
+    /**
+     * Get a page of the bids matching a specification, projected on a record whose components are bid attributes.
+     * The records are built by the query, no bid is loaded.
+     *
+     * @param specification the specification, null to match every bid
+     * @param pageable      the page request
+     * @param type          the record type
+     * @return the page of records, counted only when the page is full
+     */
+    <R extends Record> Page<R> findProjected(Specification<BidList> specification, Pageable pageable, Class<R> type);
+
+    /**
+     * Get the first bids matching a specification, in the order it sets, projected on a record whose components
+     * are bid attributes. The records are built by the query, no bid is loaded.
+     *
+     * @param specification the specification, ordering the bids
+     * @param limit         the maximum number of records
+     * @param type          the record type
+     * @return the records
+     */
+    <R extends Record> List<R> findProjected(Specification<BidList> specification, int limit, Class<R> type);
+}
@@ -0,0 +1,29 @@
+package com.nnk.springboot.repositories;
+
+import com.nnk.springboot.domain.BidList;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Implementation of the custom bid queries, picked up by Spring Data as a fragment of {@link BidListRepository}.
+ */
+public class BidListRepositoryImpl implements BidListRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public <R extends Record> Page<R> findProjected(Specification<BidList> specification, Pageable pageable, Class<R> type) {
+        return RecordProjections.page(entityManager, BidList.class, specification, pageable, type);
+    }
+
+    @Override
+    public <R extends Record> List<R> findProjected(Specification<BidList> specification, int limit, Class<R> type) {
+        return RecordProjections.list(entityManager, BidList.class, specification, limit, type);
+    }
+}
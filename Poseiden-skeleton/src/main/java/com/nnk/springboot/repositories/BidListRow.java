@@ -0,0 +1,8 @@
+package com.nnk.springboot.repositories;
+
+/**
+ * Projection of a bid as rendered by the bid list page, read without loading the entity; its version keys the
+ * cached rendering of the row
+ */
+public record BidListRow(Long id, String account, String type, Double bidQuantity, Integer version) {
+}
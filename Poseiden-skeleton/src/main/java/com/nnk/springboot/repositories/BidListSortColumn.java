@@ -0,0 +1,87 @@
+package com.nnk.springboot.repositories;
+
+/**
+ * Columns the bid list can be sorted on when it is read page by page.
+ * The id is always used as the tie-breaker so that the ordering is total.
+ */
+public enum BidListSortColumn {
+
+    ID("id", false),
+    ACCOUNT("account", false),
+    TYPE("type", false),
+    BID_QUANTITY("bidQuantity", true);
+
+    private final String property;
+    private final boolean nullable;
+
+    BidListSortColumn(String property, boolean nullable) {
+        this.property = property;
+        this.nullable = nullable;
+    }
+
+    /**
+     * Get the name of the mapped BidList attribute
+     *
+     * @return the attribute name
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Tell whether the mapped column accepts null values
+     *
+     * @return true if the column is nullable
+     */
+    public boolean isNullable() {
+        return nullable;
+    }
+
+    /**
+     * Find a sort column from its attribute name, falling back to the id
+     *
+     * @param property the attribute name sent by the client, may be null
+     * @return the matching sort column
+     */
+    public static BidListSortColumn fromProperty(String property) {
+        for (BidListSortColumn column : values()) {
+            if (column.property.equals(property)) {
+                return column;
+            }
+        }
+        return ID;
+    }
+
+    /**
+     * Get the value of the column in a row of the bid list, the cursor of the next page
+     *
+     * @param row the row
+     * @return the column value
+     */
+    public Object valueOf(BidListRow row) {
+        return switch (this) {
+            case ID -> row.id();
+            case ACCOUNT -> row.account();
+            case TYPE -> row.type();
+            case BID_QUANTITY -> row.bidQuantity();
+        };
+    }
+
+    /**
+     * Convert a cursor value received as text to the type of the column
+     *
+     * @param value the text value, empty or null meaning a null column value
+     * @return the typed value
+     * @throws NumberFormatException the column is numeric and the value is not a number
+     */
+    public Comparable<?> parseValue(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        return switch (this) {
+            case ID -> Long.valueOf(value);
+            case BID_QUANTITY -> Double.valueOf(value);
+            default -> value;
+        };
+    }
+}
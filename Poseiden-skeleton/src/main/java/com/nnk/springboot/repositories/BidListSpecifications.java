@@ -0,0 +1,63 @@
+package com.nnk.springboot.repositories;
+
+import com.nnk.springboot.domain.BidList;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Query specifications for the bid list.
+ */
+public final class BidListSpecifications {
+
+    private BidListSpecifications() {
+    }
+
+    /**
+     * Keyset (seek) pagination: order the bids on the sort column then on the id, and only keep the rows
+     * placed after the last row of the previous page. Null values rank lowest, so they come first in
+     * ascending order and last in descending order.
+     *
+     * @param column     the sort column
+     * @param direction  the sort direction of the column, the id tie-breaker being ascending
+     * @param afterId    the id of the last row already read, null for the first page
+     * @param afterValue the sort column value of the last row already read
+     * @return the specification ordering and filtering the bids
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static Specification<BidList> keysetAfter(BidListSortColumn column, Sort.Direction direction,
+                                                     Long afterId, Comparable afterValue) {
+        return (root, query, cb) -> {
+            boolean ascending = direction.isAscending();
+            Path<Long> id = root.get("id");
+
+            if (column == BidListSortColumn.ID) {
+                query.orderBy(ascending ? cb.asc(id) : cb.desc(id));
+                if (afterId == null) {
+                    return null;
+                }
+                return ascending ? cb.greaterThan(id, afterId) : cb.lessThan(id, afterId);
+            }
+
+            HibernateCriteriaBuilder hcb = (HibernateCriteriaBuilder) cb;
+            Path<Comparable> value = root.get(column.getProperty());
+            query.orderBy(ascending ? hcb.asc(value, true) : hcb.desc(value, false), cb.asc(id));
+            if (afterId == null) {
+                return null;
+            }
+
+            Predicate sameValue = afterValue == null ? cb.isNull(value) : cb.equal(value, afterValue);
+            Predicate sameValueAfter = cb.and(sameValue, cb.greaterThan(id, afterId));
+            if (afterValue == null) {
+                return ascending ? cb.or(sameValueAfter, cb.isNotNull(value)) : sameValueAfter;
+            }
+            Predicate beyond = ascending ? cb.greaterThan(value, afterValue) : cb.lessThan(value, afterValue);
+            if (!ascending && column.isNullable()) {
+                beyond = cb.or(beyond, cb.isNull(value));
+            }
+            return cb.or(beyond, sameValueAfter);
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.nnk.springboot.repositories;
+
+import com.nnk.springboot.domain.BidList;
+
+/**
+ * Projection of a bid as exposed by the API
+ */
+public record BidListSummary(Long id, String account, String type, Double bidQuantity, Double askQuantity,
+                             Double bid, Double ask, String benchmark, String security, String status,
+                             String trader, String book, String side, Integer version) {
+
+    /**
+     * Project a bid already loaded, such as one just saved
+     *
+     * @param bid the bid
+     * @return the summary
+     */
+    public static BidListSummary of(BidList bid) {
+        return new BidListSummary(bid.getId(), bid.getAccount(), bid.getType(), bid.getBidQuantity(),
+                bid.getAskQuantity(), bid.getBid(), bid.getAsk(), bid.getBenchmark(), bid.getSecurity(),
+                bid.getStatus(), bid.getTrader(), bid.getBook(), bid.getSide(), bid.getVersion());
+    }
+
+    /**
+     * Get the summary of the bid once its status is set by a bulk update, which increments its version
+     *
+     * @param newStatus the new status
+     * @return the updated summary
+     */
+    public BidListSummary withStatus(String newStatus) {
+        return new BidListSummary(id, account, type, bidQuantity, askQuantity, bid, ask, benchmark, security,
+                newStatus, trader, book, side, version == null ? null : version + 1);
+    }
+}
@@ -1,9 +1,57 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.CurvePoint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
-public interface CurvePointRepository extends JpaRepository<CurvePoint, Integer> {
 
+public interface CurvePointRepository extends JpaRepository<CurvePoint, Long> {
+
+    List<CurvePoint> findByCurveIdOrderByTermAscIdAsc(Integer curveId);
+
+    /**
+     * Get a page of curve points, projected on the given type
+     *
+     * @param pageable the page request
+     * @param type     the projection type
+     * @return the page of projections
+     */
+    <T> Page<T> findAllProjectedBy(Pageable pageable, Class<T> type);
+
+    /**
+     * Get one curve point, projected on the given type
+     *
+     * @param id   the id
+     * @param type the projection type
+     * @return the projection, empty if no curve point has the id
+     */
+    <T> Optional<T> findProjectedById(Long id, Class<T> type);
+
+    /**
+     * Get the curve points with the given ids, projected on the given type
+     *
+     * @param ids  the ids
+     * @param type the projection type
+     * @return the projections of the curve points found
+     */
+    <T> List<T> findProjectedByIdIn(Collection<Long> ids, Class<T> type);
+
+    /**
+     * Delete the curve points with the given ids in a single statement. The entity listeners are bypassed and the
+     * persistence context is cleared.
+     *
+     * @param ids the ids
+     * @return the number of deleted curve points
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from CurvePoint c where c.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,7 @@
+package com.nnk.springboot.repositories;
+
+/**
+ * Projection of a curve point as exposed by the API
+ */
+public record CurvePointSummary(Long id, Integer curveId, Double term, Double value) {
+}
@@ -1,8 +1,93 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.Rating;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface RatingRepository extends JpaRepository<Rating, Integer> {
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
+/**
+ * The ratings cached in the second-level cache are read in a read-write transaction, hence from the primary database:
+ * a row read from a lagging replica would stay in the cache after the primary has changed it.
+ */
+public interface RatingRepository extends JpaRepository<Rating, Long> {
+
+    /**
+     * Get all the ratings, from the query cache when they have not changed since the last call
+     *
+     * @return the ratings
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Transactional
+    List<Rating> findAll();
+
+    /**
+     * Tell whether a rating exists, from the query cache when the table has not changed since the last call
+     *
+     * @param id the id
+     * @return true if a rating has the id
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Transactional
+    boolean existsById(Long id);
+
+    /**
+     * Get a rating, from the second-level cache when it has been read or saved before
+     *
+     * @param id the id
+     * @return the rating, empty if no rating has the id
+     */
+    @Override
+    @Transactional
+    Optional<Rating> findById(Long id);
+
+    /**
+     * Get a page of ratings, projected on the given type
+     *
+     * @param pageable the page request
+     * @param type     the projection type
+     * @return the page of projections
+     */
+    <T> Page<T> findAllProjectedBy(Pageable pageable, Class<T> type);
+
+    /**
+     * Get one rating, projected on the given type
+     *
+     * @param id   the id
+     * @param type the projection type
+     * @return the projection, empty if no rating has the id
+     */
+    <T> Optional<T> findProjectedById(Long id, Class<T> type);
+
+    /**
+     * Get the ratings with the given ids, projected on the given type
+     *
+     * @param ids  the ids
+     * @param type the projection type
+     * @return the projections of the ratings found
+     */
+    <T> List<T> findProjectedByIdIn(Collection<Long> ids, Class<T> type);
+
+    /**
+     * Delete the ratings with the given ids in a single statement. The entity listeners are bypassed and the
+     * persistence context is cleared.
+     *
+     * @param ids the ids
+     * @return the number of deleted ratings
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Rating r where r.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
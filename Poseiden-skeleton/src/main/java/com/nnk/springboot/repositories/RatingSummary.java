@@ -0,0 +1,8 @@
+package com.nnk.springboot.repositories;
+
+/**
+ * Projection of a rating as exposed by the API
+ */
+public record RatingSummary(Long id, String moodysRating, String sandPRating, String fitchRating,
+                            Integer orderNumber) {
+}
@@ -0,0 +1,100 @@
+package com.nnk.springboot.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Specification queries selecting only the columns of a record: each record component is read from the entity
+ * attribute of the same name and the record is built by the query, so no entity is loaded into the persistence
+ * context, dirty checked or flushed. The Spring Data specification queries can only project by loading the entities.
+ */
+final class RecordProjections {
+
+    private RecordProjections() {
+    }
+
+    /**
+     * Get a page of the entities matching a specification, projected on a record. The count query only runs when
+     * the page is full, the total being known otherwise
+     *
+     * @param entityManager the entity manager
+     * @param entityType    the entity type
+     * @param specification the specification, null to match every entity
+     * @param pageable      the page request, with its sort
+     * @param type          the record type
+     * @return the page of records
+     */
+    static <E, R extends Record> Page<R> page(EntityManager entityManager, Class<E> entityType,
+                                              Specification<E> specification, Pageable pageable, Class<R> type) {
+        TypedQuery<R> query = query(entityManager, entityType, specification, pageable, type);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable,
+                () -> count(entityManager, entityType, specification));
+    }
+
+    /**
+     * Get the first entities matching a specification, in the order it sets, projected on a record
+     *
+     * @param entityManager the entity manager
+     * @param entityType    the entity type
+     * @param specification the specification, null to match every entity
+     * @param limit         the maximum number of records
+     * @param type          the record type
+     * @return the records
+     */
+    static <E, R extends Record> List<R> list(EntityManager entityManager, Class<E> entityType,
+                                              Specification<E> specification, int limit, Class<R> type) {
+        return query(entityManager, entityType, specification, Pageable.unpaged(), type)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static <E, R extends Record> TypedQuery<R> query(EntityManager entityManager, Class<E> entityType,
+                                                             Specification<E> specification, Pageable pageable,
+                                                             Class<R> type) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = cb.createQuery(type);
+        Root<E> root = query.from(entityType);
+        query.select(cb.construct(type, Arrays.stream(type.getRecordComponents())
+                .map(component -> root.get(component.getName()))
+                .toArray(Selection[]::new)));
+        where(specification, root, query, cb);
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private static <E> long count(EntityManager entityManager, Class<E> entityType, Specification<E> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<E> root = query.from(entityType);
+        query.select(cb.count(root));
+        where(specification, root, query, cb);
+        query.orderBy(List.of());
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static <E> void where(Specification<E> specification, Root<E> root, CriteriaQuery<?> query,
+                                  CriteriaBuilder cb) {
+        Predicate predicate = specification == null ? null : specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
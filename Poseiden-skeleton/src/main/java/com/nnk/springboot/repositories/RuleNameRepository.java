@@ -1,8 +1,94 @@
 package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.RuleName;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
-public interface RuleNameRepository extends JpaRepository<RuleName, Integer> {
+
+/**
+ * The rules cached in the second-level cache are read in a read-write transaction, hence from the primary database:
+ * a row read from a lagging replica would stay in the cache after the primary has changed it.
+ */
+public interface RuleNameRepository extends JpaRepository<RuleName, Long> {
+
+    /**
+     * Get all the rules, from the query cache when they have not changed since the last call
+     *
+     * @return the rules
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Transactional
+    List<RuleName> findAll();
+
+    /**
+     * Tell whether a rule exists, from the query cache when the table has not changed since the last call
+     *
+     * @param id the id
+     * @return true if a rule has the id
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Transactional
+    boolean existsById(Long id);
+
+    /**
+     * Get a rule, from the second-level cache when it has been read or saved before
+     *
+     * @param id the id
+     * @return the rule, empty if no rule has the id
+     */
+    @Override
+    @Transactional
+    Optional<RuleName> findById(Long id);
+
+    /**
+     * Get a page of rules, projected on the given type
+     *
+     * @param pageable the page request
+     * @param type     the projection type
+     * @return the page of projections
+     */
+    <T> Page<T> findAllProjectedBy(Pageable pageable, Class<T> type);
+
+    /**
+     * Get one rule, projected on the given type
+     *
+     * @param id   the id
+     * @param type the projection type
+     * @return the projection, empty if no rule has the id
+     */
+    <T> Optional<T> findProjectedById(Long id, Class<T> type);
+
+    /**
+     * Get the rules with the given ids, projected on the given type
+     *
+     * @param ids  the ids
+     * @param type the projection type
+     * @return the projections of the rules found
+     */
+    <T> List<T> findProjectedByIdIn(Collection<Long> ids, Class<T> type);
+
+    /**
+     * Delete the rules with the given ids in a single statement. The entity listeners are bypassed and the
+     * persistence context is cleared.
+     *
+     * @param ids the ids
+     * @return the number of deleted rules
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from RuleName r where r.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
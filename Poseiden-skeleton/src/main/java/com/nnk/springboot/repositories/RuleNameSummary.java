@@ -0,0 +1,8 @@
+package com.nnk.springboot.repositories;
+
+/**
+ * Projection of a rule as exposed by the API
+ */
+public record RuleNameSummary(Long id, String name, String description, String json, String template,
+                              String sqlStr, String sqlPart) {
+}
@@ -0,0 +1,62 @@
+package com.nnk.springboot.repositories;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Filter of the trade and bid searches, bound from the request parameters of the same names. Blank fields are ignored.
+ *
+ * @param account  the exact account
+ * @param book     the exact book
+ * @param trader   the exact trader
+ * @param status   the exact status
+ * @param security the exact security
+ * @param side     the exact side
+ * @param from     the first day of the trade or bid list date
+ * @param to       the last day of the trade or bid list date
+ */
+public record SearchCriteria(String account, String book, String trader, String status, String security, String side,
+                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+    /**
+     * Criteria matching everything
+     */
+    public static final SearchCriteria NONE = new SearchCriteria(null, null, null, null, null, null, null, null);
+
+    /**
+     * Get the criteria as request parameters, to carry them over to the links of another page
+     *
+     * @return the non-blank criteria by parameter name, in declaration order
+     */
+    public Map<String, String> toParameters() {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        putIfPresent(parameters, "account", account);
+        putIfPresent(parameters, "book", book);
+        putIfPresent(parameters, "trader", trader);
+        putIfPresent(parameters, "status", status);
+        putIfPresent(parameters, "security", security);
+        putIfPresent(parameters, "side", side);
+        putIfPresent(parameters, "from", from == null ? null : from.toString());
+        putIfPresent(parameters, "to", to == null ? null : to.toString());
+        return parameters;
+    }
+
+    /**
+     * Tell whether the criteria match everything
+     *
+     * @return true if every criterion is blank
+     */
+    public boolean isEmpty() {
+        return toParameters().isEmpty();
+    }
+
+    private static void putIfPresent(Map<String, String> parameters, String name, String value) {
+        if (value != null && !value.isBlank()) {
+            parameters.put(name, value.trim());
+        }
+    }
+}
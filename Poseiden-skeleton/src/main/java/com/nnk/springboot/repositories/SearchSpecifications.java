@@ -0,0 +1,72 @@
+package com.nnk.springboot.repositories;
+
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Query specifications of the trade and bid searches.
+ */
+public final class SearchSpecifications {
+
+    private SearchSpecifications() {
+    }
+
+    /**
+     * Keep the rows matching the criteria. The columns are compared as stored, without a function or a leading
+     * wildcard, so that the conditions can use the indexes: account, book and security on trade(account, book,
+     * security), account on bidlist(account, type), the date range on the date index of each table.
+     *
+     * @param criteria      the search criteria
+     * @param dateAttribute the date attribute bounded by the criteria date range
+     * @param <T>           the entity type, having the account, book, trader, status, security and side attributes
+     * @return the specification, matching everything when the criteria are empty
+     */
+    public static <T> Specification<T> matching(SearchCriteria criteria, String dateAttribute) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            for (Map.Entry<String, String> criterion : criteria.toParameters().entrySet()) {
+                switch (criterion.getKey()) {
+                    case "from" -> predicates.add(cb.greaterThanOrEqualTo(root.<LocalDateTime>get(dateAttribute),
+                            criteria.from().atStartOfDay()));
+                    case "to" -> predicates.add(cb.lessThan(root.<LocalDateTime>get(dateAttribute),
+                            criteria.to().plusDays(1).atStartOfDay()));
+                    default -> predicates.add(cb.equal(root.get(criterion.getKey()), criterion.getValue()));
+                }
+            }
+            return predicates.isEmpty() ? null : cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Order the rows by id and keep those after an id, the next page of a keyset pagination on the id
+     *
+     * @param idAttribute the id attribute
+     * @param afterId     the id of the last row already read, null for the first page
+     * @param <T>         the entity type
+     * @return the specification
+     */
+    public static <T> Specification<T> idAfter(String idAttribute, Long afterId) {
+        return (root, query, cb) -> {
+            query.orderBy(cb.asc(root.get(idAttribute)));
+            return afterId == null ? null : cb.greaterThan(root.get(idAttribute), afterId);
+        };
+    }
+
+    /**
+     * Keep the rows whose id is in a list
+     *
+     * @param idAttribute the id attribute
+     * @param ids         the ids, an empty list matching nothing
+     * @param <T>         the entity type
+     * @return the specification
+     */
+    public static <T> Specification<T> idIn(String idAttribute, Collection<Long> ids) {
+        return (root, query, cb) -> ids.isEmpty() ? cb.disjunction() : root.get(idAttribute).in(ids);
+    }
+}
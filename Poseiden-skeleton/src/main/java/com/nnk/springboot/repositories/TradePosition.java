@@ -0,0 +1,130 @@
+package com.nnk.springboot.repositories;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.nnk.springboot.domain.Trade;
+
+import java.util.Comparator;
+
+/**
+ * Aggregated position of the trades sharing an account, a book and a security. Only additive sums are held,
+ * so a trade can be added to or removed from a position without reading the other trades.
+ *
+ * @param account        the account
+ * @param book           the book
+ * @param security       the security
+ * @param tradeCount     the number of trades
+ * @param buyQuantity    the total bought quantity
+ * @param sellQuantity   the total sold quantity
+ * @param buyAmount      the total of bought quantity times buy price
+ * @param sellAmount     the total of sold quantity times sell price
+ * @param pricedQuantity the bought and sold quantity having a price
+ */
+public record TradePosition(String account, String book, String security, long tradeCount,
+                            double buyQuantity, double sellQuantity,
+                            double buyAmount, double sellAmount, double pricedQuantity) {
+
+    /**
+     * Order of the positions: by account, book then security, missing values first
+     */
+    public static final Comparator<TradePosition> ORDER = Comparator
+            .comparing(TradePosition::account, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .thenComparing(TradePosition::book, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .thenComparing(TradePosition::security, Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+
+    /**
+     * Get the position of a single trade
+     *
+     * @param trade the trade
+     * @return the contribution of the trade to its position
+     */
+    public static TradePosition of(Trade trade) {
+        return of(trade.getAccount(), trade.getBook(), trade.getSecurity(), trade.getBuyQuantity(),
+                trade.getSellQuantity(), trade.getBuyPrice(), trade.getSellPrice());
+    }
+
+    /**
+     * Get the position of a single trade from its summary
+     *
+     * @param trade the trade summary
+     * @return the contribution of the trade to its position
+     */
+    public static TradePosition of(TradeSummary trade) {
+        return of(trade.account(), trade.book(), trade.security(), trade.buyQuantity(), trade.sellQuantity(),
+                trade.buyPrice(), trade.sellPrice());
+    }
+
+    private static TradePosition of(String account, String book, String security, Double tradeBuyQuantity,
+                                    Double tradeSellQuantity, Double buyPrice, Double sellPrice) {
+        double buyQuantity = tradeBuyQuantity == null ? 0 : tradeBuyQuantity;
+        double sellQuantity = tradeSellQuantity == null ? 0 : tradeSellQuantity;
+        double buyAmount = buyPrice == null ? 0 : buyQuantity * buyPrice;
+        double sellAmount = sellPrice == null ? 0 : sellQuantity * sellPrice;
+        double pricedQuantity = (buyPrice == null ? 0 : buyQuantity) + (sellPrice == null ? 0 : sellQuantity);
+        return new TradePosition(account, book, security, 1,
+                buyQuantity, sellQuantity, buyAmount, sellAmount, pricedQuantity);
+    }
+
+    /**
+     * Tell whether another position has the same account, book and security
+     *
+     * @param other the other position
+     * @return true if both positions aggregate the same trades
+     */
+    public boolean sameKey(TradePosition other) {
+        return ORDER.compare(this, other) == 0;
+    }
+
+    /**
+     * Add the sums of another position of the same key
+     *
+     * @param other the position to add
+     * @return the new position
+     */
+    public TradePosition plus(TradePosition other) {
+        return new TradePosition(account, book, security, tradeCount + other.tradeCount,
+                buyQuantity + other.buyQuantity, sellQuantity + other.sellQuantity,
+                buyAmount + other.buyAmount, sellAmount + other.sellAmount, pricedQuantity + other.pricedQuantity);
+    }
+
+    /**
+     * Subtract the sums of another position of the same key
+     *
+     * @param other the position to subtract
+     * @return the new position
+     */
+    public TradePosition minus(TradePosition other) {
+        return new TradePosition(account, book, security, tradeCount - other.tradeCount,
+                buyQuantity - other.buyQuantity, sellQuantity - other.sellQuantity,
+                buyAmount - other.buyAmount, sellAmount - other.sellAmount, pricedQuantity - other.pricedQuantity);
+    }
+
+    /**
+     * @return the bought quantity minus the sold quantity
+     */
+    @JsonProperty
+    public double netQuantity() {
+        return buyQuantity - sellQuantity;
+    }
+
+    /**
+     * @return the gross traded value, bought and sold quantities times their price
+     */
+    @JsonProperty
+    public double notional() {
+        return buyAmount + sellAmount;
+    }
+
+    /**
+     * @return the volume weighted average price, null when no trade has a price
+     */
+    @JsonProperty
+    public Double vwap() {
+        return pricedQuantity == 0 ? null : notional() / pricedQuantity;
+    }
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return tradeCount <= 0;
+    }
+}
@@ -2,7 +2,65 @@ package com.nnk.springboot.repositories;
 
 import com.nnk.springboot.domain.Trade;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
-public interface TradeRepository extends JpaRepository<Trade, Integer> {
+public interface TradeRepository extends JpaRepository<Trade, Long>, JpaSpecificationExecutor<Trade>, TradeRepositoryCustom {
+
+    /**
+     * Aggregate the trades by account, book and security in a single grouped query
+     *
+     * @return one position per account, book and security
+     */
+    @Query("select new com.nnk.springboot.repositories.TradePosition(t.account, t.book, t.security, count(t), "
+            + "coalesce(sum(t.buyQuantity), 0.0), coalesce(sum(t.sellQuantity), 0.0), "
+            + "coalesce(sum(t.buyQuantity * t.buyPrice), 0.0), coalesce(sum(t.sellQuantity * t.sellPrice), 0.0), "
+            + "coalesce(sum(case when t.buyPrice is not null then t.buyQuantity else 0.0 end), 0.0)"
+            + " + coalesce(sum(case when t.sellPrice is not null then t.sellQuantity else 0.0 end), 0.0)) "
+            + "from Trade t group by t.account, t.book, t.security")
+    List<TradePosition> findPositions();
+
+    /**
+     * Get one trade, projected on the given type
+     *
+     * @param tradeId the trade id
+     * @param type    the projection type
+     * @return the projection, empty if no trade has the id
+     */
+    <T> Optional<T> findProjectedByTradeId(Long tradeId, Class<T> type);
+
+    /**
+     * Delete the trades with the given ids in a single statement. The entity listeners are bypassed and the
+     * persistence context is cleared.
+     *
+     * @param ids the ids
+     * @return the number of deleted trades
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Trade t where t.tradeId in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Set the status of the trades with the given ids in a single statement, with their revision name and date,
+     * and increment their version. The entity listeners are bypassed and the persistence context is cleared.
+     *
+     * @param ids          the ids
+     * @param status       the new status
+     * @param revisionName the user making the change
+     * @param revisionDate the time of the change
+     * @return the number of updated trades
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Trade t set t.status = :status, t.revisionName = :revisionName,"
+            + " t.revisionDate = :revisionDate, t.version = t.version + 1 where t.tradeId in :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") String status,
+                           @Param("revisionName") String revisionName,
+                           @Param("revisionDate") LocalDateTime revisionDate);
 }
@@ -0,0 +1,46 @@
+package com.nnk.springboot.repositories;
+
+import com.nnk.springboot.domain.Trade;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Trade queries that cannot be expressed as derived or annotated repository methods.
+ */
+public interface TradeRepositoryCustom {
+
+    /**
+     * Stream every trade ordered by id through a forward-only JDBC cursor.
+     * The stream must be consumed and closed inside a transaction.
+     *
+     * @param fetchSize the number of rows the JDBC driver fetches per round trip
+     * @return the stream of read-only trades
+     */
+    Stream<Trade> streamAll(int fetchSize);
+
+    /**
+     * Get a page of the trades matching a specification, projected on a record whose components are trade
+     * attributes. The records are built by the query, no trade is loaded.
+     *
+     * @param specification the specification, null to match every trade
+     * @param pageable      the page request
+     * @param type          the record type
+     * @return the page of records, counted only when the page is full
+     */
+    <R extends Record> Page<R> findProjected(Specification<Trade> specification, Pageable pageable, Class<R> type);
+
+    /**
+     * Get the first trades matching a specification, in the order it sets, projected on a record whose components
+     * are trade attributes. The records are built by the query, no trade is loaded.
+     *
+     * @param specification the specification, null to match every trade
+     * @param limit         the maximum number of records
+     * @param type          the record type
+     * @return the records
+     */
+    <R extends Record> List<R> findProjected(Specification<Trade> specification, int limit, Class<R> type);
+}
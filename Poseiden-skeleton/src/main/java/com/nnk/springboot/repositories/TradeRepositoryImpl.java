@@ -0,0 +1,39 @@
+package com.nnk.springboot.repositories;
+
+import com.nnk.springboot.domain.Trade;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the custom trade queries, picked up by Spring Data as a fragment of {@link TradeRepository}.
+ */
+public class TradeRepositoryImpl implements TradeRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<Trade> streamAll(int fetchSize) {
+        return entityManager.createQuery("select t from Trade t order by t.tradeId", Trade.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public <R extends Record> Page<R> findProjected(Specification<Trade> specification, Pageable pageable, Class<R> type) {
+        return RecordProjections.page(entityManager, Trade.class, specification, pageable, type);
+    }
+
+    @Override
+    public <R extends Record> List<R> findProjected(Specification<Trade> specification, int limit, Class<R> type) {
+        return RecordProjections.list(entityManager, Trade.class, specification, limit, type);
+    }
+}
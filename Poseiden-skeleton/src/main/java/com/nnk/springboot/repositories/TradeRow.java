@@ -0,0 +1,8 @@
+package com.nnk.springboot.repositories;
+
+/**
+ * Projection of a trade as rendered by the trade list page, read without loading the entity; its version keys the
+ * cached rendering of the row
+ */
+public record TradeRow(Long tradeId, String account, String type, Double buyQuantity, Integer version) {
+}
@@ -0,0 +1,34 @@
+package com.nnk.springboot.repositories;
+
+import com.nnk.springboot.domain.Trade;
+
+/**
+ * Projection of a trade as exposed by the API
+ */
+public record TradeSummary(Long tradeId, String account, String type, Double buyQuantity, Double sellQuantity,
+                           Double buyPrice, Double sellPrice, String security, String status, String trader,
+                           String book, String side, Integer version) {
+
+    /**
+     * Project a trade already loaded, such as one just saved
+     *
+     * @param trade the trade
+     * @return the summary
+     */
+    public static TradeSummary of(Trade trade) {
+        return new TradeSummary(trade.getTradeId(), trade.getAccount(), trade.getType(), trade.getBuyQuantity(),
+                trade.getSellQuantity(), trade.getBuyPrice(), trade.getSellPrice(), trade.getSecurity(),
+                trade.getStatus(), trade.getTrader(), trade.getBook(), trade.getSide(), trade.getVersion());
+    }
+
+    /**
+     * Get the summary of the trade once its status is set by a bulk update, which increments its version
+     *
+     * @param newStatus the new status
+     * @return the updated summary
+     */
+    public TradeSummary withStatus(String newStatus) {
+        return new TradeSummary(tradeId, account, type, buyQuantity, sellQuantity, buyPrice, sellPrice, security,
+                newStatus, trader, book, side, version == null ? null : version + 1);
+    }
+}
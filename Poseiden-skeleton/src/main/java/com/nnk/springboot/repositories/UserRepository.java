@@ -3,10 +3,23 @@ package com.nnk.springboot.repositories;
 import com.nnk.springboot.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 
-public interface UserRepository extends JpaRepository<User, Integer>, JpaSpecificationExecutor<User> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
     User findByUsername(String username);
 
     boolean existsByUsername(String username);
+
+    /**
+     * Replace the password hash of a user, only if it is still the expected one
+     *
+     * @return the number of updated users, 0 when the password has changed in between
+     */
+    @Modifying
+    @Query("update User u set u.password = :newPassword where u.username = :username and u.password = :oldPassword")
+    int updatePassword(@Param("username") String username, @Param("oldPassword") String oldPassword,
+                       @Param("newPassword") String newPassword);
 }
@@ -0,0 +1,11 @@
+package com.nnk.springboot.security;
+
+import org.springframework.security.web.authentication.logout.LogoutHandler;
+import org.springframework.security.web.context.SecurityContextRepository;
+
+/**
+ * SecurityContextRepository keeping the login out of the HTTP session, in or behind a cookie: any instance can then
+ * serve the requests of a user. Its logout handler forgets the login and clears the cookie.
+ */
+public interface CookieSecurityContextRepository extends SecurityContextRepository, LogoutHandler {
+}
@@ -0,0 +1,49 @@
+package com.nnk.springboot.security;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SecurityContextStore held in the memory of the instance: the local stand-in of the shared store, for a single
+ * instance or the tests. Its contexts do not survive a restart.
+ */
+public class InMemorySecurityContextStore implements SecurityContextStore {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<Entry> read(String key) {
+        return Optional.ofNullable(entries.get(key));
+    }
+
+    @Override
+    public void write(String key, Entry entry) {
+        entries.put(key, entry);
+    }
+
+    @Override
+    public boolean renew(String key, Instant expiresAt) {
+        return entries.computeIfPresent(key, (k, entry) -> new Entry(entry.context(), expiresAt)) != null;
+    }
+
+    @Override
+    public void delete(String key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public int purgeExpired(Instant now, int batchSize) {
+        int purged = 0;
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (purged < batchSize && iterator.hasNext()) {
+            if (!iterator.next().expiresAt().isAfter(now)) {
+                iterator.remove();
+                purged++;
+            }
+        }
+        return purged;
+    }
+}
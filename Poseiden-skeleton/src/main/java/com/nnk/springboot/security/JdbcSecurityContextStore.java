@@ -0,0 +1,67 @@
+package com.nnk.springboot.security;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * SecurityContextStore in the security_context table of the application database. Each call is a single statement
+ * on its primary key, outside of any transaction; expired rows are purged by primary key, a batch at a time, so that
+ * the purge never holds many row locks at once.
+ */
+public class JdbcSecurityContextStore implements SecurityContextStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor of the store.
+     *
+     * @param jdbcTemplate The JdbcTemplate of the application database.
+     */
+    public JdbcSecurityContextStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<Entry> read(String key) {
+        return jdbcTemplate.query("SELECT context, expires_at FROM security_context WHERE session_key = ?",
+                        (rs, rowNum) -> new Entry(rs.getBytes(1), Instant.ofEpochMilli(rs.getLong(2))), key)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public void write(String key, Entry entry) {
+        long expiresAt = entry.expiresAt().toEpochMilli();
+        if (jdbcTemplate.update("UPDATE security_context SET context = ?, expires_at = ? WHERE session_key = ?",
+                entry.context(), expiresAt, key) == 0) {
+            jdbcTemplate.update("INSERT INTO security_context (session_key, context, expires_at) VALUES (?, ?, ?)",
+                    key, entry.context(), expiresAt);
+        }
+    }
+
+    @Override
+    public boolean renew(String key, Instant expiresAt) {
+        return jdbcTemplate.update("UPDATE security_context SET expires_at = ? WHERE session_key = ?",
+                expiresAt.toEpochMilli(), key) > 0;
+    }
+
+    @Override
+    public void delete(String key) {
+        jdbcTemplate.update("DELETE FROM security_context WHERE session_key = ?", key);
+    }
+
+    @Override
+    public int purgeExpired(Instant now, int batchSize) {
+        List<Object[]> keys = jdbcTemplate.query(
+                "SELECT session_key FROM security_context WHERE expires_at <= ? ORDER BY expires_at LIMIT ?",
+                (rs, rowNum) -> new Object[]{rs.getString(1)}, now.toEpochMilli(), batchSize);
+        if (!keys.isEmpty()) {
+            jdbcTemplate.batchUpdate("DELETE FROM security_context WHERE session_key = ? AND expires_at <= ?",
+                    keys.stream().map(key -> new Object[]{key[0], now.toEpochMilli()}).toList());
+        }
+        return keys.size();
+    }
+}
@@ -0,0 +1,82 @@
+package com.nnk.springboot.security;
+
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Factory of the password encoder and calibration of its BCrypt work factor.
+ */
+public final class PasswordHashing {
+
+    /**
+     * Id prefixed to the hashes written by the encoder, as in {bcrypt}$2a$10$...
+     */
+    public static final String BCRYPT = "bcrypt";
+
+    private static final int CALIBRATION_RUNS = 3;
+
+    private PasswordHashing() {
+    }
+
+    /**
+     * Creates the application password encoder. New hashes are BCrypt hashes of the given strength prefixed
+     * with their id. Hashes stored without prefix (written before the encoder was delegating) are still
+     * verified as BCrypt, and, like hashes of a lower strength, reported as needing an upgrade.
+     *
+     * @param strength The BCrypt log rounds, between 4 and 31.
+     * @return The password encoder.
+     */
+    public static PasswordEncoder createEncoder(int strength) {
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT,
+                Map.of(BCRYPT, new BCryptPasswordEncoder(strength)));
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return encoder;
+    }
+
+    /**
+     * Finds the highest BCrypt strength whose verification stays within a target latency on this machine.
+     * Each additional round doubles the cost, so a strength is only measured when twice the time of the
+     * previous one still fits the target.
+     *
+     * @param minStrength   The strength used even if it already exceeds the target.
+     * @param maxStrength   The strength never exceeded.
+     * @param targetLatency The verification latency aimed at.
+     * @return The calibrated strength.
+     */
+    public static int calibrate(int minStrength, int maxStrength, Duration targetLatency) {
+        long target = targetLatency.toNanos();
+        int strength = minStrength;
+        long elapsed = measure(strength).toNanos();
+        while (strength < maxStrength && elapsed * 2 <= target) {
+            long next = measure(strength + 1).toNanos();
+            if (next > target) {
+                break;
+            }
+            strength++;
+            elapsed = next;
+        }
+        return strength;
+    }
+
+    /**
+     * Measures the time of one BCrypt verification, best of a few runs.
+     *
+     * @param strength The BCrypt log rounds.
+     * @return The verification time.
+     */
+    public static Duration measure(int strength) {
+        String hash = BCrypt.hashpw("calibration", BCrypt.gensalt(strength));
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_RUNS; i++) {
+            long start = System.nanoTime();
+            BCrypt.checkpw("calibration", hash);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return Duration.ofNanos(best);
+    }
+}
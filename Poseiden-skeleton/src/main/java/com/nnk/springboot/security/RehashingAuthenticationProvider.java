@@ -0,0 +1,60 @@
+package com.nnk.springboot.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * DaoAuthenticationProvider upgrading outdated password hashes after a successful login.
+ * The stock provider re-encodes the password on the request thread, which doubles the BCrypt cost of that
+ * login; here the new hash is computed and stored on an executor, so the login answers right away.
+ */
+public class RehashingAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RehashingAuthenticationProvider.class);
+
+    private final UserDetailsPasswordService passwordService;
+    private final Executor executor;
+
+    /**
+     * Constructor of the provider.
+     *
+     * @param passwordService The service storing the upgraded hashes.
+     * @param executor        The executor computing the upgraded hashes.
+     */
+    public RehashingAuthenticationProvider(UserDetailsPasswordService passwordService, Executor executor) {
+        this.passwordService = passwordService;
+        this.executor = executor;
+    }
+
+    @Override
+    protected Authentication createSuccessAuthentication(Object principal, Authentication authentication,
+                                                         UserDetails user) {
+        if (user.getPassword() != null && getPasswordEncoder().upgradeEncoding(user.getPassword())) {
+            // Copies taken now: the credentials of the token and of the principal are erased once authenticated
+            UserDetails verified = User.withUserDetails(user).build();
+            String presentedPassword = authentication.getCredentials().toString();
+            try {
+                executor.execute(() -> rehash(verified, presentedPassword));
+            } catch (RejectedExecutionException e) {
+                LOGGER.debug("Password rehash of {} skipped, executor saturated", user.getUsername());
+            }
+        }
+        return super.createSuccessAuthentication(principal, authentication, user);
+    }
+
+    private void rehash(UserDetails user, String presentedPassword) {
+        try {
+            passwordService.updatePassword(user, getPasswordEncoder().encode(presentedPassword));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Password rehash of {} failed", user.getUsername(), e);
+        }
+    }
+}
@@ -1,19 +1,43 @@
 package com.nnk.springboot.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.context.SecurityContextHolderFilter;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
+import org.springframework.security.web.csrf.XorCsrfTokenRequestAttributeHandler;
+import org.springframework.security.web.savedrequest.CookieRequestCache;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 import static org.springframework.security.config.Customizer.withDefaults;
 
@@ -26,6 +50,11 @@ public class SecurityConfig {
 
     public static final String LOGIN = "/app/login";
 
+    /**
+     * The static resources, public and cached by the browsers and proxies
+     */
+    private static final String[] STATIC_RESOURCES = {"/static", "/css/**", "/js/**", "/images/**", "/fonts/**"};
+
     @Qualifier("userDetailsServiceImpl")
     @Autowired
     UserDetailsService userDetailsService;
@@ -51,18 +80,44 @@ public class SecurityConfig {
     }
 
     /**
-     * Configures security filters for HTTP requests.
+     * Configures security filters for the actuator endpoints, checked before the other requests. Health is
+     * public; the other endpoints, Prometheus scraping included, need an ADMIN user, authenticated with HTTP
+     * Basic or by a login session.
      *
      * @param http The HttpSecurity object to configure security settings.
      * @return The configured SecurityFilterChain.
      * @throws Exception If an error occurs during configuration.
      */
     @Bean
-    SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    @Order(1)
+    SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
+        http.securityMatcher(EndpointRequest.toAnyEndpoint())
+                .csrf(AbstractHttpConfigurer::disable)
+                .authorizeHttpRequests(requests -> requests
+                        .requestMatchers(EndpointRequest.to("health")).permitAll()
+                        .anyRequest().hasAuthority("ADMIN")
+                )
+                .httpBasic(withDefaults());
+
+        return http.build();
+    }
+
+    /**
+     * Configures security filters for HTTP requests. The login is kept in the HTTP session, or out of it in a
+     * signed token (security.mode=token) or in a shared store (security.mode=store).
+     *
+     * @param http             The HttpSecurity object to configure security settings.
+     * @param cookieRepository The SecurityContextRepository keeping the login out of the HTTP session, if any.
+     * @return The configured SecurityFilterChain.
+     * @throws Exception If an error occurs during configuration.
+     */
+    @Bean
+    SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                            ObjectProvider<CookieSecurityContextRepository> cookieRepository) throws Exception {
         http.cors(withDefaults())
-                .csrf(withDefaults())
                 .authorizeHttpRequests(requests -> requests
-                        .requestMatchers("/user/add", LOGIN, "/login", "/user/validate", "/static", "/css/**", "/js/**", "/images/**", "/fonts/**", "/error/**").permitAll()
+                        .requestMatchers("/user/add", LOGIN, "/login", "/user/validate", "/error/**").permitAll()
+                        .requestMatchers(STATIC_RESOURCES).permitAll()
                         .anyRequest().authenticated()
                 )
                 .formLogin(form -> form
@@ -78,45 +133,146 @@ public class SecurityConfig {
                                 .invalidateHttpSession(true)
                                 .deleteCookies("JSESSIONID")
                                 .permitAll()
+                )
+                // The API answers 401 to unauthenticated calls instead of redirecting to the login page
+                .exceptionHandling(exceptions -> exceptions
+                        .defaultAuthenticationEntryPointFor(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED),
+                                new AntPathRequestMatcher("/api/**"))
                 );
 
+        CookieSecurityContextRepository repository = cookieRepository.getIfAvailable();
+        if (repository == null) {
+            http.csrf(withDefaults());
+        } else {
+            // Nothing kept in the HTTP session: the login, the saved request and the CSRF token travel in cookies,
+            // so that any instance serves any request
+            http.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                    .securityContext(context -> context.securityContextRepository(repository))
+                    .requestCache(cache -> cache.requestCache(new CookieRequestCache()))
+                    .csrf(csrf -> csrf
+                            .csrfTokenRepository(new CookieCsrfTokenRepository())
+                            .csrfTokenRequestHandler(new XorCsrfTokenRequestAttributeHandler()))
+                    .logout(logout -> logout.addLogoutHandler(repository));
+            if (repository instanceof TokenSecurityContextRepository tokens) {
+                // API clients authenticate with a bearer token, which a cross-site request cannot carry
+                http.csrf(csrf -> csrf.ignoringRequestMatchers(TokenSecurityContextRepository.BEARER_REQUESTS));
+                RequestMatcher staticResources = new OrRequestMatcher(Arrays.stream(STATIC_RESOURCES)
+                        .<RequestMatcher>map(AntPathRequestMatcher::new).toList());
+                http.addFilterAfter(new TokenRenewalFilter(tokens, staticResources), SecurityContextHolderFilter.class);
+            }
+        }
+
         return http.build();
     }
 
     /**
-     * Creates a BCryptPasswordEncoder bean for password encoding.
+     * Creates the SecurityContextRepository of the stateless mode, security.mode=token, reading the authentication
+     * from signed tokens instead of the HTTP session.
+     *
+     * @param keys     The signing keys as kid:base64 secret, the first one signing the new tokens.
+     * @param ttl      The time to live of the tokens, renewed while the user is active.
+     * @param maxAge   The time after the login beyond which its tokens are no longer renewed.
+     * @param denyList The revoked tokens and users.
+     * @return The TokenSecurityContextRepository bean.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "security.mode", havingValue = "token")
+    TokenSecurityContextRepository tokenSecurityContextRepository(@Value("${security.token.keys:}") List<String> keys,
+                                                                  @Value("${security.token.ttl:15m}") Duration ttl,
+                                                                  @Value("${security.token.max-age:8h}") Duration maxAge,
+                                                                  TokenDenyList denyList) {
+        return new TokenSecurityContextRepository(new SignedTokens(keys, ttl, maxAge, denyList, Clock.systemUTC()),
+                userDetailsService);
+    }
+
+    /**
+     * Creates the SecurityContextRepository of the form login with a shared store, security.mode=store, keeping the
+     * security contexts in a SecurityContextStore instead of the HTTP session: a SecurityContextStore bean if one is
+     * defined, otherwise the store named by security.session.store, memory or jdbc.
+     *
+     * @param storeName      The store used without SecurityContextStore bean, memory or jdbc.
+     * @param timeout        The idle time after which a login expires.
+     * @param purgeInterval  The interval between two purges of the expired contexts.
+     * @param purgeBatchSize The most expired contexts removed at once.
+     * @param storeBean      The SecurityContextStore bean, if any.
+     * @param jdbcTemplate   The JdbcTemplate of the jdbc store.
+     * @param meterRegistry  The registry of the store call timers.
+     * @return The StoredSecurityContextRepository bean.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "security.mode", havingValue = "store")
+    StoredSecurityContextRepository storedSecurityContextRepository(@Value("${security.session.store:memory}") String storeName,
+                                                                    @Value("${security.session.timeout:30m}") Duration timeout,
+                                                                    @Value("${security.session.purge-interval:5m}") Duration purgeInterval,
+                                                                    @Value("${security.session.purge-batch-size:500}") int purgeBatchSize,
+                                                                    ObjectProvider<SecurityContextStore> storeBean,
+                                                                    JdbcTemplate jdbcTemplate,
+                                                                    MeterRegistry meterRegistry) {
+        SecurityContextStore store = storeBean.getIfAvailable();
+        if (store != null) {
+            storeName = "custom";
+        } else {
+            store = switch (storeName) {
+                case "memory" -> new InMemorySecurityContextStore();
+                case "jdbc" -> new JdbcSecurityContextStore(jdbcTemplate);
+                default -> throw new IllegalArgumentException("Unknown security.session.store: " + storeName);
+            };
+        }
+        return new StoredSecurityContextRepository(store, storeName, timeout, purgeInterval, purgeBatchSize,
+                meterRegistry, Clock.systemUTC());
+    }
+
+    /**
+     * Creates the password encoder. New hashes are BCrypt hashes prefixed with {bcrypt}, whose strength is
+     * calibrated at startup to the highest value verifying within the target latency, bounded by the
+     * configured minimum and maximum strengths. A target latency of zero disables the calibration.
      *
-     * @return The BCryptPasswordEncoder bean.
+     * @param minStrength   The BCrypt strength used at least.
+     * @param maxStrength   The BCrypt strength used at most.
+     * @param targetLatency The verification latency aimed at by the calibration.
+     * @return The PasswordEncoder bean.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt.min-strength:10}") int minStrength,
+                                           @Value("${security.password.bcrypt.max-strength:14}") int maxStrength,
+                                           @Value("${security.password.bcrypt.target-latency:0ms}") Duration targetLatency) {
+        int strength = targetLatency.isZero()
+                ? minStrength
+                : PasswordHashing.calibrate(minStrength, maxStrength, targetLatency);
+        return PasswordHashing.createEncoder(strength);
     }
 
     /**
-     * Creates a DaoAuthenticationProvider bean for authentication.
+     * Creates a DaoAuthenticationProvider bean for authentication. Hashes of an outdated strength are
+     * upgraded after a successful login, in the background.
      *
+     * @param passwordEncoder The password encoder.
+     * @param passwordService The service storing the upgraded hashes.
+     * @param executor        The executor computing the upgraded hashes.
      * @return The DaoAuthenticationProvider bean.
      */
     @Bean
-    public DaoAuthenticationProvider authProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
+    public DaoAuthenticationProvider authProvider(PasswordEncoder passwordEncoder,
+                                                  UserDetailsPasswordService passwordService,
+                                                  @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor executor) {
+        DaoAuthenticationProvider authProvider = new RehashingAuthenticationProvider(passwordService, executor);
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
     /**
      * Creates an AuthenticationManager bean for authentication.
      *
-     * @param http The HttpSecurity object to configure authentication.
+     * @param http         The HttpSecurity object to configure authentication.
+     * @param authProvider The DaoAuthenticationProvider bean.
      * @return The AuthenticationManager bean.
      * @throws Exception If an error occurs during configuration.
      */
     @Bean
-    public AuthenticationManager authManager(HttpSecurity http) throws Exception {
+    public AuthenticationManager authManager(HttpSecurity http, DaoAuthenticationProvider authProvider) throws Exception {
         return http.getSharedObject(AuthenticationManagerBuilder.class)
-                .authenticationProvider(authProvider())
+                .authenticationProvider(authProvider)
                 .build();
     }
 }
@@ -0,0 +1,90 @@
+package com.nnk.springboot.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary encoding of the security contexts kept in a SecurityContextStore. Only what the application reads from the
+ * authentication is kept: a format version byte, the username, then the number of authorities and each of them, as
+ * modified UTF-8 strings. A context is a few tens of bytes, where its Java serialization takes over a kilobyte and
+ * depends on the classes of the Spring Security version.
+ */
+public final class SecurityContextCodec {
+
+    private static final int VERSION = 1;
+    private static final int MAX_AUTHORITIES = 255;
+
+    private SecurityContextCodec() {
+    }
+
+    /**
+     * Encode the authentication of a security context
+     *
+     * @param context an authenticated context
+     * @return the encoded context
+     */
+    public static byte[] encode(SecurityContext context) {
+        Authentication authentication = context.getAuthentication();
+        List<String> authorities = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+        if (authorities.size() > MAX_AUTHORITIES) {
+            throw new IllegalArgumentException("More than " + MAX_AUTHORITIES + " authorities");
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeUTF(authentication.getName());
+            out.writeByte(authorities.size());
+            for (String authority : authorities) {
+                out.writeUTF(authority);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode a security context
+     *
+     * @param encoded the encoded context
+     * @return the context, authenticated as the user it was encoded for, with a User principal without password
+     * @throws IllegalArgumentException if the bytes are not an encoded context of a known version
+     */
+    public static SecurityContext decode(byte[] encoded) {
+        String username;
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded))) {
+            int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unknown security context version " + version);
+            }
+            username = in.readUTF();
+            int count = in.readUnsignedByte();
+            for (int i = 0; i < count; i++) {
+                authorities.add(new SimpleGrantedAuthority(in.readUTF()));
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Truncated security context", e);
+        }
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                new User(username, "", authorities), null, authorities));
+        return context;
+    }
+}
@@ -0,0 +1,62 @@
+package com.nnk.springboot.security;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Store of the encoded security contexts of the logged in users, by session key, shared by the instances so that
+ * a login survives restarts and is served by any of them.
+ */
+public interface SecurityContextStore {
+
+    /**
+     * A stored security context
+     *
+     * @param context   the context, as encoded by SecurityContextCodec
+     * @param expiresAt the time after which the context is no longer valid
+     */
+    record Entry(byte[] context, Instant expiresAt) {
+    }
+
+    /**
+     * Get a security context
+     *
+     * @param key the session key
+     * @return the stored entry, empty if there is none; it may have expired
+     */
+    Optional<Entry> read(String key);
+
+    /**
+     * Store or replace a security context
+     *
+     * @param key   the session key
+     * @param entry the entry to store
+     */
+    void write(String key, Entry entry);
+
+    /**
+     * Push back the expiry of a stored security context, leaving the store unchanged if the context has been
+     * removed meanwhile: a renewal racing a logout never brings the context back
+     *
+     * @param key       the session key
+     * @param expiresAt the new expiry time
+     * @return true if the context was still stored and has been renewed
+     */
+    boolean renew(String key, Instant expiresAt);
+
+    /**
+     * Remove a security context
+     *
+     * @param key the session key
+     */
+    void delete(String key);
+
+    /**
+     * Remove expired security contexts
+     *
+     * @param now       the current time
+     * @param batchSize the most contexts to remove
+     * @return the number of contexts removed, batchSize if there may be more
+     */
+    int purgeExpired(Instant now, int batchSize);
+}
@@ -0,0 +1,222 @@
+package com.nnk.springboot.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.GrantedAuthority;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues and verifies the signed tokens of the stateless mode. A token is {@code kid.payload.signature}: the id of
+ * the signing key, the claims as base64url JSON and their HMAC-SHA256 signature. Tokens are signed with the first
+ * configured key and verified with any of them, so a key is rotated by putting the new one first and removing the
+ * old one once the tokens it signed have expired. Verifying only takes the keys and the deny-list: no database lookup.
+ * Tokens are short-lived and renewed while in use, up to the maximum age of their login.
+ */
+public class SignedTokens {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SignedTokens.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_KEY_LENGTH = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * The claims carried by a token
+     *
+     * @param jti the token id, the one revoked on logout, kept by the renewals of the token
+     * @param sub the username
+     * @param auth the authorities of the user when the token was issued
+     * @param iat the issue time, in epoch milliseconds
+     * @param exp the expiry time, in epoch milliseconds
+     * @param login the time of the login the token was first issued for, in epoch milliseconds
+     */
+    public record Claims(String jti, String sub, List<String> auth, long iat, long exp, long login) {
+
+        public Instant issuedAt() {
+            return Instant.ofEpochMilli(iat);
+        }
+
+        public Instant expiresAt() {
+            return Instant.ofEpochMilli(exp);
+        }
+
+        public Instant loginAt() {
+            return Instant.ofEpochMilli(login);
+        }
+    }
+
+    private final Map<String, SecretKeySpec> keys = new LinkedHashMap<>();
+    private final String signingKeyId;
+    private final Duration ttl;
+    private final Duration maxAge;
+    private final TokenDenyList denyList;
+    private final Clock clock;
+
+    /**
+     * Constructor of the tokens.
+     *
+     * @param keys     The keys as {@code kid:base64 secret} of at least 32 bytes, the first one signing. A random key is
+     *                 generated if there are none, the tokens then being valid on this instance only until it restarts.
+     * @param ttl      The time to live of the tokens.
+     * @param maxAge   The time after the login beyond which its tokens are no longer renewed.
+     * @param denyList The revoked tokens and users.
+     * @param clock    The clock of the issue and expiry times.
+     */
+    public SignedTokens(List<String> keys, Duration ttl, Duration maxAge, TokenDenyList denyList, Clock clock) {
+        for (String key : keys) {
+            int separator = key.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Token key not in the kid:base64 format");
+            }
+            byte[] secret = Base64.getDecoder().decode(key.substring(separator + 1).trim());
+            if (secret.length < MIN_KEY_LENGTH) {
+                throw new IllegalArgumentException("Token key " + key.substring(0, separator) + " shorter than "
+                        + MIN_KEY_LENGTH + " bytes");
+            }
+            this.keys.put(key.substring(0, separator).trim(), new SecretKeySpec(secret, ALGORITHM));
+        }
+        if (this.keys.isEmpty()) {
+            LOGGER.warn("No security.token.keys configured: tokens signed with a random key, valid on this instance only");
+            byte[] secret = new byte[MIN_KEY_LENGTH];
+            new SecureRandom().nextBytes(secret);
+            this.keys.put("local", new SecretKeySpec(secret, ALGORITHM));
+        }
+        this.signingKeyId = this.keys.keySet().iterator().next();
+        this.ttl = ttl;
+        this.maxAge = maxAge;
+        this.denyList = denyList;
+        this.clock = clock;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Issue a token
+     *
+     * @param username    the username
+     * @param authorities the authorities of the user
+     * @return the signed token
+     */
+    public String issue(String username, Collection<? extends GrantedAuthority> authorities) {
+        Instant now = clock.instant();
+        return encode(new Claims(UUID.randomUUID().toString(), username,
+                authorities.stream().map(GrantedAuthority::getAuthority).toList(),
+                now.toEpochMilli(), expiry(now, now).toEpochMilli(), now.toEpochMilli()));
+    }
+
+    /**
+     * Tell whether a token is due for renewal: past half its time to live, and its login below its maximum age
+     *
+     * @param claims the claims of a verified token
+     * @return true if a renewed token would expire later
+     */
+    public boolean isDueForRenewal(Claims claims) {
+        Instant now = clock.instant();
+        return !now.isBefore(claims.issuedAt().plus(ttl.dividedBy(2)))
+                && expiry(claims.loginAt(), now).isAfter(claims.expiresAt());
+    }
+
+    /**
+     * Renew a token: the new token is for the same login, with the same id, so that revoking either revokes both
+     *
+     * @param claims      the claims of a verified token
+     * @param authorities the current authorities of the user
+     * @return the renewed token, expiring at most the maximum age after the login
+     */
+    public String renew(Claims claims, Collection<? extends GrantedAuthority> authorities) {
+        Instant now = clock.instant();
+        return encode(new Claims(claims.jti(), claims.sub(),
+                authorities.stream().map(GrantedAuthority::getAuthority).toList(),
+                now.toEpochMilli(), expiry(claims.loginAt(), now).toEpochMilli(), claims.login()));
+    }
+
+    private Instant expiry(Instant login, Instant now) {
+        Instant end = login.plus(maxAge);
+        return now.plus(ttl).isBefore(end) ? now.plus(ttl) : end;
+    }
+
+    private String encode(Claims claims) {
+        String payload;
+        try {
+            payload = ENCODER.encodeToString(MAPPER.writeValueAsBytes(claims));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        String signed = signingKeyId + "." + payload;
+        return signed + "." + ENCODER.encodeToString(sign(keys.get(signingKeyId), signed));
+    }
+
+    /**
+     * Verify a token
+     *
+     * @param token the token
+     * @return its claims, empty if it is malformed, signed with an unknown key, forged, expired or revoked
+     */
+    public Optional<Claims> verify(String token) {
+        int first = token.indexOf('.');
+        int last = token.lastIndexOf('.');
+        if (first <= 0 || last == first) {
+            return Optional.empty();
+        }
+        SecretKeySpec key = keys.get(token.substring(0, first));
+        if (key == null) {
+            return Optional.empty();
+        }
+        Claims claims;
+        try {
+            byte[] signature = DECODER.decode(token.substring(last + 1));
+            if (!MessageDigest.isEqual(signature, sign(key, token.substring(0, last)))) {
+                return Optional.empty();
+            }
+            claims = MAPPER.readValue(DECODER.decode(token.substring(first + 1, last)), Claims.class);
+        } catch (IllegalArgumentException | IOException e) {
+            return Optional.empty();
+        }
+        if (!clock.instant().isBefore(claims.expiresAt()) || denyList.isRevoked(claims)) {
+            return Optional.empty();
+        }
+        return Optional.of(claims);
+    }
+
+    /**
+     * Revoke a token and its renewals until they expire
+     *
+     * @param claims the claims of the token
+     */
+    public void revoke(Claims claims) {
+        Instant lastExpiry = claims.loginAt().plus(maxAge);
+        denyList.revokeToken(claims.jti(), lastExpiry.isAfter(claims.expiresAt()) ? lastExpiry : claims.expiresAt());
+    }
+
+    private static byte[] sign(SecretKeySpec key, String content) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(content.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
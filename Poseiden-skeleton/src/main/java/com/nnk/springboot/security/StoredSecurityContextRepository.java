@@ -0,0 +1,268 @@
+package com.nnk.springboot.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.DeferredSecurityContext;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.HttpRequestResponseHolder;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * SecurityContextRepository of the form login keeping the security contexts in a SecurityContextStore instead of the
+ * HTTP session. The browser holds a random session id in a cookie; the store only knows its SHA-256 digest, with the
+ * encoded context and its expiry. A context expires after the idle timeout, pushed back when a request comes in the
+ * second half of it, so that an active user only causes a write every half timeout. Expired contexts are purged in
+ * batches by a background thread. The store calls are timed by poseidon.session.store, by operation.
+ */
+public class StoredSecurityContextRepository implements CookieSecurityContextRepository, AutoCloseable {
+
+    public static final String COOKIE = "POSEIDON_SESSION";
+    private static final Logger LOGGER = LoggerFactory.getLogger(StoredSecurityContextRepository.class);
+    private static final String LOADED_AUTHENTICATION = StoredSecurityContextRepository.class.getName() + ".LOADED";
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final SecurityContextStore store;
+    private final Duration timeout;
+    private final int purgeBatchSize;
+    private final Clock clock;
+    private final Timer readTimer;
+    private final Timer writeTimer;
+    private final Timer renewTimer;
+    private final Timer deleteTimer;
+    private final Timer purgeTimer;
+    private final ScheduledExecutorService purger;
+
+    /**
+     * Constructor of the repository.
+     *
+     * @param store          The store of the security contexts.
+     * @param storeName      The name of the store in the metrics, memory or jdbc.
+     * @param timeout        The idle time after which a login expires.
+     * @param purgeInterval  The interval between two purges of the expired contexts, zero for none.
+     * @param purgeBatchSize The most expired contexts removed by one store call.
+     * @param meterRegistry  The registry of the store call timers.
+     * @param clock          The clock of the expiry times.
+     */
+    public StoredSecurityContextRepository(SecurityContextStore store, String storeName, Duration timeout,
+                                           Duration purgeInterval, int purgeBatchSize, MeterRegistry meterRegistry,
+                                           Clock clock) {
+        this.store = store;
+        this.timeout = timeout;
+        this.purgeBatchSize = purgeBatchSize;
+        this.clock = clock;
+        this.readTimer = timer(meterRegistry, storeName, "read");
+        this.writeTimer = timer(meterRegistry, storeName, "write");
+        this.renewTimer = timer(meterRegistry, storeName, "renew");
+        this.deleteTimer = timer(meterRegistry, storeName, "delete");
+        this.purgeTimer = timer(meterRegistry, storeName, "purge");
+        if (purgeInterval.isZero()) {
+            this.purger = null;
+        } else {
+            this.purger = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("session-purge").daemon().factory());
+            this.purger.scheduleWithFixedDelay(this::purgeInBackground, purgeInterval.toMillis(),
+                    purgeInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String storeName, String operation) {
+        return Timer.builder("poseidon.session.store")
+                .description("Security context store calls")
+                .tag("store", storeName)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public DeferredSecurityContext loadDeferredContext(HttpServletRequest request) {
+        Supplier<Optional<SecurityContext>> stored = SingletonSupplier.of(() -> load(request));
+        return new DeferredSecurityContext() {
+            @Override
+            public SecurityContext get() {
+                return stored.get().orElseGet(SecurityContextHolder::createEmptyContext);
+            }
+
+            @Override
+            public boolean isGenerated() {
+                return stored.get().isEmpty();
+            }
+        };
+    }
+
+    @Override
+    @Deprecated
+    public SecurityContext loadContext(HttpRequestResponseHolder requestResponseHolder) {
+        return loadDeferredContext(requestResponseHolder.getRequest()).get();
+    }
+
+    /**
+     * Store the context of a login under a new session id, replacing the previous one if any, or remove the stored
+     * context when it is cleared. The context loaded for the request is not stored again.
+     */
+    @Override
+    public void saveContext(SecurityContext context, HttpServletRequest request, HttpServletResponse response) {
+        Authentication authentication = context.getAuthentication();
+        if (authentication != null && authentication == request.getAttribute(LOADED_AUTHENTICATION)) {
+            return;
+        }
+        String previous = sessionId(request);
+        if (previous != null) {
+            deleteTimer.record(() -> store.delete(key(previous)));
+        }
+        if (authentication == null || !authentication.isAuthenticated()) {
+            if (previous != null) {
+                response.addHeader(HttpHeaders.SET_COOKIE, cookie(request, "", Duration.ZERO).toString());
+            }
+            return;
+        }
+        byte[] id = new byte[32];
+        RANDOM.nextBytes(id);
+        String sessionId = ENCODER.encodeToString(id);
+        SecurityContextStore.Entry entry = new SecurityContextStore.Entry(SecurityContextCodec.encode(context),
+                clock.instant().plus(timeout));
+        writeTimer.record(() -> store.write(key(sessionId), entry));
+        request.setAttribute(LOADED_AUTHENTICATION, authentication);
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie(request, sessionId, null).toString());
+    }
+
+    @Override
+    public boolean containsContext(HttpServletRequest request) {
+        return load(request).isPresent();
+    }
+
+    /**
+     * Remove the stored context of the request and clear the cookie.
+     */
+    @Override
+    public void logout(HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
+        String sessionId = sessionId(request);
+        if (sessionId != null) {
+            deleteTimer.record(() -> store.delete(key(sessionId)));
+        }
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie(request, "", Duration.ZERO).toString());
+    }
+
+    /**
+     * Remove the expired contexts, a batch at a time
+     *
+     * @return the number of contexts removed
+     */
+    public int purgeExpired() {
+        Instant now = clock.instant();
+        int total = 0;
+        int purged;
+        do {
+            purged = purgeTimer.record(() -> store.purgeExpired(now, purgeBatchSize));
+            total += purged;
+        } while (purged == purgeBatchSize);
+        return total;
+    }
+
+    @Override
+    public void close() {
+        if (purger != null) {
+            purger.shutdownNow();
+        }
+    }
+
+    private void purgeInBackground() {
+        try {
+            int purged = purgeExpired();
+            LOGGER.debug("{} expired security contexts purged", purged);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Purge of the expired security contexts failed", e);
+        }
+    }
+
+    private Optional<SecurityContext> load(HttpServletRequest request) {
+        String sessionId = sessionId(request);
+        if (sessionId == null) {
+            return Optional.empty();
+        }
+        String key = key(sessionId);
+        Optional<SecurityContextStore.Entry> entry = readTimer.record(() -> store.read(key));
+        Instant now = clock.instant();
+        if (entry.isEmpty() || !entry.get().expiresAt().isAfter(now)) {
+            return Optional.empty();
+        }
+        SecurityContext context;
+        try {
+            context = SecurityContextCodec.decode(entry.get().context());
+        } catch (IllegalArgumentException e) {
+            LOGGER.debug("Unreadable stored security context ignored", e);
+            return Optional.empty();
+        }
+        if (entry.get().expiresAt().isBefore(now.plus(timeout.dividedBy(2)))) {
+            Instant expiresAt = now.plus(timeout);
+            if (!renewTimer.record(() -> store.renew(key, expiresAt))) {
+                // logged out since it was read
+                return Optional.empty();
+            }
+        }
+        request.setAttribute(LOADED_AUTHENTICATION, context.getAuthentication());
+        return Optional.of(context);
+    }
+
+    private static String sessionId(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE.equals(cookie.getName()) && !cookie.getValue().isEmpty()) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the store key of a session id, its digest: the ids cannot be read back from the store
+     */
+    private static String key(String sessionId) {
+        try {
+            return ENCODER.encodeToString(MessageDigest.getInstance("SHA-256")
+                    .digest(sessionId.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Build the session cookie, without Max-Age unless it is cleared: the stored context carries the expiry
+     */
+    private static ResponseCookie cookie(HttpServletRequest request, String value, Duration maxAge) {
+        ResponseCookie.ResponseCookieBuilder cookie = ResponseCookie.from(COOKIE, value)
+                .httpOnly(true)
+                .secure(request.isSecure())
+                .sameSite("Lax")
+                .path("/");
+        if (maxAge != null) {
+            cookie.maxAge(maxAge);
+        }
+        return cookie.build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.nnk.springboot.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory deny-list of the signed tokens: the tokens revoked on logout, until they and their renewals expire, and
+ * the users whose tokens of a login before a change of their account are no longer accepted, for the maximum age of
+ * a login. It only holds the revocations of this instance, within the lifetime of the logins, so it stays small.
+ */
+@Component
+public class TokenDenyList {
+
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<String, Instant> revokedUsers = new ConcurrentHashMap<>();
+    private final Duration maxAge;
+    private final Clock clock;
+
+    @Autowired
+    public TokenDenyList(@Value("${security.token.max-age:8h}") Duration maxAge) {
+        this(maxAge, Clock.systemUTC());
+    }
+
+    public TokenDenyList(Duration maxAge, Clock clock) {
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    /**
+     * Revoke a token
+     *
+     * @param tokenId   the id of the token
+     * @param expiresAt the last expiry time of the token and its renewals, after which it no longer needs to be listed
+     */
+    public void revokeToken(String tokenId, Instant expiresAt) {
+        purge();
+        revokedTokens.put(tokenId, expiresAt);
+    }
+
+    /**
+     * Revoke the tokens of the logins of a user so far, to be called whenever the user is changed or deleted
+     *
+     * @param username the username of the changed user
+     */
+    public void revokeUser(String username) {
+        purge();
+        revokedUsers.put(username, clock.instant());
+    }
+
+    /**
+     * Tell whether a token is revoked
+     *
+     * @param claims the claims of the token
+     * @return true if the token, or the tokens of its user logged in before it, were revoked
+     */
+    public boolean isRevoked(SignedTokens.Claims claims) {
+        if (revokedTokens.containsKey(claims.jti())) {
+            return true;
+        }
+        Instant userRevokedAt = revokedUsers.get(claims.sub());
+        return userRevokedAt != null && !claims.loginAt().isAfter(userRevokedAt);
+    }
+
+    /**
+     * Forget the revocations of the tokens which have expired anyway
+     */
+    private void purge() {
+        Instant now = clock.instant();
+        revokedTokens.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        revokedUsers.values().removeIf(revokedAt -> !revokedAt.plus(maxAge).isAfter(now));
+    }
+}
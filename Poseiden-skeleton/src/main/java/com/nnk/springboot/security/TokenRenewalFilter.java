@@ -0,0 +1,43 @@
+package com.nnk.springboot.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Filter of the stateless mode renewing the token cookie of the requests of an active user, before they are handled.
+ * The publicly cached responses, the static resources, are skipped: a shared cache must never keep a token.
+ */
+public class TokenRenewalFilter extends OncePerRequestFilter {
+
+    private final TokenSecurityContextRepository repository;
+    private final RequestMatcher skipped;
+
+    /**
+     * Constructor of the filter.
+     *
+     * @param repository The repository issuing the token cookies.
+     * @param skipped    The requests whose cookie is never renewed.
+     */
+    public TokenRenewalFilter(TokenSecurityContextRepository repository, RequestMatcher skipped) {
+        this.repository = repository;
+        this.skipped = skipped;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return skipped.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        repository.renewCookie(request, response);
+        filterChain.doFilter(request, response);
+    }
+}
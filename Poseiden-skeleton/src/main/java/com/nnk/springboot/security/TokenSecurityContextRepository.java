@@ -0,0 +1,181 @@
+package com.nnk.springboot.security;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.DeferredSecurityContext;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.web.context.HttpRequestResponseHolder;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * SecurityContextRepository of the stateless mode: the authentication is read from the signed token of the request,
+ * sent in the token cookie by browsers or as a bearer token by API clients, instead of from an HTTP session. A login
+ * is saved by issuing the token cookie, which is re-issued while the user is active; a logout revokes the token and
+ * clears the cookie.
+ */
+public class TokenSecurityContextRepository implements CookieSecurityContextRepository {
+
+    public static final String COOKIE = "POSEIDON_TOKEN";
+    private static final String BEARER = "Bearer ";
+
+    /**
+     * Matches the requests carrying a bearer token, which authenticates them instead of the token cookie. A browser
+     * never adds it on its own, so these requests need no CSRF protection.
+     */
+    public static final RequestMatcher BEARER_REQUESTS = request -> {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        return header != null && header.startsWith(BEARER);
+    };
+
+    private final SignedTokens signedTokens;
+    private final UserDetailsService userDetailsService;
+
+    /**
+     * Constructor of the repository.
+     *
+     * @param signedTokens       The tokens issuer and verifier.
+     * @param userDetailsService The service loading the current authorities of the users whose tokens are renewed.
+     */
+    public TokenSecurityContextRepository(SignedTokens signedTokens, UserDetailsService userDetailsService) {
+        this.signedTokens = signedTokens;
+        this.userDetailsService = userDetailsService;
+    }
+
+    @Override
+    public DeferredSecurityContext loadDeferredContext(HttpServletRequest request) {
+        Supplier<Optional<SignedTokens.Claims>> claims = SingletonSupplier.of(() -> verifiedClaims(request));
+        return new DeferredSecurityContext() {
+            @Override
+            public SecurityContext get() {
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                claims.get().ifPresent(verified -> context.setAuthentication(authentication(verified)));
+                return context;
+            }
+
+            @Override
+            public boolean isGenerated() {
+                return claims.get().isEmpty();
+            }
+        };
+    }
+
+    @Override
+    @Deprecated
+    public SecurityContext loadContext(HttpRequestResponseHolder requestResponseHolder) {
+        return loadDeferredContext(requestResponseHolder.getRequest()).get();
+    }
+
+    /**
+     * Issue the token cookie after a login. An authentication read from a token is not saved again: its cookie is
+     * renewed by renewCookie instead.
+     */
+    @Override
+    public void saveContext(SecurityContext context, HttpServletRequest request, HttpServletResponse response) {
+        Authentication authentication = context.getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication.getCredentials() instanceof SignedTokens.Claims) {
+            return;
+        }
+        String token = signedTokens.issue(authentication.getName(), authentication.getAuthorities());
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie(request, token, signedTokens.getTtl()).toString());
+    }
+
+    @Override
+    public boolean containsContext(HttpServletRequest request) {
+        return verifiedClaims(request).isPresent();
+    }
+
+    /**
+     * Revoke the token of the request and clear the cookie.
+     */
+    @Override
+    public void logout(HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
+        verifiedClaims(request).ifPresent(signedTokens::revoke);
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie(request, "", Duration.ZERO).toString());
+    }
+
+    /**
+     * Re-issue the token cookie of the request once past half its time to live, so that an active user stays logged
+     * in with short-lived tokens. The renewed token carries the current authorities of the user, and a deleted user
+     * gets none: a change of the user reaches every instance within a time to live. Bearer tokens are left as they
+     * are, their clients logging in again.
+     *
+     * @param request  the request
+     * @param response the response, given the renewed cookie
+     */
+    public void renewCookie(HttpServletRequest request, HttpServletResponse response) {
+        if (BEARER_REQUESTS.matches(request)) {
+            return;
+        }
+        Optional<SignedTokens.Claims> claims = verifiedClaims(request).filter(signedTokens::isDueForRenewal);
+        if (claims.isEmpty()) {
+            return;
+        }
+        UserDetails user;
+        try {
+            user = userDetailsService.loadUserByUsername(claims.get().sub());
+        } catch (UsernameNotFoundException e) {
+            return;
+        }
+        String renewed = signedTokens.renew(claims.get(), user.getAuthorities());
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie(request, renewed, signedTokens.getTtl()).toString());
+    }
+
+    private Optional<SignedTokens.Claims> verifiedClaims(HttpServletRequest request) {
+        String token = token(request);
+        return token == null ? Optional.empty() : signedTokens.verify(token);
+    }
+
+    private static String token(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER)) {
+            return header.substring(BEARER.length()).trim();
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE.equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Build the authentication of a verified token from its claims alone, the claims standing as its credentials.
+     */
+    private static Authentication authentication(SignedTokens.Claims claims) {
+        List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList(claims.auth());
+        return UsernamePasswordAuthenticationToken.authenticated(new User(claims.sub(), "", authorities), claims,
+                authorities);
+    }
+
+    private static ResponseCookie cookie(HttpServletRequest request, String token, Duration maxAge) {
+        return ResponseCookie.from(COOKIE, token)
+                .httpOnly(true)
+                .secure(request.isSecure())
+                .sameSite("Lax")
+                .path("/")
+                .maxAge(maxAge)
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package com.nnk.springboot.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Hibernate listener recording every insert, update and delete of an entity in the audit trail, with the values
+ * that changed. It runs when the statement is executed, inside the transaction, so the AuditService only keeps
+ * the entries of the transactions that commit. Bulk queries bypass it: their services audit the deleted entities
+ * through {@link #recordDeleted(Collection)}, with the same values.
+ */
+@Component
+public class AuditEntityListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    /**
+     * Properties whose values are never written to the audit trail, only the fact that they changed
+     */
+    private static final Set<String> MASKED_PROPERTIES = Set.of("password");
+
+    private static final String MASK = "******";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final AuditService auditService;
+
+    @Autowired
+    public AuditEntityListener(EntityManagerFactory entityManagerFactory, AuditService auditService) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.auditService = auditService;
+    }
+
+    /**
+     * Register the listener with the Hibernate session factory
+     */
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        record(event.getPersister(), event.getId(), AuditService.Action.CREATE, null, event.getState());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        record(event.getPersister(), event.getId(), AuditService.Action.UPDATE, event.getOldState(), event.getState());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        record(event.getPersister(), event.getId(), AuditService.Action.DELETE, event.getDeletedState(), null);
+    }
+
+    /**
+     * Record the deletion of entities removed by a bulk query, with all their values as for a single delete
+     *
+     * @param entities the entities, loaded before the query
+     */
+    public void recordDeleted(Collection<?> entities) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        for (Object entity : entities) {
+            EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(entity.getClass());
+            record(persister, sessionFactory.getPersistenceUnitUtil().getIdentifier(entity), AuditService.Action.DELETE,
+                    persister.getValues(entity), null);
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void record(EntityPersister persister, Object id, AuditService.Action action, Object[] before, Object[] after) {
+        Map<String, Object[]> changes = new LinkedHashMap<>();
+        String[] properties = persister.getPropertyNames();
+        boolean[] updatable = persister.getPropertyUpdateability();
+        for (int i = 0; i < properties.length; i++) {
+            if (action == AuditService.Action.UPDATE && !updatable[i]) {
+                continue;
+            }
+            Object oldValue = before == null ? null : before[i];
+            Object newValue = after == null ? null : after[i];
+            if (!Objects.equals(oldValue, newValue)) {
+                changes.put(properties[i], MASKED_PROPERTIES.contains(properties[i])
+                        ? new Object[]{oldValue == null ? null : MASK, newValue == null ? null : MASK}
+                        : new Object[]{auditValue(oldValue), auditValue(newValue)});
+            }
+        }
+        if (action != AuditService.Action.UPDATE || !changes.isEmpty()) {
+            auditService.record(persister.getMappedClass().getSimpleName(), id, action, changes);
+        }
+    }
+
+    /**
+     * Keep the values JSON represents as such, and the text of any other
+     */
+    private static Object auditValue(Object value) {
+        return value == null || value instanceof String || value instanceof Number || value instanceof Boolean
+                ? value
+                : value.toString();
+    }
+}
@@ -0,0 +1,267 @@
+package com.nnk.springboot.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.domain.AuditEvent;
+import com.nnk.springboot.repositories.AuditEventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind audit trail. Changes recorded in a transaction are held until it commits, and dropped if it rolls back;
+ * they are then put in a bounded queue, which a single writer thread drains into the audit_event table with JDBC
+ * batches: while a batch is written the next changes accumulate, so batches grow with the load and the request path
+ * never waits for the database. When the queue is full, committing threads wait for room rather than lose entries.
+ * A batch that keeps failing is written one entry at a time, and the entries the database rejects are logged and
+ * dropped, so that one bad entry cannot stop the audit trail.
+ */
+@Service
+public class AuditService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditService.class);
+
+    private static final String INSERT_SQL = "INSERT INTO audit_event (entity_type, entity_id, action, username, occurred_at, changes)"
+            + " VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Number of times a batch is written before its entries are written one at a time
+     */
+    private static final int MAX_BATCH_ATTEMPTS = 3;
+
+    /**
+     * Name recorded for the changes made while nobody is logged in, such as by startup or background tasks
+     */
+    public static final String SYSTEM_USER = "system";
+
+    public enum Action {
+        CREATE, UPDATE, DELETE
+    }
+
+    /**
+     * One audited change
+     *
+     * @param entityType the entity class simple name
+     * @param entityId   the entity id
+     * @param action     the action
+     * @param username   the user who made the change
+     * @param occurredAt the time of the change
+     * @param changes    the changed values by property name, each an array of the value before and the value after
+     */
+    public record AuditEntry(String entityType, String entityId, Action action, String username, Instant occurredAt,
+                             Map<String, Object[]> changes) {
+    }
+
+    /**
+     * The entries of a transaction, registered as one of its synchronizations
+     */
+    private class PendingEntries implements TransactionSynchronization {
+
+        private final List<AuditEntry> entries = new ArrayList<>();
+
+        private AuditService owner() {
+            return AuditService.this;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status == STATUS_COMMITTED) {
+                entries.forEach(AuditService.this::enqueue);
+            }
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditEventRepository auditEventRepository;
+    private final UserService userService;
+    private final BlockingQueue<AuditEntry> queue;
+    private final int batchSize;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    @Autowired
+    public AuditService(JdbcTemplate jdbcTemplate, AuditEventRepository auditEventRepository, UserService userService,
+                        MeterRegistry meterRegistry,
+                        @Value("${audit.queue-capacity:10000}") int queueCapacity,
+                        @Value("${audit.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.auditEventRepository = auditEventRepository;
+        this.userService = userService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        Gauge.builder("poseidon.audit.queue", queue, BlockingQueue::size)
+                .description("Audit entries waiting to be written")
+                .register(meterRegistry);
+        this.writer = new Thread(this::writeEntries, "audit-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Record a change made by the current user, written once the current transaction, if any, commits
+     *
+     * @param entityType the entity class simple name
+     * @param entityId   the entity id
+     * @param action     the action
+     * @param changes    the changed values by property name, each an array of the value before and the value after
+     */
+    public void record(String entityType, Object entityId, Action action, Map<String, Object[]> changes) {
+        AuditEntry entry = new AuditEntry(entityType, entityId == null ? null : entityId.toString(), action,
+                userService.getCurrentUsername().orElse(SYSTEM_USER), Instant.now(), changes);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(entry);
+            return;
+        }
+        PendingEntries pending = null;
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingEntries entries && entries.owner() == this) {
+                pending = entries;
+            }
+        }
+        if (pending == null) {
+            pending = new PendingEntries();
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.entries.add(entry);
+    }
+
+    /**
+     * Get the history of an entity, as written so far
+     *
+     * @param entityType the entity class simple name
+     * @param entityId   the entity id
+     * @return the audit events of the entity, oldest first
+     */
+    public List<AuditEvent> getHistory(String entityType, Object entityId) {
+        return auditEventRepository.findByEntityTypeAndEntityIdOrderByIdAsc(entityType, entityId.toString());
+    }
+
+    /**
+     * Write the queued entries and stop the writer
+     */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    private void enqueue(AuditEntry entry) {
+        try {
+            queue.put(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Audit entry lost, interrupted while waiting for the queue: {}", entry);
+        }
+    }
+
+    private void writeEntries() {
+        List<AuditEntry> batch = new ArrayList<>(batchSize);
+        int attempts = 0;
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            if (batch.isEmpty()) {
+                try {
+                    AuditEntry first = queue.poll(200, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                } catch (InterruptedException e) {
+                    continue;
+                }
+                queue.drainTo(batch, batchSize - 1);
+            }
+            try {
+                write(batch);
+                batch.clear();
+                attempts = 0;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    logger.error("Audit entries lost at shutdown: {}", batch, e);
+                    batch.clear();
+                } else if (++attempts < MAX_BATCH_ATTEMPTS) {
+                    logger.warn("Cannot write {} audit entries, retrying", batch.size(), e);
+                    sleepBeforeRetry();
+                } else {
+                    logger.warn("Cannot write {} audit entries as a batch, writing them one by one", batch.size(), e);
+                    attempts = 0;
+                    if (!writeOneByOne(batch)) {
+                        sleepBeforeRetry();
+                    }
+                }
+            }
+        }
+    }
+
+    private void write(List<AuditEntry> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (statement, entry) -> {
+            statement.setString(1, entry.entityType());
+            statement.setString(2, entry.entityId());
+            statement.setString(3, entry.action().name());
+            statement.setString(4, entry.username());
+            statement.setTimestamp(5, Timestamp.from(entry.occurredAt()));
+            statement.setString(6, toJson(entry.changes()));
+        });
+    }
+
+    /**
+     * Write the entries of a batch one at a time, removing them from the batch. An entry the database rejects, such
+     * as a value too long for its column, or whose changes cannot be serialized, is logged and dropped; any other
+     * failure, such as a lost connection, stops the writing, the remaining entries being retried.
+     *
+     * @param batch the entries to write
+     * @return whether every entry was written or dropped
+     */
+    private boolean writeOneByOne(List<AuditEntry> batch) {
+        Iterator<AuditEntry> entries = batch.iterator();
+        while (entries.hasNext()) {
+            AuditEntry entry = entries.next();
+            try {
+                write(List.of(entry));
+            } catch (DataIntegrityViolationException | IllegalArgumentException e) {
+                logger.error("Audit entry dropped, it cannot be written: {}", entry, e);
+            } catch (RuntimeException e) {
+                logger.warn("Cannot write {} audit entries, retrying", batch.size(), e);
+                return false;
+            }
+            entries.remove();
+        }
+        return true;
+    }
+
+    private static String toJson(Map<String, Object[]> changes) {
+        try {
+            return MAPPER.writeValueAsString(changes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize audit changes", e);
+        }
+    }
+
+    private static void sleepBeforeRetry() {
+        try {
+            Thread.sleep(1000);
+        } catch (InterruptedException e) {
+            // the writer only stops once running is false
+        }
+    }
+}
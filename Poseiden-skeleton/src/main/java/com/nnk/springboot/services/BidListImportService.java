@@ -0,0 +1,204 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.repositories.BidListRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ReflectionUtils;
+
+import javax.validation.constraints.NotNull;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+@Service
+public class BidListImportService {
+
+    /**
+     * Maximum number of rejected lines reported back in the import result
+     */
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    /**
+     * Importable columns, by CSV header name
+     */
+    private static final Map<String, BiConsumer<BidList, String>> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put("account", BidList::setAccount);
+        COLUMNS.put("type", BidList::setType);
+        COLUMNS.put("bidQuantity", (bid, value) -> bid.setBidQuantity(Double.valueOf(value)));
+        COLUMNS.put("askQuantity", (bid, value) -> bid.setAskQuantity(Double.valueOf(value)));
+        COLUMNS.put("bid", (bid, value) -> bid.setBid(Double.valueOf(value)));
+        COLUMNS.put("ask", (bid, value) -> bid.setAsk(Double.valueOf(value)));
+        COLUMNS.put("benchmark", BidList::setBenchmark);
+        COLUMNS.put("commentary", BidList::setCommentary);
+        COLUMNS.put("security", BidList::setSecurity);
+        COLUMNS.put("status", BidList::setStatus);
+        COLUMNS.put("trader", BidList::setTrader);
+        COLUMNS.put("book", BidList::setBook);
+        COLUMNS.put("dealName", BidList::setDealName);
+        COLUMNS.put("dealType", BidList::setDealType);
+        COLUMNS.put("sourceListId", BidList::setSourceListId);
+        COLUMNS.put("side", BidList::setSide);
+    }
+
+    /**
+     * Result of an import: imported and rejected line counts, and the first rejection reasons
+     */
+    public record ImportResult(long imported, long rejected, List<String> errors) {
+    }
+
+    private final BidListRepository bidListRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final List<Field> notNullFields = new ArrayList<>();
+
+    @Autowired
+    public BidListImportService(BidListRepository bidListRep, EntityManager entityManager,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${bidlist.import.batch-size:500}") int batchSize) {
+        this.bidListRepository = bidListRep;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        ReflectionUtils.doWithFields(BidList.class, field -> {
+            ReflectionUtils.makeAccessible(field);
+            notNullFields.add(field);
+        }, field -> field.isAnnotationPresent(NotNull.class));
+    }
+
+    /**
+     * Import bids from a CSV document whose first line names the columns.
+     * Lines are parsed one at a time and persisted in JDBC batches, each committed in its own transaction
+     * with the persistence context cleared, so memory stays flat whatever the file size: the audit entries
+     * of a batch are handed to the audit writer when it commits. Invalid lines are skipped and reported.
+     * Each imported bid is audited as created, with its values, by the AuditEntityListener.
+     * A database error stops the import, the batches already committed staying imported.
+     *
+     * @param reader the CSV document
+     * @return the import result
+     * @throws IOException the document cannot be read
+     * @throws IllegalArgumentException the header is missing or names an unknown column
+     */
+    public ImportResult importCsv(Reader reader) throws IOException {
+        BufferedReader lines = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        String header = lines.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("The CSV document is empty");
+        }
+        List<BiConsumer<BidList, String>> setters = new ArrayList<>();
+        for (String column : parseCsvLine(header)) {
+            BiConsumer<BidList, String> setter = COLUMNS.get(column.trim());
+            if (setter == null) {
+                throw new IllegalArgumentException("Unknown column: " + column);
+            }
+            setters.add(setter);
+        }
+
+        long imported = 0;
+        long rejected = 0;
+        List<String> errors = new ArrayList<>();
+        List<BidList> batch = new ArrayList<>(batchSize);
+        long lineNumber = 1;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                batch.add(toBidList(parseCsvLine(line), setters));
+            } catch (IllegalArgumentException e) {
+                rejected++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add("Line " + lineNumber + ": " + e.getMessage());
+                }
+                continue;
+            }
+            if (batch.size() == batchSize) {
+                imported += flush(batch);
+            }
+        }
+        imported += flush(batch);
+        return new ImportResult(imported, rejected, errors);
+    }
+
+    private BidList toBidList(List<String> values, List<BiConsumer<BidList, String>> setters) {
+        if (values.size() != setters.size()) {
+            throw new IllegalArgumentException("expected " + setters.size() + " values but found " + values.size());
+        }
+        BidList bid = new BidList();
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i).trim();
+            if (!value.isEmpty()) {
+                setters.get(i).accept(bid, value);
+            }
+        }
+        for (Field field : notNullFields) {
+            if (ReflectionUtils.getField(field, bid) == null) {
+                throw new IllegalArgumentException(field.getName() + " must not be null");
+            }
+        }
+        return bid;
+    }
+
+    private int flush(List<BidList> batch) {
+        int size = batch.size();
+        if (size > 0) {
+            transactionTemplate.executeWithoutResult(status -> {
+                bidListRepository.saveAll(batch);
+                entityManager.flush();
+                entityManager.clear();
+            });
+            batch.clear();
+        }
+        return size;
+    }
+
+    /**
+     * Split a CSV line (RFC 4180): fields may be enclosed in double quotes, a doubled quote standing for a
+     * quote. Quoted fields cannot span several lines.
+     *
+     * @param line the line to split
+     * @return the field values
+     */
+    private static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
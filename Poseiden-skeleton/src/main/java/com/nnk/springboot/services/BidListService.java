@@ -1,24 +1,58 @@
 package com.nnk.springboot.services;
 
+import com.nnk.springboot.config.MetricsConfig;
 import com.nnk.springboot.domain.BidList;
 import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.BidListRow;
+import com.nnk.springboot.repositories.BidListSortColumn;
+import com.nnk.springboot.repositories.BidListSummary;
+import com.nnk.springboot.repositories.SearchCriteria;
+import com.nnk.springboot.repositories.SearchSpecifications;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+
+import static com.nnk.springboot.repositories.BidListSpecifications.keysetAfter;
 
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @Transactional
 public class BidListService {
 
+    public static final int MAX_PAGE_SIZE = 500;
+
+    /**
+     * Fields a partial update may set: the business fields, not the id, version, audit names or dates
+     */
+    public static final Set<String> UPDATABLE_FIELDS = Set.of("account", "type", "bidQuantity", "askQuantity", "bid",
+            "ask", "benchmark", "commentary", "security", "status", "trader", "book", "dealName", "dealType",
+            "sourceListId", "side");
+
+    private static final String ENTITY_TYPE = BidList.class.getSimpleName();
+
     private final BidListRepository bidListRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public BidListService(BidListRepository bidListRep) {
+    public BidListService(BidListRepository bidListRep, ApplicationEventPublisher eventPublisher) {
         this.bidListRepository = bidListRep;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -26,36 +60,89 @@ public class BidListService {
      *
      * @return list of BidListModel containing all bid models
      */
+    @Transactional(readOnly = true)
     public List<BidList> getAllBids() {
         return bidListRepository.findAll();
     }
 
+    /**
+     * Get one page of bids using keyset pagination: the page starts right after the last row of the
+     * previous one instead of skipping an offset, so the cost of a page does not depend on its position.
+     * Only the columns of the list page are selected, no bid is loaded into the persistence context.
+     *
+     * @param criteria   the search criteria
+     * @param sortColumn the column to sort on, the id being the tie-breaker
+     * @param direction  the sort direction
+     * @param afterId    the id of the last bid of the previous page, null for the first page
+     * @param afterValue the sort column value of the last bid of the previous page
+     * @param size       the maximum number of bids in the page
+     * @return the page of bid rows, telling whether more bids follow
+     */
+    @Transactional(readOnly = true)
+    public Slice<BidListRow> getBidsPage(SearchCriteria criteria, BidListSortColumn sortColumn, Sort.Direction direction,
+                                      Long afterId, Comparable<?> afterValue, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Specification<BidList> specification = keysetAfter(sortColumn, direction, afterId, afterValue)
+                .and(SearchSpecifications.matching(criteria, "bidListDate"));
+        List<BidListRow> bids = bidListRepository.findProjected(specification, pageSize + 1, BidListRow.class);
+        boolean hasNext = bids.size() > pageSize;
+        List<BidListRow> content = hasNext ? bids.subList(0, pageSize) : bids;
+        return new SliceImpl<>(content, PageRequest.of(0, pageSize, Sort.by(direction, sortColumn.getProperty())), hasNext);
+    }
+
     /**
      * Check if an Id already exists
      *
      * @param id the bid ID
      * @return true if ID already exists
      */
-    public boolean checkIfIdExists(int id) {
+    @Transactional(readOnly = true)
+    public boolean checkIfIdExists(long id) {
         return bidListRepository.existsById(id);
     }
 
     /**
-     * Save a new Bid in the DB
+     * Save a new Bid in the DB, the change being streamed by the ChangeStreamService after commit
      *
      * @param bidList the BidListModel to save
      */
     public BidList saveBid(BidList bidList) {
-        return bidListRepository.save(bidList);
+        AuditService.Action action = bidList.getId() == null ? AuditService.Action.CREATE : AuditService.Action.UPDATE;
+        BidList saved = bidListRepository.save(bidList);
+        eventPublisher.publishEvent(new ChangeStreamService.EntityChangedEvent(ENTITY_TYPE, saved.getId(), action, saved));
+        return saved;
     }
 
     /**
-     * Delete an existent bid from the DB
+     * Update some fields of a bid: the bid is loaded and only the given fields are set, so only their columns
+     * are written, the change being streamed after commit. The update fails if the bid is no longer at the expected
+     * version.
+     *
+     * @param bidListId       the bid ID
+     * @param expectedVersion the version the changes are based on, null to overwrite whatever the version
+     * @param fields          the new values by field name, see UPDATABLE_FIELDS
+     * @return the updated bid
+     * @throws NoSuchElementException no bid has the ID
+     * @throws IllegalArgumentException a field cannot be updated or its value is invalid
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException the bid has changed since the expected version
+     */
+    public BidList updateBid(long bidListId, Integer expectedVersion, Map<String, ?> fields) {
+        BidList bidList = bidListRepository.findById(bidListId)
+                .orElseThrow(() -> new NoSuchElementException("No bid with id " + bidListId));
+        PartialUpdate.checkVersion(BidList.class, bidListId, expectedVersion, bidList.getVersion());
+        PartialUpdate.apply(bidList, fields, UPDATABLE_FIELDS);
+        eventPublisher.publishEvent(new ChangeStreamService.EntityChangedEvent(ENTITY_TYPE, bidListId, AuditService.Action.UPDATE, bidList));
+        return bidList;
+    }
+
+    /**
+     * Delete an existent bid from the DB, the deletion being streamed after commit
      *
      * @param bidListId the bid ID
      */
-    public void deleteBidById(int bidListId) {
+    public void deleteBidById(long bidListId) {
         bidListRepository.deleteById(bidListId);
+        eventPublisher.publishEvent(new ChangeStreamService.EntityChangedEvent(ENTITY_TYPE, bidListId, AuditService.Action.DELETE, null));
     }
 
     /**
@@ -64,7 +151,33 @@ public class BidListService {
      * @param bidListId the bid ID
      * @return BidListModel found with the ID
      */
-    public Optional<BidList> getBidByBidListId(int bidListId) {
+    @Transactional(readOnly = true)
+    public Optional<BidList> getBidByBidListId(long bidListId) {
         return bidListRepository.findById(bidListId);
     }
+
+    /**
+     * Get a page of the bids matching the criteria, projected on their summary: only the summary columns are
+     * selected. The count query only runs when the page is full, the total being known otherwise
+     *
+     * @param criteria the search criteria
+     * @param pageable the page request
+     * @return the page of summaries
+     */
+    @Transactional(readOnly = true)
+    public Page<BidListSummary> getBidSummaries(SearchCriteria criteria, Pageable pageable) {
+        return bidListRepository.findProjected(SearchSpecifications.matching(criteria, "bidListDate"), pageable,
+                BidListSummary.class);
+    }
+
+    /**
+     * Get a bid projected on its summary
+     *
+     * @param id the bid ID
+     * @return the summary, empty if no bid has the ID
+     */
+    @Transactional(readOnly = true)
+    public Optional<BidListSummary> getBidSummaryById(long id) {
+        return bidListRepository.findProjectedById(id, BidListSummary.class);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,308 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.config.MetricsConfig;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.BidListSummary;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.repositories.CurvePointSummary;
+import com.nnk.springboot.repositories.RatingRepository;
+import com.nnk.springboot.repositories.RatingSummary;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.repositories.RuleNameSummary;
+import com.nnk.springboot.repositories.SearchCriteria;
+import com.nnk.springboot.repositories.SearchSpecifications;
+import com.nnk.springboot.repositories.TradePosition;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.repositories.TradeSummary;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Deletes and status updates of many rows at once. The rows are selected by one query, on their ids or the search
+ * criteria, then deleted or updated by one statement whatever their number, instead of one load and one statement
+ * per row. The statements bypass the entity listeners, so each row is audited here, a deleted row with all its
+ * values loaded before the statement, and the same events are published as for a single change: the change stream, the rendered rows and the positions stay up to date.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@Transactional
+public class BulkOperationService {
+
+    private static final String BID_LIST = BidList.class.getSimpleName();
+    private static final String TRADE = Trade.class.getSimpleName();
+
+    private final BidListRepository bidListRepository;
+    private final TradeRepository tradeRepository;
+    private final CurvePointRepository curvePointRepository;
+    private final RatingRepository ratingRepository;
+    private final RuleNameRepository ruleNameRepository;
+    private final AuditService auditService;
+    private final AuditEntityListener auditEntityListener;
+    private final AuditorAware<String> auditorAware;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxRows;
+
+    @Autowired
+    public BulkOperationService(BidListRepository bidListRep, TradeRepository tradeRep,
+                                CurvePointRepository curvePointRep, RatingRepository ratingRep,
+                                RuleNameRepository ruleNameRep, AuditService auditService,
+                                AuditEntityListener auditEntityListener,
+                                AuditorAware<String> auditorAware, ApplicationEventPublisher eventPublisher,
+                                @Value("${bulk.max-rows:10000}") int maxRows) {
+        this.bidListRepository = bidListRep;
+        this.tradeRepository = tradeRep;
+        this.curvePointRepository = curvePointRep;
+        this.ratingRepository = ratingRep;
+        this.ruleNameRepository = ruleNameRep;
+        this.auditService = auditService;
+        this.auditEntityListener = auditEntityListener;
+        this.auditorAware = auditorAware;
+        this.eventPublisher = eventPublisher;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Delete the bids having the ids and matching the criteria
+     *
+     * @param ids      the bid ids, null to select on the criteria alone
+     * @param criteria the search criteria, null or empty to select on the ids alone
+     * @return the number of deleted bids
+     * @throws IllegalArgumentException neither ids nor criteria are given, or more than the maximum rows match
+     */
+    public long deleteBids(Collection<Long> ids, SearchCriteria criteria) {
+        List<BidListSummary> bids = selectBids(ids, criteria);
+        if (bids.isEmpty()) {
+            return 0;
+        }
+        List<Long> bidIds = ids(bids, BidListSummary::id);
+        List<BidList> deletedBids = bidListRepository.findAllById(bidIds);
+        int deleted = bidListRepository.deleteByIdIn(bidIds);
+        auditEntityListener.recordDeleted(deletedBids);
+        for (BidListSummary bid : bids) {
+            eventPublisher.publishEvent(new ChangeStreamService.EntityChangedEvent(BID_LIST, bid.id(), AuditService.Action.DELETE, null));
+        }
+        return deleted;
+    }
+
+    /**
+     * Set the status of the bids having the ids and matching the criteria
+     *
+     * @param ids      the bid ids, null to select on the criteria alone
+     * @param criteria the search criteria, null or empty to select on the ids alone
+     * @param status   the new status
+     * @return the number of updated bids
+     * @throws IllegalArgumentException the status is blank, neither ids nor criteria are given, or more than the
+     *                                  maximum rows match
+     */
+    public long updateBidStatus(Collection<Long> ids, SearchCriteria criteria, String status) {
+        checkStatus(status);
+        List<BidListSummary> bids = selectBids(ids, criteria);
+        if (bids.isEmpty()) {
+            return 0;
+        }
+        int updated = bidListRepository.updateStatusByIdIn(ids(bids, BidListSummary::id), status,
+                auditorAware.getCurrentAuditor().orElse(null), LocalDateTime.now());
+        for (BidListSummary bid : bids) {
+            BidListSummary changed = bid.withStatus(status);
+            auditService.record(BID_LIST, bid.id(), AuditService.Action.UPDATE,
+                    statusChanges(bid.status(), status, bid.version(), changed.version()));
+            eventPublisher.publishEvent(new ChangeStreamService.EntityChangedEvent(BID_LIST, bid.id(), AuditService.Action.UPDATE, changed));
+        }
+        return updated;
+    }
+
+    /**
+     * Delete the trades having the ids and matching the criteria, their positions being updated after commit
+     *
+     * @param ids      the trade ids, null to select on the criteria alone
+     * @param criteria the search criteria, null or empty to select on the ids alone
+     * @return the number of deleted trades
+     * @throws IllegalArgumentException neither ids nor criteria are given, or more than the maximum rows match
+     */
+    public long deleteTrades(Collection<Long> ids, SearchCriteria criteria) {
+        List<TradeSummary> trades = selectTrades(ids, criteria);
+        if (trades.isEmpty()) {
+            return 0;
+        }
+        List<Long> tradeIds = ids(trades, TradeSummary::tradeId);
+        List<Trade> deletedTrades = tradeRepository.findAllById(tradeIds);
+        int deleted = tradeRepository.deleteByIdIn(tradeIds);
+        auditEntityListener.recordDeleted(deletedTrades);
+        for (TradeSummary trade : trades) {
+            eventPublisher.publishEvent(new TradePositionService.TradeChangedEvent(TradePosition.of(trade), null));
+            eventPublisher.publishEvent(new ChangeStreamService.EntityChangedEvent(TRADE, trade.tradeId(), AuditService.Action.DELETE, null));
+        }
+        return deleted;
+    }
+
+    /**
+     * Set the status of the trades having the ids and matching the criteria
+     *
+     * @param ids      the trade ids, null to select on the criteria alone
+     * @param criteria the search criteria, null or empty to select on the ids alone
+     * @param status   the new status
+     * @return the number of updated trades
+     * @throws IllegalArgumentException the status is blank, neither ids nor criteria are given, or more than the
+     *                                  maximum rows match
+     */
+    public long updateTradeStatus(Collection<Long> ids, SearchCriteria criteria, String status) {
+        checkStatus(status);
+        List<TradeSummary> trades = selectTrades(ids, criteria);
+        if (trades.isEmpty()) {
+            return 0;
+        }
+        int updated = tradeRepository.updateStatusByIdIn(ids(trades, TradeSummary::tradeId), status,
+                auditorAware.getCurrentAuditor().orElse(null), LocalDateTime.now());
+        for (TradeSummary trade : trades) {
+            TradeSummary changed = trade.withStatus(status);
+            auditService.record(TRADE, trade.tradeId(), AuditService.Action.UPDATE,
+                    statusChanges(trade.status(), status, trade.version(), changed.version()));
+            eventPublisher.publishEvent(new ChangeStreamService.EntityChangedEvent(TRADE, trade.tradeId(), AuditService.Action.UPDATE, changed));
+        }
+        return updated;
+    }
+
+    /**
+     * Delete the curve points having the ids, their curves being rebuilt in the CurveEngine after commit
+     *
+     * @param ids the curve point ids
+     * @return the number of deleted curve points
+     * @throws IllegalArgumentException no ids are given, or more than the maximum rows
+     */
+    public long deleteCurvePoints(Collection<Long> ids) {
+        List<CurvePointSummary> curvePoints = curvePointRepository.findProjectedByIdIn(checkIds(ids),
+                CurvePointSummary.class);
+        if (curvePoints.isEmpty()) {
+            return 0;
+        }
+        List<Long> curvePointIds = ids(curvePoints, CurvePointSummary::id);
+        List<CurvePoint> deletedCurvePoints = curvePointRepository.findAllById(curvePointIds);
+        int deleted = curvePointRepository.deleteByIdIn(curvePointIds);
+        auditEntityListener.recordDeleted(deletedCurvePoints);
+        curvePoints.stream().map(CurvePointSummary::curveId).filter(Objects::nonNull).distinct()
+                .forEach(curveId -> eventPublisher.publishEvent(new CurveEngine.CurveChangedEvent(curveId)));
+        return deleted;
+    }
+
+    /**
+     * Delete the ratings having the ids
+     *
+     * @param ids the rating ids
+     * @return the number of deleted ratings
+     * @throws IllegalArgumentException no ids are given, or more than the maximum rows
+     */
+    public long deleteRatings(Collection<Long> ids) {
+        List<RatingSummary> ratings = ratingRepository.findProjectedByIdIn(checkIds(ids), RatingSummary.class);
+        if (ratings.isEmpty()) {
+            return 0;
+        }
+        List<Long> ratingIds = ids(ratings, RatingSummary::id);
+        List<Rating> deletedRatings = ratingRepository.findAllById(ratingIds);
+        int deleted = ratingRepository.deleteByIdIn(ratingIds);
+        auditEntityListener.recordDeleted(deletedRatings);
+        return deleted;
+    }
+
+    /**
+     * Delete the rule names having the ids, dropping their compiled forms from the rule engine
+     *
+     * @param ids the rule name ids
+     * @return the number of deleted rule names
+     * @throws IllegalArgumentException no ids are given, or more than the maximum rows
+     */
+    public long deleteRuleNames(Collection<Long> ids) {
+        List<RuleNameSummary> ruleNames = ruleNameRepository.findProjectedByIdIn(checkIds(ids), RuleNameSummary.class);
+        if (ruleNames.isEmpty()) {
+            return 0;
+        }
+        List<Long> ruleNameIds = ids(ruleNames, RuleNameSummary::id);
+        List<RuleName> deletedRuleNames = ruleNameRepository.findAllById(ruleNameIds);
+        int deleted = ruleNameRepository.deleteByIdIn(ruleNameIds);
+        auditEntityListener.recordDeleted(deletedRuleNames);
+        for (RuleNameSummary ruleName : ruleNames) {
+            eventPublisher.publishEvent(new RuleEngine.RuleChangedEvent(ruleName.id()));
+        }
+        return deleted;
+    }
+
+    private List<BidListSummary> selectBids(Collection<Long> ids, SearchCriteria criteria) {
+        return checkSize(bidListRepository.findProjected(selection("id", ids, criteria, "bidListDate"), maxRows + 1,
+                BidListSummary.class));
+    }
+
+    private List<TradeSummary> selectTrades(Collection<Long> ids, SearchCriteria criteria) {
+        return checkSize(tradeRepository.findProjected(selection("tradeId", ids, criteria, "tradeDate"), maxRows + 1,
+                TradeSummary.class));
+    }
+
+    /**
+     * Build the specification of the rows having the ids and matching the criteria. Either is required, so that
+     * a missing field cannot select every row
+     */
+    private <T> Specification<T> selection(String idAttribute, Collection<Long> ids, SearchCriteria criteria,
+                                           String dateAttribute) {
+        boolean noCriteria = criteria == null || criteria.isEmpty();
+        if (ids == null && noCriteria) {
+            throw new IllegalArgumentException("The rows must be selected by ids or criteria");
+        }
+        Specification<T> specification = SearchSpecifications.matching(noCriteria ? SearchCriteria.NONE : criteria,
+                dateAttribute);
+        return ids == null ? specification : specification.and(SearchSpecifications.idIn(idAttribute, checkIds(ids)));
+    }
+
+    private Collection<Long> checkIds(Collection<Long> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("The ids of the rows are required");
+        }
+        return checkSize(ids);
+    }
+
+    private <C extends Collection<?>> C checkSize(C rows) {
+        if (rows.size() > maxRows) {
+            throw new IllegalArgumentException("More than " + maxRows + " rows selected");
+        }
+        return rows;
+    }
+
+    private static void checkStatus(String status) {
+        if (status == null || status.isBlank()) {
+            throw new IllegalArgumentException("The status is required");
+        }
+    }
+
+    private static <R> List<Long> ids(List<R> rows, Function<R, Long> id) {
+        return rows.stream().map(id).toList();
+    }
+
+    /**
+     * Get the audited changes of a status update, as the entity listener would record them
+     */
+    private static Map<String, Object[]> statusChanges(String oldStatus, String newStatus, Integer oldVersion,
+                                                       Integer newVersion) {
+        Map<String, Object[]> changes = new LinkedHashMap<>();
+        if (!Objects.equals(oldStatus, newStatus)) {
+            changes.put("status", new Object[]{oldStatus, newStatus});
+        }
+        changes.put("version", new Object[]{oldVersion, newVersion});
+        return changes;
+    }
+}
@@ -0,0 +1,255 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.BidListSummary;
+import com.nnk.springboot.repositories.TradeSummary;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Live stream of the committed trade and bid changes, pushed to the subscribers as server-sent events.
+ * Each change gets an event id made of the boot id of the application and a sequence number; the last changes are
+ * kept in a bounded replay buffer, so a client reconnecting with the id of the last event it got (Last-Event-ID)
+ * receives the changes it missed, or a reset event telling it to reload when they are no longer buffered.
+ * Every subscriber has its own bounded queue drained by its own virtual thread: a slow client never delays the
+ * committing threads nor the other clients, and one whose queue overflows is disconnected, to catch up by replay
+ * when it reconnects.
+ */
+@Service
+public class ChangeStreamService {
+
+    /**
+     * Published when a trade or a bid is saved or deleted
+     *
+     * @param entityType the entity class simple name
+     * @param id         the entity id
+     * @param action     CREATE, UPDATE or DELETE
+     * @param entity     the saved entity, its summary being sent once the transaction has committed; null for a delete
+     */
+    public record EntityChangedEvent(String entityType, Long id, AuditService.Action action, Object entity) {
+    }
+
+    /**
+     * One change as sent to the subscribers
+     *
+     * @param sequence   the sequence number of the change since the application started
+     * @param entityType the entity class simple name
+     * @param id         the entity id
+     * @param action     CREATE, UPDATE or DELETE
+     * @param data       the summary of the entity after the change, null for a delete
+     */
+    public record Change(long sequence, String entityType, Long id, AuditService.Action action, Object data) {
+    }
+
+    /**
+     * Queued in place of a change when the subscriber has to reload, the changes it missed being no longer buffered
+     */
+    private static final Change RESET = new Change(-1, null, null, null, null);
+
+    /**
+     * Queued in place of a change when the subscriber is disconnected
+     */
+    private static final Change DISCONNECT = new Change(-1, null, null, null, null);
+
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final Deque<Change> replayBuffer = new ArrayDeque<>();
+    private final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+    private final int replaySize;
+    private final int queueCapacity;
+    private final Duration timeout;
+    private final Duration heartbeat;
+    private final Counter overflows;
+    private long sequence;
+
+    @Autowired
+    public ChangeStreamService(MeterRegistry meterRegistry,
+                               @Value("${changes.replay-size:1000}") int replaySize,
+                               @Value("${changes.queue-capacity:256}") int queueCapacity,
+                               @Value("${changes.timeout:30m}") Duration timeout,
+                               @Value("${changes.heartbeat:20s}") Duration heartbeat) {
+        this.replaySize = replaySize;
+        this.queueCapacity = queueCapacity;
+        this.timeout = timeout;
+        this.heartbeat = heartbeat;
+        Gauge.builder("poseidon.changes.subscribers", subscribers, Set::size)
+                .description("Clients subscribed to the change stream")
+                .register(meterRegistry);
+        this.overflows = Counter.builder("poseidon.changes.overflows")
+                .description("Subscribers disconnected because they did not keep up with the changes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Subscribe to the changes
+     *
+     * @param entityTypes the entity class simple names to receive the changes of, all of them if empty
+     * @param lastEventId the id of the last event received before reconnecting, null for a new subscriber
+     * @return the emitter of the events
+     */
+    public SseEmitter subscribe(Set<String> entityTypes, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber;
+        synchronized (replayBuffer) {
+            List<Change> missed = lastEventId == null ? List.of() : missedSince(lastEventId);
+            subscriber = new Subscriber(emitter, entityTypes, queueCapacity + (missed == null ? 1 : missed.size()));
+            if (missed == null) {
+                subscriber.queue.add(RESET);
+            } else {
+                missed.forEach(subscriber::offer);
+            }
+            subscribers.add(subscriber);
+        }
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscriber.sender = Thread.ofVirtual().name("change-stream").start(subscriber::send);
+        return emitter;
+    }
+
+    /**
+     * Push a change to the subscribers once its transaction has committed
+     *
+     * @param event the change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        Object data = switch (event.entity()) {
+            case Trade trade -> TradeSummary.of(trade);
+            case BidList bid -> BidListSummary.of(bid);
+            case null, default -> event.entity();
+        };
+        synchronized (replayBuffer) {
+            Change change = new Change(++sequence, event.entityType(), event.id(), event.action(), data);
+            if (replayBuffer.size() == replaySize) {
+                replayBuffer.removeFirst();
+            }
+            replayBuffer.addLast(change);
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.offer(change)) {
+                    overflows.increment();
+                    subscriber.disconnect();
+                }
+            }
+        }
+    }
+
+    /**
+     * Disconnect every subscriber, the clients reconnecting to another instance or after the restart
+     */
+    @PreDestroy
+    public void close() {
+        subscribers.forEach(Subscriber::disconnect);
+    }
+
+    private String eventId(Change change) {
+        return bootId + "-" + change.sequence();
+    }
+
+    /**
+     * Get the buffered changes following an event
+     *
+     * @param lastEventId the id of the last event received
+     * @return the changes following it, null if some of them are no longer buffered or the id is unknown
+     */
+    private List<Change> missedSince(String lastEventId) {
+        int separator = lastEventId.lastIndexOf('-');
+        long last;
+        try {
+            last = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (separator < 0 || !bootId.equals(lastEventId.substring(0, separator)) || last > sequence) {
+            return null;
+        }
+        long oldest = replayBuffer.isEmpty() ? sequence + 1 : replayBuffer.getFirst().sequence();
+        if (last + 1 < oldest) {
+            return null;
+        }
+        return replayBuffer.stream().filter(change -> change.sequence() > last).toList();
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Set<String> entityTypes;
+        private final BlockingQueue<Change> queue;
+        private volatile Thread sender;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, Set<String> entityTypes, int capacity) {
+            this.emitter = emitter;
+            this.entityTypes = entityTypes;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        /**
+         * Queue a change if the subscriber wants it
+         *
+         * @return false if the queue is full
+         */
+        private boolean offer(Change change) {
+            return closed || !entityTypes.isEmpty() && !entityTypes.contains(change.entityType()) || queue.offer(change);
+        }
+
+        /**
+         * Drop the queued changes and end the stream once the change being sent, if any, is sent
+         */
+        private void disconnect() {
+            subscribers.remove(this);
+            queue.clear();
+            queue.offer(DISCONNECT);
+        }
+
+        private void close() {
+            closed = true;
+            subscribers.remove(this);
+            Thread thread = sender;
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+
+        private void send() {
+            try {
+                while (!closed) {
+                    Change change = queue.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                    if (change == DISCONNECT) {
+                        emitter.complete();
+                        return;
+                    } else if (change == RESET) {
+                        emitter.send(SseEmitter.event().name("reset").data(""));
+                    } else if (change != null) {
+                        emitter.send(SseEmitter.event().id(eventId(change)).name("change")
+                                .data(change, MediaType.APPLICATION_JSON));
+                    } else {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                }
+            } catch (IOException | IllegalStateException | InterruptedException e) {
+                // the client is gone or the stream has ended: nothing is left to send
+                close();
+            }
+        }
+    }
+}
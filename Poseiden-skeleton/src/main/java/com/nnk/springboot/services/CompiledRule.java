@@ -0,0 +1,356 @@
+package com.nnk.springboot.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Executable form of a rule name, compiled once from the condition held in its json field, for instance
+ * <pre>
+ * {"all": [{"field": "account", "op": "like", "value": "ACC%"},
+ *          {"any": [{"field": "bidQuantity", "op": "&gt;", "value": 1000}, {"field": "side", "op": "in", "value": ["SELL"]}]},
+ *          {"not": {"field": "status", "op": "isNull"}}]}
+ * </pre>
+ * The JSON text is parsed when the rule is compiled. Fields are then resolved, and literals converted to the
+ * field type, once per evaluated record type, so evaluating a record only calls getters and compares values.
+ * As in SQL, a comparison with a null field is false; test it with isNull or notNull.
+ */
+public final class CompiledRule {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Comparison operators, each accepted under its name or symbol
+     */
+    public enum Operator {
+        EQ("eq", "=", "=="),
+        NE("ne", "!=", "<>"),
+        GT("gt", ">"),
+        GE("ge", ">="),
+        LT("lt", "<"),
+        LE("le", "<="),
+        IN("in"),
+        LIKE("like"),
+        IS_NULL("isNull"),
+        NOT_NULL("notNull");
+
+        private final String[] names;
+
+        Operator(String... names) {
+            this.names = names;
+        }
+
+        static Operator of(String name) {
+            for (Operator operator : values()) {
+                if (Arrays.asList(operator.names).contains(name)) {
+                    return operator;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operator: " + name);
+        }
+    }
+
+    private sealed interface Condition {
+        Predicate<Object> bind(Class<?> type);
+    }
+
+    private record All(List<Condition> conditions) implements Condition {
+        @Override
+        public Predicate<Object> bind(Class<?> type) {
+            Predicate<Object>[] predicates = bindAll(conditions, type);
+            return record -> {
+                for (Predicate<Object> predicate : predicates) {
+                    if (!predicate.test(record)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        }
+    }
+
+    private record Any(List<Condition> conditions) implements Condition {
+        @Override
+        public Predicate<Object> bind(Class<?> type) {
+            Predicate<Object>[] predicates = bindAll(conditions, type);
+            return record -> {
+                for (Predicate<Object> predicate : predicates) {
+                    if (predicate.test(record)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        }
+    }
+
+    private record Not(Condition condition) implements Condition {
+        @Override
+        public Predicate<Object> bind(Class<?> type) {
+            return condition.bind(type).negate();
+        }
+    }
+
+    private record Comparison(String field, Operator operator, JsonNode value) implements Condition {
+        @Override
+        public Predicate<Object> bind(Class<?> type) {
+            PropertyDescriptor property = BeanUtils.getPropertyDescriptor(type, field);
+            if (property == null || property.getReadMethod() == null) {
+                throw new IllegalArgumentException("Unknown field " + field + " of " + type.getSimpleName());
+            }
+            Function<Object, Object> getter = getter(property.getReadMethod());
+            Class<?> fieldType = ClassUtils.resolvePrimitiveIfNecessary(property.getPropertyType());
+            if (operator == Operator.IS_NULL) {
+                return record -> getter.apply(record) == null;
+            }
+            if (operator == Operator.NOT_NULL) {
+                return record -> getter.apply(record) != null;
+            }
+            if (value == null || value.isNull()) {
+                throw new IllegalArgumentException("Missing value for " + field);
+            }
+            if (operator == Operator.IN && !value.isArray()) {
+                throw new IllegalArgumentException("Expected an array of values for " + field + ", got " + value);
+            }
+            return Number.class.isAssignableFrom(fieldType)
+                    ? bindNumber(getter)
+                    : bindComparable(getter, fieldType);
+        }
+
+        private Predicate<Object> bindNumber(Function<Object, Object> getter) {
+            if (operator == Operator.IN) {
+                double[] literals = new double[value.size()];
+                for (int i = 0; i < literals.length; i++) {
+                    literals[i] = number(value.get(i));
+                }
+                Arrays.sort(literals);
+                return record -> getter.apply(record) instanceof Number number
+                        && Arrays.binarySearch(literals, number.doubleValue()) >= 0;
+            }
+            double literal = number(value);
+            return switch (operator) {
+                case EQ -> record -> getter.apply(record) instanceof Number number && number.doubleValue() == literal;
+                case NE -> record -> getter.apply(record) instanceof Number number && number.doubleValue() != literal;
+                case GT -> record -> getter.apply(record) instanceof Number number && number.doubleValue() > literal;
+                case GE -> record -> getter.apply(record) instanceof Number number && number.doubleValue() >= literal;
+                case LT -> record -> getter.apply(record) instanceof Number number && number.doubleValue() < literal;
+                case LE -> record -> getter.apply(record) instanceof Number number && number.doubleValue() <= literal;
+                default -> throw new IllegalArgumentException(operator + " does not apply to the number " + field);
+            };
+        }
+
+        private Predicate<Object> bindComparable(Function<Object, Object> getter, Class<?> fieldType) {
+            if (operator == Operator.IN) {
+                Set<Object> literals = new HashSet<>();
+                value.forEach(node -> literals.add(literal(node, fieldType)));
+                return record -> {
+                    Object fieldValue = getter.apply(record);
+                    return fieldValue != null && literals.contains(fieldValue);
+                };
+            }
+            if (operator == Operator.LIKE) {
+                if (fieldType != String.class) {
+                    throw new IllegalArgumentException("like only applies to text, not to " + field);
+                }
+                Pattern pattern = likePattern(value.asText());
+                return record -> getter.apply(record) instanceof String text && pattern.matcher(text).matches();
+            }
+            Comparable<?> literal = literal(value, fieldType);
+            return switch (operator) {
+                case EQ -> record -> literal.equals(getter.apply(record));
+                case NE -> record -> {
+                    Object fieldValue = getter.apply(record);
+                    return fieldValue != null && !literal.equals(fieldValue);
+                };
+                case GT -> compared(getter, literal, comparison -> comparison > 0);
+                case GE -> compared(getter, literal, comparison -> comparison >= 0);
+                case LT -> compared(getter, literal, comparison -> comparison < 0);
+                case LE -> compared(getter, literal, comparison -> comparison <= 0);
+                default -> throw new IllegalArgumentException(operator + " does not apply to " + field);
+            };
+        }
+
+        private double number(JsonNode node) {
+            if (!node.isNumber()) {
+                throw new IllegalArgumentException("Expected a number for " + field + ", got " + node);
+            }
+            return node.doubleValue();
+        }
+
+        private Comparable<?> literal(JsonNode node, Class<?> fieldType) {
+            if (fieldType == String.class && node.isTextual()) {
+                return node.textValue();
+            }
+            if (fieldType == Boolean.class && node.isBoolean()) {
+                return node.booleanValue();
+            }
+            throw new IllegalArgumentException("Cannot compare " + field + " of type " + fieldType.getSimpleName() + " with " + node);
+        }
+    }
+
+    private final long ruleId;
+    private final Condition condition;
+    private final Map<Class<?>, Predicate<Object>> predicates = new ConcurrentHashMap<>();
+
+    private CompiledRule(long ruleId, Condition condition) {
+        this.ruleId = ruleId;
+        this.condition = condition;
+    }
+
+    /**
+     * Compile a rule from its JSON condition
+     *
+     * @param ruleId the rule id
+     * @param json   the JSON condition
+     * @return the compiled rule
+     * @throws IllegalArgumentException the JSON is missing, malformed or not a condition
+     */
+    public static CompiledRule compile(long ruleId, String json) {
+        if (json == null || json.isBlank()) {
+            throw new IllegalArgumentException("Rule " + ruleId + " has no condition");
+        }
+        try {
+            return new CompiledRule(ruleId, parse(MAPPER.readTree(json)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Rule " + ruleId + " condition is not valid JSON", e);
+        }
+    }
+
+    public long getRuleId() {
+        return ruleId;
+    }
+
+    /**
+     * Get the predicate of the rule for a record type, bound on first use then reused
+     *
+     * @param type the record type
+     * @param <T>  the record type
+     * @return the predicate
+     * @throws IllegalArgumentException the condition names a field the type lacks, or a literal of another type
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Predicate<T> predicate(Class<T> type) {
+        return (Predicate<T>) predicates.computeIfAbsent(type, condition::bind);
+    }
+
+    /**
+     * Evaluate the rule against a batch of records
+     *
+     * @param type    the record type
+     * @param records the records
+     * @param <T>     the record type
+     * @return the indexes of the matching records
+     */
+    public <T> BitSet evaluate(Class<T> type, List<? extends T> records) {
+        Predicate<T> predicate = predicate(type);
+        BitSet matches = new BitSet(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            if (predicate.test(records.get(i))) {
+                matches.set(i);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Keep the records matching the rule
+     *
+     * @param type    the record type
+     * @param records the records
+     * @param <T>     the record type
+     * @return the matching records, in their original order
+     */
+    public <T> List<T> filter(Class<T> type, List<? extends T> records) {
+        Predicate<T> predicate = predicate(type);
+        List<T> matches = new ArrayList<>();
+        for (T record : records) {
+            if (predicate.test(record)) {
+                matches.add(record);
+            }
+        }
+        return matches;
+    }
+
+    private static Condition parse(JsonNode node) {
+        if (node.has("all")) {
+            return new All(parseAll(node.get("all")));
+        }
+        if (node.has("any")) {
+            return new Any(parseAll(node.get("any")));
+        }
+        if (node.has("not")) {
+            return new Not(parse(node.get("not")));
+        }
+        if (node.hasNonNull("field") && node.hasNonNull("op")) {
+            return new Comparison(node.get("field").asText(), Operator.of(node.get("op").asText()), node.get("value"));
+        }
+        throw new IllegalArgumentException("Not a condition: " + node);
+    }
+
+    private static List<Condition> parseAll(JsonNode array) {
+        if (!array.isArray() || array.isEmpty()) {
+            throw new IllegalArgumentException("Expected a non empty array of conditions, got " + array);
+        }
+        List<Condition> conditions = new ArrayList<>();
+        array.forEach(node -> conditions.add(parse(node)));
+        return conditions;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate<Object>[] bindAll(List<Condition> conditions, Class<?> type) {
+        return conditions.stream().map(condition -> condition.bind(type)).toArray(Predicate[]::new);
+    }
+
+    private static Function<Object, Object> getter(Method method) {
+        return record -> {
+            try {
+                return method.invoke(record);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Cannot read " + method.getName(), e);
+            }
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate<Object> compared(Function<Object, Object> getter, Comparable literal, IntPredicate test) {
+        return record -> {
+            Object fieldValue = getter.apply(record);
+            return fieldValue != null && test.test(((Comparable) fieldValue).compareTo(literal));
+        };
+    }
+
+    /**
+     * Translate a SQL like pattern, where % matches any text and _ any character, to a regular expression
+     */
+    private static Pattern likePattern(String like) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (char c : like.toCharArray()) {
+            if (c == '%' || c == '_') {
+                regex.append(Pattern.quote(literal.toString())).append(c == '%' ? ".*" : ".");
+                literal.setLength(0);
+            } else {
+                literal.append(c);
+            }
+        }
+        return Pattern.compile(regex.append(Pattern.quote(literal.toString())).toString(), Pattern.DOTALL);
+    }
+}
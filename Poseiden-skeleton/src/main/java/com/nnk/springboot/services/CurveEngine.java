@@ -0,0 +1,196 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * In-memory yield curves built from the curve points, answering interpolated lookups without any database
+ * round trip. All curves are loaded once the application is ready; afterwards a curve is rebuilt alone
+ * when one of its points is saved or deleted.
+ * <p>
+ * Readers work on an immutable snapshot (curve ids sorted in an int array, curves in a parallel array)
+ * published through a volatile field, so lookups take no lock, do not box the curve id and allocate nothing.
+ */
+@Service
+public class CurveEngine {
+
+    /**
+     * Published when the points of a curve have changed
+     *
+     * @param curveId the id of the changed curve
+     */
+    public record CurveChangedEvent(int curveId) {
+    }
+
+    private record Snapshot(int[] curveIds, InterpolatedCurve[] curves) {
+    }
+
+    private final CurvePointRepository curvePointRepository;
+    private volatile Snapshot snapshot = new Snapshot(new int[0], new InterpolatedCurve[0]);
+
+    @Autowired
+    public CurveEngine(CurvePointRepository curvePointRep) {
+        this.curvePointRepository = curvePointRep;
+    }
+
+    /**
+     * Get the value of a curve at a term
+     *
+     * @param curveId       the curve id
+     * @param term          the term
+     * @param interpolation the interpolation method
+     * @return the interpolated value
+     * @throws NoSuchElementException no point is known for the curve
+     */
+    public double valueAt(int curveId, double term, InterpolatedCurve.Interpolation interpolation) {
+        return getCurve(curveId).valueAt(term, interpolation);
+    }
+
+    /**
+     * Get the current state of a curve
+     *
+     * @param curveId the curve id
+     * @return the immutable curve
+     * @throws NoSuchElementException no point is known for the curve
+     */
+    public InterpolatedCurve getCurve(int curveId) {
+        Snapshot current = snapshot;
+        int index = Arrays.binarySearch(current.curveIds(), curveId);
+        if (index < 0) {
+            throw new NoSuchElementException("Unknown curve: " + curveId);
+        }
+        return current.curves()[index];
+    }
+
+    /**
+     * Get the ids of the loaded curves
+     *
+     * @return the curve ids, in increasing order
+     */
+    public int[] getCurveIds() {
+        return snapshot.curveIds().clone();
+    }
+
+    /**
+     * (Re)build every curve from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void loadAll() {
+        List<CurvePoint> points = curvePointRepository.findAll(Sort.by("curveId", "term", "id"));
+        List<InterpolatedCurve> curves = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i <= points.size(); i++) {
+            if (i == points.size() || !points.get(i).getCurveId().equals(points.get(start).getCurveId())) {
+                InterpolatedCurve curve = build(points.get(start).getCurveId(), points.subList(start, i));
+                if (curve != null) {
+                    curves.add(curve);
+                }
+                start = i;
+            }
+        }
+        int[] curveIds = new int[curves.size()];
+        for (int i = 0; i < curveIds.length; i++) {
+            curveIds[i] = curves.get(i).getCurveId();
+        }
+        snapshot = new Snapshot(curveIds, curves.toArray(new InterpolatedCurve[0]));
+    }
+
+    /**
+     * Rebuild one curve once the transaction that changed it has committed; the other curves are kept as is.
+     * Read-write, hence on the primary database: a replica may not have applied the change yet.
+     *
+     * @param event the change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onCurveChanged(CurveChangedEvent event) {
+        refresh(event.curveId());
+    }
+
+    /**
+     * Rebuild one curve from the database, removing it if it has no point left
+     *
+     * @param curveId the curve id
+     */
+    public synchronized void refresh(int curveId) {
+        InterpolatedCurve curve = build(curveId, curvePointRepository.findByCurveIdOrderByTermAscIdAsc(curveId));
+        Snapshot current = snapshot;
+        int index = Arrays.binarySearch(current.curveIds(), curveId);
+        int[] curveIds;
+        InterpolatedCurve[] curves;
+        if (index >= 0 && curve != null) {
+            curveIds = current.curveIds();
+            curves = current.curves().clone();
+            curves[index] = curve;
+        } else if (index >= 0) {
+            curveIds = remove(current.curveIds(), index);
+            curves = remove(current.curves(), index);
+        } else if (curve != null) {
+            int insertion = -index - 1;
+            curveIds = new int[current.curveIds().length + 1];
+            curves = new InterpolatedCurve[curveIds.length];
+            System.arraycopy(current.curveIds(), 0, curveIds, 0, insertion);
+            System.arraycopy(current.curves(), 0, curves, 0, insertion);
+            curveIds[insertion] = curveId;
+            curves[insertion] = curve;
+            System.arraycopy(current.curveIds(), insertion, curveIds, insertion + 1, current.curveIds().length - insertion);
+            System.arraycopy(current.curves(), insertion, curves, insertion + 1, current.curves().length - insertion);
+        } else {
+            return;
+        }
+        snapshot = new Snapshot(curveIds, curves);
+    }
+
+    /**
+     * Build a curve from its points sorted by term. Points without term or value are ignored and,
+     * when several points share a term, the one with the highest id wins.
+     */
+    private static InterpolatedCurve build(int curveId, List<CurvePoint> points) {
+        double[] terms = new double[points.size()];
+        double[] values = new double[points.size()];
+        int size = 0;
+        for (CurvePoint point : points) {
+            if (point.getTerm() == null || point.getValue() == null) {
+                continue;
+            }
+            if (size > 0 && terms[size - 1] == point.getTerm()) {
+                size--;
+            }
+            terms[size] = point.getTerm();
+            values[size] = point.getValue();
+            size++;
+        }
+        if (size == 0) {
+            return null;
+        }
+        return new InterpolatedCurve(curveId, Arrays.copyOf(terms, size), Arrays.copyOf(values, size));
+    }
+
+    private static int[] remove(int[] array, int index) {
+        int[] result = new int[array.length - 1];
+        System.arraycopy(array, 0, result, 0, index);
+        System.arraycopy(array, index + 1, result, index, result.length - index);
+        return result;
+    }
+
+    private static InterpolatedCurve[] remove(InterpolatedCurve[] array, int index) {
+        InterpolatedCurve[] result = new InterpolatedCurve[array.length - 1];
+        System.arraycopy(array, 0, result, 0, index);
+        System.arraycopy(array, index + 1, result, index, result.length - index);
+        return result;
+    }
+}
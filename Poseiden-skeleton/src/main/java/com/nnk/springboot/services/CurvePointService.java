@@ -1,24 +1,34 @@
 package com.nnk.springboot.services;
 
+import com.nnk.springboot.config.MetricsConfig;
 import com.nnk.springboot.domain.CurvePoint;
 import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.repositories.CurvePointSummary;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @Transactional
 public class CurvePointService {
 
     private final CurvePointRepository curvePointRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public CurvePointService(CurvePointRepository curvePointRep) {
+    public CurvePointService(CurvePointRepository curvePointRep, ApplicationEventPublisher eventPublisher) {
         this.curvePointRepository = curvePointRep;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -26,16 +36,23 @@ public class CurvePointService {
      *
      * @return list of CurvePointModel containing all curve point models
      */
+    @Transactional(readOnly = true)
     public List<CurvePoint> getAllCurvePoints() {
         return curvePointRepository.findAll();
     }
 
     /**
-     * Save a new curve point in the DB
+     * Save a new curve point in the DB, the curves it leaves and joins being rebuilt in the CurveEngine after commit
      * @param curvePoint the CurvePointModel to save
      */
     public void saveCurvePoint(CurvePoint curvePoint) {
+        Integer previousCurveId = curvePoint.getId() == null ? null
+                : curvePointRepository.findById(curvePoint.getId()).map(CurvePoint::getCurveId).orElse(null);
         curvePointRepository.save(curvePoint);
+        publishCurveChanged(previousCurveId);
+        if (!Objects.equals(previousCurveId, curvePoint.getCurveId())) {
+            publishCurveChanged(curvePoint.getCurveId());
+        }
     }
 
     /**
@@ -43,16 +60,19 @@ public class CurvePointService {
      * @param id the curve point ID
      * @return true if ID already exists
      */
-    public boolean checkIfIdExists(int id) {
+    @Transactional(readOnly = true)
+    public boolean checkIfIdExists(long id) {
         return curvePointRepository.existsById(id);
     }
 
     /**
-     * Delete an existent Curve Point from the DB
+     * Delete an existent Curve Point from the DB, its curve being rebuilt in the CurveEngine after commit
      * @param id the curve point ID
      */
-    public void deleteCurvePointById(int id) {
+    public void deleteCurvePointById(long id) {
+        Optional<CurvePoint> curvePoint = curvePointRepository.findById(id);
         curvePointRepository.deleteById(id);
+        curvePoint.ifPresent(deleted -> publishCurveChanged(deleted.getCurveId()));
     }
 
     /**
@@ -61,7 +81,8 @@ public class CurvePointService {
      * @param curvePointId the curve point ID
      * @return CurvePointModel found with the ID
      */
-    public Optional<CurvePoint> getCurvePointById(int curvePointId) {
+    @Transactional(readOnly = true)
+    public Optional<CurvePoint> getCurvePointById(long curvePointId) {
         return curvePointRepository.findById(curvePointId);
     }
 
@@ -73,4 +94,32 @@ public class CurvePointService {
     public LocalDateTime getDateForFieldCreationDate(){
         return LocalDateTime.now();
     }
+
+    private void publishCurveChanged(Integer curveId) {
+        if (curveId != null) {
+            eventPublisher.publishEvent(new CurveEngine.CurveChangedEvent(curveId));
+        }
+    }
+
+    /**
+     * Get a page of curve points projected on their summary
+     *
+     * @param pageable the page request
+     * @return the page of summaries
+     */
+    @Transactional(readOnly = true)
+    public Page<CurvePointSummary> getCurvePointSummaries(Pageable pageable) {
+        return curvePointRepository.findAllProjectedBy(pageable, CurvePointSummary.class);
+    }
+
+    /**
+     * Get a curve point projected on its summary
+     *
+     * @param id the curve point ID
+     * @return the summary, empty if no curve point has the ID
+     */
+    @Transactional(readOnly = true)
+    public Optional<CurvePointSummary> getCurvePointSummaryById(long id) {
+        return curvePointRepository.findProjectedById(id, CurvePointSummary.class);
+    }
 }
\ No newline at end of file
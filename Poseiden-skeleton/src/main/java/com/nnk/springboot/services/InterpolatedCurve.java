@@ -0,0 +1,118 @@
+package com.nnk.springboot.services;
+
+import java.util.Arrays;
+
+/**
+ * Immutable curve built from the points of one curve id, held as primitive arrays sorted by term.
+ * Natural cubic spline second derivatives are computed once at construction, so a lookup is a binary
+ * search plus a few multiplications and allocates nothing. Outside the known terms the curve is flat.
+ */
+public final class InterpolatedCurve {
+
+    /**
+     * Interpolation methods between two known terms
+     */
+    public enum Interpolation {
+        LINEAR,
+        CUBIC_SPLINE
+    }
+
+    private final int curveId;
+    private final double[] terms;
+    private final double[] values;
+    private final double[] secondDerivatives;
+
+    /**
+     * Build a curve; the arrays are copied.
+     *
+     * @param curveId the curve id
+     * @param terms   the terms, strictly increasing
+     * @param values  the value at each term
+     * @throws IllegalArgumentException the arrays are empty, differ in length or the terms are not increasing
+     */
+    public InterpolatedCurve(int curveId, double[] terms, double[] values) {
+        if (terms.length == 0 || terms.length != values.length) {
+            throw new IllegalArgumentException("A curve needs as many values as terms, and at least one");
+        }
+        for (int i = 1; i < terms.length; i++) {
+            if (!(terms[i] > terms[i - 1])) {
+                throw new IllegalArgumentException("Curve terms must be strictly increasing");
+            }
+        }
+        this.curveId = curveId;
+        this.terms = terms.clone();
+        this.values = values.clone();
+        this.secondDerivatives = naturalSplineSecondDerivatives(this.terms, this.values);
+    }
+
+    public int getCurveId() {
+        return curveId;
+    }
+
+    public int size() {
+        return terms.length;
+    }
+
+    public double[] getTerms() {
+        return terms.clone();
+    }
+
+    public double[] getValues() {
+        return values.clone();
+    }
+
+    /**
+     * Get the curve value at a term
+     *
+     * @param term          the term, anywhere on the real line
+     * @param interpolation the interpolation method between the surrounding known terms
+     * @return the interpolated value, or the value of the nearest end outside the known terms
+     */
+    public double valueAt(double term, Interpolation interpolation) {
+        int last = terms.length - 1;
+        if (term <= terms[0]) {
+            return values[0];
+        }
+        if (term >= terms[last]) {
+            return values[last];
+        }
+        int index = Arrays.binarySearch(terms, term);
+        if (index >= 0) {
+            return values[index];
+        }
+        int hi = -index - 1;
+        int lo = hi - 1;
+        double h = terms[hi] - terms[lo];
+        double a = (terms[hi] - term) / h;
+        double b = (term - terms[lo]) / h;
+        double linear = a * values[lo] + b * values[hi];
+        if (interpolation == Interpolation.LINEAR) {
+            return linear;
+        }
+        return linear + ((a * a * a - a) * secondDerivatives[lo] + (b * b * b - b) * secondDerivatives[hi]) * h * h / 6.0;
+    }
+
+    /**
+     * Solve the tridiagonal system of a natural cubic spline (zero second derivative at both ends).
+     */
+    private static double[] naturalSplineSecondDerivatives(double[] x, double[] y) {
+        int n = x.length;
+        double[] y2 = new double[n];
+        if (n < 3) {
+            return y2;
+        }
+        double[] u = new double[n - 1];
+        for (int i = 1; i < n - 1; i++) {
+            double sig = (x[i] - x[i - 1]) / (x[i + 1] - x[i - 1]);
+            double p = sig * y2[i - 1] + 2.0;
+            y2[i] = (sig - 1.0) / p;
+            double slopeChange = (y[i + 1] - y[i]) / (x[i + 1] - x[i]) - (y[i] - y[i - 1]) / (x[i] - x[i - 1]);
+            u[i] = (6.0 * slopeChange / (x[i + 1] - x[i - 1]) - sig * u[i - 1]) / p;
+        }
+        y2[n - 1] = 0.0;
+        for (int k = n - 2; k >= 0; k--) {
+            y2[k] = y2[k] * y2[k + 1] + u[k];
+        }
+        return y2;
+    }
+}
@@ -0,0 +1,95 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.config.CacheConfig;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.BidListRow;
+import com.nnk.springboot.repositories.TradeRow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Rendered rows of the trade and bid list pages, cached by entity id with the version they were rendered for.
+ * A row is rendered from its fragment in fragments/rows.html the first time it is listed, then copied as is into
+ * the pages listing it again, until its entity is saved with a new version or deleted: the list templates evaluate
+ * one expression per row instead of every expression of the row.
+ */
+@Service
+public class ListRowRenderer {
+
+    private static final String ROWS_TEMPLATE = "fragments/rows";
+
+    /**
+     * A rendered row
+     *
+     * @param version the version of the entity it was rendered for
+     * @param html    the rendered row
+     */
+    private record RenderedRow(Integer version, String html) {
+    }
+
+    private final ITemplateEngine templateEngine;
+    private final Cache tradeRows;
+    private final Cache bidListRows;
+
+    @Autowired
+    public ListRowRenderer(ITemplateEngine templateEngine, CacheManager cacheManager) {
+        this.templateEngine = templateEngine;
+        this.tradeRows = cacheManager.getCache(CacheConfig.TRADE_ROWS_CACHE);
+        this.bidListRows = cacheManager.getCache(CacheConfig.BID_LIST_ROWS_CACHE);
+    }
+
+    /**
+     * Get the rendered row of a trade
+     *
+     * @param trade the trade as listed
+     * @return the row HTML
+     */
+    public String tradeRow(TradeRow trade) {
+        return render(tradeRows, trade.tradeId(), trade.version(), "tradeRow", trade);
+    }
+
+    /**
+     * Get the rendered row of a bid
+     *
+     * @param bidList the bid as listed
+     * @return the row HTML
+     */
+    public String bidListRow(BidListRow bidList) {
+        return render(bidListRows, bidList.id(), bidList.version(), "bidListRow", bidList);
+    }
+
+    /**
+     * Forget the rendered row of a saved or deleted trade or bid, once its transaction has committed
+     *
+     * @param event the change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(ChangeStreamService.EntityChangedEvent event) {
+        if (Trade.class.getSimpleName().equals(event.entityType())) {
+            tradeRows.evict(event.id());
+        } else if (BidList.class.getSimpleName().equals(event.entityType())) {
+            bidListRows.evict(event.id());
+        }
+    }
+
+    private String render(Cache rows, Long id, Integer version, String fragment, Object row) {
+        if (rows.get(id, RenderedRow.class) instanceof RenderedRow rendered
+                && Objects.equals(rendered.version(), version)) {
+            return rendered.html();
+        }
+        String html = templateEngine.process(ROWS_TEMPLATE, Set.of(fragment), new Context(Locale.ROOT, Map.of("row", row)));
+        rows.put(id, new RenderedRow(version, html));
+        return html;
+    }
+}
@@ -0,0 +1,100 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.BidListRow;
+import com.nnk.springboot.repositories.SearchCriteria;
+import com.nnk.springboot.repositories.SearchSpecifications;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.repositories.TradeRow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Rows of the streamed trade and bid lists, read in pages of projected records ordered by id, each page starting
+ * after the last id of the previous one. A page is read in its own read-only transaction, then written and flushed
+ * with no connection held: a slow client does not keep a connection from the pool, and the memory used by a request
+ * does not depend on the number of rows listed. A row changed while the list is written shows as of the page
+ * reading it.
+ */
+@Service
+public class ListStreamService {
+
+    private final TradeRepository tradeRepository;
+    private final BidListRepository bidListRepository;
+    private final ListRowRenderer listRowRenderer;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int pageSize;
+
+    @Autowired
+    public ListStreamService(TradeRepository tradeRepository, BidListRepository bidListRepository,
+                             ListRowRenderer listRowRenderer, PlatformTransactionManager transactionManager,
+                             @Value("${lists.stream.page-size:500}") int pageSize) {
+        this.tradeRepository = tradeRepository;
+        this.bidListRepository = bidListRepository;
+        this.listRowRenderer = listRowRenderer;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Write the rows of the trades matching the criteria, ordered by id
+     *
+     * @param criteria the search criteria
+     * @param writer   the destination, typically the HTTP response writer
+     * @return the number of rows written
+     * @throws IOException the writer failed
+     */
+    public long writeTradeRows(SearchCriteria criteria, Writer writer) throws IOException {
+        Specification<Trade> matching = SearchSpecifications.matching(criteria, "tradeDate");
+        return writeRows(afterId -> tradeRepository.findProjected(
+                        matching.and(SearchSpecifications.idAfter("tradeId", afterId)), pageSize, TradeRow.class),
+                TradeRow::tradeId, listRowRenderer::tradeRow, writer);
+    }
+
+    /**
+     * Write the rows of the bids matching the criteria, ordered by id
+     *
+     * @param criteria the search criteria
+     * @param writer   the destination, typically the HTTP response writer
+     * @return the number of rows written
+     * @throws IOException the writer failed
+     */
+    public long writeBidListRows(SearchCriteria criteria, Writer writer) throws IOException {
+        Specification<BidList> matching = SearchSpecifications.matching(criteria, "bidListDate");
+        return writeRows(afterId -> bidListRepository.findProjected(
+                        matching.and(SearchSpecifications.idAfter("id", afterId)), pageSize, BidListRow.class),
+                BidListRow::id, listRowRenderer::bidListRow, writer);
+    }
+
+    private <R> long writeRows(Function<Long, List<R>> pages, Function<R, Long> id, Function<R, String> renderer,
+                               Writer writer) throws IOException {
+        long count = 0;
+        Long afterId = null;
+        List<R> page;
+        do {
+            Long lastId = afterId;
+            page = readOnlyTransaction.execute(status -> pages.apply(lastId));
+            for (R row : page) {
+                writer.write(renderer.apply(row));
+            }
+            writer.flush();
+            count += page.size();
+            if (!page.isEmpty()) {
+                afterId = id.apply(page.get(page.size() - 1));
+            }
+        } while (page.size() == pageSize);
+        return count;
+    }
+}
@@ -0,0 +1,65 @@
+package com.nnk.springboot.services;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import javax.validation.constraints.NotNull;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Partial update of a managed entity: only the given fields are set, so that with dynamic updates only their
+ * columns are written when the transaction commits, and the version column detects a concurrent change.
+ */
+final class PartialUpdate {
+
+    private PartialUpdate() {
+    }
+
+    /**
+     * Check that the entity is still at the version the change was based on
+     *
+     * @param type            the entity type
+     * @param id              the entity id
+     * @param expectedVersion the version the client read, null to skip the check
+     * @param version         the current version of the entity
+     * @throws ObjectOptimisticLockingFailureException the entity has changed since
+     */
+    static void checkVersion(Class<?> type, Object id, Integer expectedVersion, Integer version) {
+        if (expectedVersion != null && !expectedVersion.equals(version)) {
+            throw new ObjectOptimisticLockingFailureException(type, id);
+        }
+    }
+
+    /**
+     * Set the given fields of an entity, converting the values to the field types; an empty text clears a number
+     *
+     * @param entity          the managed entity
+     * @param fields          the new values by field name
+     * @param updatableFields the names of the fields that may be updated
+     * @throws IllegalArgumentException a field cannot be updated, or its value is null or of the wrong type
+     */
+    static void apply(Object entity, Map<String, ?> fields, Set<String> updatableFields) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+        for (Map.Entry<String, ?> field : fields.entrySet()) {
+            String name = field.getKey();
+            if (!updatableFields.contains(name)) {
+                throw new IllegalArgumentException("Field " + name + " cannot be updated");
+            }
+            Object value = field.getValue();
+            if ("".equals(value) && wrapper.getPropertyType(name) != String.class) {
+                value = null;
+            }
+            if (value == null && wrapper.getPropertyTypeDescriptor(name).hasAnnotation(NotNull.class)) {
+                throw new IllegalArgumentException(name + " must not be null");
+            }
+            try {
+                wrapper.setPropertyValue(name, value);
+            } catch (TypeMismatchException e) {
+                throw new IllegalArgumentException("Invalid value for " + name + ": " + value, e);
+            }
+        }
+    }
+}
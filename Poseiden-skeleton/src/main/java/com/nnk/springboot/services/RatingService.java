@@ -1,8 +1,13 @@
 package com.nnk.springboot.services;
 
+import com.nnk.springboot.config.MetricsConfig;
 import com.nnk.springboot.domain.Rating;
 import com.nnk.springboot.repositories.RatingRepository;
+import com.nnk.springboot.repositories.RatingSummary;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -10,6 +15,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @Transactional
 public class RatingService {
 
@@ -34,7 +40,7 @@ public class RatingService {
      * @param id the rating ID
      * @return true if ID already exists
      */
-    public boolean checkIfIdExists(int id) {
+    public boolean checkIfIdExists(long id) {
         return ratingRepository.existsById(id);
     }
 
@@ -50,7 +56,7 @@ public class RatingService {
      * Delete an existent rating from the DB
      * @param id the rating ID
      */
-    public void deleteRatingById(int id) {
+    public void deleteRatingById(long id) {
         ratingRepository.deleteById(id);
     }
 
@@ -60,7 +66,29 @@ public class RatingService {
      * @param id the rating ID
      * @return RatingModel found with the ID
      */
-    public Optional<Rating> getRatingById(int id) {
+    public Optional<Rating> getRatingById(long id) {
         return ratingRepository.findById(id);
     }
+
+    /**
+     * Get a page of ratings projected on their summary
+     *
+     * @param pageable the page request
+     * @return the page of summaries
+     */
+    @Transactional(readOnly = true)
+    public Page<RatingSummary> getRatingSummaries(Pageable pageable) {
+        return ratingRepository.findAllProjectedBy(pageable, RatingSummary.class);
+    }
+
+    /**
+     * Get a rating projected on its summary
+     *
+     * @param id the rating ID
+     * @return the summary, empty if no rating has the ID
+     */
+    @Transactional(readOnly = true)
+    public Optional<RatingSummary> getRatingSummaryById(long id) {
+        return ratingRepository.findProjectedById(id, RatingSummary.class);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.repositories.RuleNameRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Evaluates rule names against batches of records, such as bid lists or trades. A rule is read and compiled
+ * the first time it is evaluated, then its compiled form is reused until the rule is saved or deleted: the
+ * JSON of a rule is parsed once, not on every evaluation.
+ */
+@Service
+public class RuleEngine {
+
+    /**
+     * Published when a rule name is saved or deleted
+     *
+     * @param ruleId the id of the changed rule
+     */
+    public record RuleChangedEvent(long ruleId) {
+    }
+
+    private final RuleNameRepository ruleNameRepository;
+    private final Map<Long, CompiledRule> rules = new ConcurrentHashMap<>();
+
+    /**
+     * Number of rule changes so far, telling whether a rule changed while another was read and compiled
+     */
+    private final AtomicLong changes = new AtomicLong();
+
+    @Autowired
+    public RuleEngine(RuleNameRepository ruleNameRep) {
+        this.ruleNameRepository = ruleNameRep;
+    }
+
+    /**
+     * Get the compiled form of a rule, compiling it if needed
+     *
+     * @param ruleId the rule id
+     * @return the compiled rule
+     * @throws NoSuchElementException   no rule has the id
+     * @throws IllegalArgumentException the condition of the rule is not valid
+     */
+    public CompiledRule getRule(long ruleId) {
+        CompiledRule rule = rules.get(ruleId);
+        if (rule != null) {
+            return rule;
+        }
+        // Read outside the map, which would otherwise lock other rules during the query. A rule changed meanwhile
+        // may have been read as it was before: it is then not kept, or dropped again once put
+        long changesBefore = changes.get();
+        CompiledRule compiled = ruleNameRepository.findById(ruleId)
+                .map(ruleName -> CompiledRule.compile(ruleId, ruleName.getJson()))
+                .orElseThrow(() -> new NoSuchElementException("Unknown rule: " + ruleId));
+        if (changes.get() != changesBefore) {
+            return compiled;
+        }
+        CompiledRule cached = rules.putIfAbsent(ruleId, compiled);
+        if (cached != null) {
+            return cached;
+        }
+        if (changes.get() != changesBefore) {
+            rules.remove(ruleId, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * Evaluate a rule against a batch of records
+     *
+     * @param ruleId  the rule id
+     * @param type    the record type
+     * @param records the records
+     * @param <T>     the record type
+     * @return the indexes of the matching records
+     */
+    public <T> BitSet evaluate(long ruleId, Class<T> type, List<? extends T> records) {
+        return getRule(ruleId).evaluate(type, records);
+    }
+
+    /**
+     * Keep the records matching a rule
+     *
+     * @param ruleId  the rule id
+     * @param type    the record type
+     * @param records the records
+     * @param <T>     the record type
+     * @return the matching records, in their original order
+     */
+    public <T> List<T> filter(long ruleId, Class<T> type, List<? extends T> records) {
+        return getRule(ruleId).filter(type, records);
+    }
+
+    /**
+     * Drop the compiled form of a changed rule once its transaction has committed
+     *
+     * @param event the change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRuleChanged(RuleChangedEvent event) {
+        changes.incrementAndGet();
+        rules.remove(event.ruleId());
+    }
+}
@@ -1,21 +1,31 @@
 package com.nnk.springboot.services;
 
+import com.nnk.springboot.config.MetricsConfig;
 import com.nnk.springboot.domain.RuleName;
 import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.repositories.RuleNameSummary;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class RuleNameService {
 
     private final RuleNameRepository ruleNameRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public RuleNameService(RuleNameRepository ruleNameRep) {
+    public RuleNameService(RuleNameRepository ruleNameRep, ApplicationEventPublisher eventPublisher) {
         this.ruleNameRepository = ruleNameRep;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -33,26 +43,30 @@ public class RuleNameService {
      * @param id the rule name ID
      * @return true if ID already exists
      */
-    public boolean checkIfIdExists(int id) {
+    public boolean checkIfIdExists(long id) {
         return ruleNameRepository.existsById(id);
     }
 
     /**
-     * Save a new rule name in the DB
+     * Save a new rule name in the DB, dropping its compiled form from the rule engine
      *
      * @param ruleName the RuleNameModel to save
      */
     public void saveRuleName(RuleName ruleName) {
         ruleNameRepository.save(ruleName);
+        if (ruleName.getId() != null) {
+            eventPublisher.publishEvent(new RuleEngine.RuleChangedEvent(ruleName.getId()));
+        }
     }
 
     /**
-     * Delete an existent rule name from the DB
+     * Delete an existent rule name from the DB, dropping its compiled form from the rule engine
      *
      * @param id the rule name ID
      */
-    public void deleteRuleNameById(int id) {
+    public void deleteRuleNameById(long id) {
         ruleNameRepository.deleteById(id);
+        eventPublisher.publishEvent(new RuleEngine.RuleChangedEvent(id));
     }
 
     /**
@@ -61,7 +75,29 @@ public class RuleNameService {
      * @param id the rule name ID
      * @return RuleNameModel found with the ID
      */
-    public Optional<RuleName> getRuleNameById(int id) {
+    public Optional<RuleName> getRuleNameById(long id) {
         return ruleNameRepository.findById(id);
     }
+
+    /**
+     * Get a page of rules projected on their summary
+     *
+     * @param pageable the page request
+     * @return the page of summaries
+     */
+    @Transactional(readOnly = true)
+    public Page<RuleNameSummary> getRuleNameSummaries(Pageable pageable) {
+        return ruleNameRepository.findAllProjectedBy(pageable, RuleNameSummary.class);
+    }
+
+    /**
+     * Get a rule projected on its summary
+     *
+     * @param id the rule ID
+     * @return the summary, empty if no rule has the ID
+     */
+    @Transactional(readOnly = true)
+    public Optional<RuleNameSummary> getRuleNameSummaryById(long id) {
+        return ruleNameRepository.findProjectedById(id, RuleNameSummary.class);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,171 @@
+package com.nnk.springboot.services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.TradeRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@Service
+public class TradeExportService {
+
+    /**
+     * Exported columns, in output order
+     */
+    private static final Map<String, Function<Trade, Object>> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put("id", Trade::getTradeId);
+        COLUMNS.put("account", Trade::getAccount);
+        COLUMNS.put("type", Trade::getType);
+        COLUMNS.put("buyQuantity", Trade::getBuyQuantity);
+        COLUMNS.put("sellQuantity", Trade::getSellQuantity);
+        COLUMNS.put("buyPrice", Trade::getBuyPrice);
+        COLUMNS.put("sellPrice", Trade::getSellPrice);
+        COLUMNS.put("benchmark", Trade::getBenchmark);
+        COLUMNS.put("tradeDate", Trade::getTradeDate);
+        COLUMNS.put("security", Trade::getSecurity);
+        COLUMNS.put("status", Trade::getStatus);
+        COLUMNS.put("trader", Trade::getTrader);
+        COLUMNS.put("book", Trade::getBook);
+        COLUMNS.put("creationName", Trade::getCreationName);
+        COLUMNS.put("creationDate", Trade::getCreationDate);
+        COLUMNS.put("revisionName", Trade::getRevisionName);
+        COLUMNS.put("revisionDate", Trade::getRevisionDate);
+        COLUMNS.put("dealName", Trade::getDealName);
+        COLUMNS.put("dealType", Trade::getDealType);
+        COLUMNS.put("sourceListId", Trade::getSourceListId);
+        COLUMNS.put("side", Trade::getSide);
+    }
+
+    /**
+     * Supported export formats
+     */
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private final TradeRepository tradeRepository;
+    private final EntityManager entityManager;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final int fetchSize;
+
+    @Autowired
+    public TradeExportService(TradeRepository tradeRep, EntityManager entityManager,
+                              @Value("${trade.export.fetch-size:1000}") int fetchSize) {
+        this.tradeRepository = tradeRep;
+        this.entityManager = entityManager;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Write every trade to the writer, row by row, as they are read from the database cursor.
+     * Each trade is detached once written so the persistence context does not grow with the export.
+     *
+     * @param format the output format
+     * @param writer the destination, typically the HTTP response writer
+     * @return the number of exported trades
+     * @throws IOException the writer failed
+     */
+    @Transactional(readOnly = true)
+    public long exportTrades(Format format, Writer writer) throws IOException {
+        long count = 0;
+        try (Stream<Trade> trades = tradeRepository.streamAll(fetchSize)) {
+            Iterator<Trade> iterator = trades.iterator();
+            if (format == Format.CSV) {
+                writeCsvRow(writer, COLUMNS.keySet());
+            }
+            while (iterator.hasNext()) {
+                Trade trade = iterator.next();
+                if (format == Format.CSV) {
+                    writeCsvRow(writer, COLUMNS.values().stream().map(column -> column.apply(trade)).toList());
+                } else {
+                    writeJsonLine(writer, trade);
+                }
+                entityManager.detach(trade);
+                count++;
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private void writeCsvRow(Writer writer, Iterable<?> values) throws IOException {
+        boolean first = true;
+        for (Object value : values) {
+            if (!first) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(value));
+            first = false;
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeJsonLine(Writer writer, Trade trade) throws IOException {
+        JsonGenerator generator = jsonFactory.createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.writeStartObject();
+        for (Map.Entry<String, Function<Trade, Object>> column : COLUMNS.entrySet()) {
+            Object value = column.getValue().apply(trade);
+            if (value == null) {
+                generator.writeNullField(column.getKey());
+            } else if (value instanceof Long number) {
+                generator.writeNumberField(column.getKey(), number);
+            } else if (value instanceof Double number) {
+                generator.writeNumberField(column.getKey(), number);
+            } else {
+                generator.writeStringField(column.getKey(), value.toString());
+            }
+        }
+        generator.writeEndObject();
+        generator.flush();
+        writer.write('\n');
+    }
+
+    /**
+     * Quote a CSV value if it contains a separator, a quote or a line break (RFC 4180)
+     *
+     * @param value the value to write, null giving an empty field
+     * @return the escaped value
+     */
+    private static String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,84 @@
+package com.nnk.springboot.services;
+
+import com.nnk.springboot.repositories.TradePosition;
+import com.nnk.springboot.repositories.TradeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Trade positions by account, book and security, kept in memory. They are computed once by a grouped query
+ * when the application is ready; afterwards each saved or deleted trade is subtracted from or added to its
+ * position once its transaction has committed, so reading the positions never scans the trade table.
+ */
+@Service
+public class TradePositionService {
+
+    /**
+     * Published when a trade is saved or deleted
+     *
+     * @param removed the contribution of the trade before the change, null for a new trade
+     * @param added   the contribution of the trade after the change, null for a deleted trade
+     */
+    public record TradeChangedEvent(TradePosition removed, TradePosition added) {
+    }
+
+    private final TradeRepository tradeRepository;
+
+    /**
+     * Positions keyed by their account, book and security
+     */
+    private final ConcurrentSkipListMap<TradePosition, TradePosition> positions = new ConcurrentSkipListMap<>(TradePosition.ORDER);
+
+    @Autowired
+    public TradePositionService(TradeRepository tradeRep) {
+        this.tradeRepository = tradeRep;
+    }
+
+    /**
+     * Get the positions
+     *
+     * @return the positions sorted by account, book and security
+     */
+    public List<TradePosition> getPositions() {
+        return new ArrayList<>(positions.values());
+    }
+
+    /**
+     * (Re)compute every position from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void loadAll() {
+        List<TradePosition> loaded = tradeRepository.findPositions();
+        positions.clear();
+        for (TradePosition position : loaded) {
+            positions.put(position, position);
+        }
+    }
+
+    /**
+     * Move a changed trade from its previous position to its new one, once the transaction has committed
+     *
+     * @param event the change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTradeChanged(TradeChangedEvent event) {
+        if (event.removed() != null) {
+            positions.computeIfPresent(event.removed(), (key, position) -> {
+                TradePosition updated = position.minus(event.removed());
+                return updated.isEmpty() ? null : updated;
+            });
+        }
+        if (event.added() != null) {
+            positions.merge(event.added(), event.added(), TradePosition::plus);
+        }
+    }
+}
@@ -1,25 +1,50 @@
 package com.nnk.springboot.services;
 
 
+import com.nnk.springboot.config.MetricsConfig;
 import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.TradePosition;
+import com.nnk.springboot.repositories.SearchCriteria;
+import com.nnk.springboot.repositories.SearchSpecifications;
 import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.repositories.TradeRow;
+import com.nnk.springboot.repositories.TradeSummary;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @Transactional
 public class TradeService {
 
+    /**
+     * Fields a partial update may set: the business fields, not the id, version, audit names or dates
+     */
+    public static final Set<String> UPDATABLE_FIELDS = Set.of("account", "type", "buyQuantity", "sellQuantity",
+            "buyPrice", "sellPrice", "benchmark", "security", "status", "trader", "book", "dealName", "dealType",
+            "sourceListId", "side");
+
+    private static final String ENTITY_TYPE = Trade.class.getSimpleName();
+
     private final TradeRepository tradeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public TradeService(TradeRepository tradeRep) {
+    public TradeService(TradeRepository tradeRep, ApplicationEventPublisher eventPublisher) {
         this.tradeRepository = tradeRep;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -27,7 +52,8 @@ public class TradeService {
      * @param id the trade ID
      * @return true if ID already exists
      */
-    public boolean checkIfTradeIdExists(int id) {
+    @Transactional(readOnly = true)
+    public boolean checkIfTradeIdExists(long id) {
         return tradeRepository.existsById(id);
     }
 
@@ -36,24 +62,62 @@ public class TradeService {
      *
      * @return list of TradeModel containing all trade models
      */
+    @Transactional(readOnly = true)
     public List<Trade> getAllTrades() {
         return tradeRepository.findAll();
     }
 
     /**
-     * Save a new trade in the DB
+     * Save a new trade in the DB, its position being updated in the TradePositionService and the change streamed
+     * by the ChangeStreamService after commit. The saved trade is flushed first, so the events carry its new version.
      * @param trade the TradeModel to save
+     * @return the saved trade
      */
-    public void saveTrade(Trade trade) {
-        tradeRepository.save(trade);
+    public Trade saveTrade(Trade trade) {
+        AuditService.Action action = trade.getTradeId() == null ? AuditService.Action.CREATE : AuditService.Action.UPDATE;
+        TradePosition removed = trade.getTradeId() == null ? null
+                : tradeRepository.findById(trade.getTradeId()).map(TradePosition::of).orElse(null);
+        Trade saved = tradeRepository.saveAndFlush(trade);
+        eventPublisher.publishEvent(new TradePositionService.TradeChangedEvent(removed, TradePosition.of(saved)));
+        eventPublisher.publishEvent(new ChangeStreamService.EntityChangedEvent(ENTITY_TYPE, saved.getTradeId(), action, saved));
+        return saved;
     }
 
     /**
-     * Delete an existent trade from the DB
+     * Update some fields of a trade: the trade is loaded and only the given fields are set, so only their columns
+     * are written, its position being updated and the change streamed after commit. The update fails if the
+     * trade is no longer at the expected version.
+     *
+     * @param id              the trade ID
+     * @param expectedVersion the version the changes are based on, null to overwrite whatever the version
+     * @param fields          the new values by field name, see UPDATABLE_FIELDS
+     * @return the updated trade
+     * @throws NoSuchElementException no trade has the ID
+     * @throws IllegalArgumentException a field cannot be updated or its value is invalid
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException the trade has changed since the expected version
+     */
+    public Trade updateTrade(long id, Integer expectedVersion, Map<String, ?> fields) {
+        Trade trade = tradeRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("No trade with id " + id));
+        PartialUpdate.checkVersion(Trade.class, id, expectedVersion, trade.getVersion());
+        TradePosition removed = TradePosition.of(trade);
+        PartialUpdate.apply(trade, fields, UPDATABLE_FIELDS);
+        eventPublisher.publishEvent(new TradePositionService.TradeChangedEvent(removed, TradePosition.of(trade)));
+        eventPublisher.publishEvent(new ChangeStreamService.EntityChangedEvent(ENTITY_TYPE, id, AuditService.Action.UPDATE, trade));
+        return trade;
+    }
+
+    /**
+     * Delete an existent trade from the DB, its position being updated and the deletion streamed after commit
      * @param id the trade ID
      */
-    public void deleteTradeById(int id) {
+    public void deleteTradeById(long id) {
+        Optional<TradePosition> removed = tradeRepository.findById(id).map(TradePosition::of);
         tradeRepository.deleteById(id);
+        removed.ifPresent(position -> {
+            eventPublisher.publishEvent(new TradePositionService.TradeChangedEvent(position, null));
+            eventPublisher.publishEvent(new ChangeStreamService.EntityChangedEvent(ENTITY_TYPE, id, AuditService.Action.DELETE, null));
+        });
     }
 
     /**
@@ -62,7 +126,8 @@ public class TradeService {
      * @param id the trade ID
      * @return TradeModel found with the ID
      */
-    public Optional<Trade> getTradeById(int id) {
+    @Transactional(readOnly = true)
+    public Optional<Trade> getTradeById(long id) {
         return tradeRepository.findById(id);
     }
     /**
@@ -73,4 +138,42 @@ public class TradeService {
     public LocalDateTime getCreationDateForDateFields() {
         return LocalDateTime.now();
     }
+
+    /**
+     * Get a page of the trades matching the criteria, projected on the columns of the list page: no trade is
+     * loaded into the persistence context. The count query only runs when the page is full, the total being
+     * known otherwise
+     *
+     * @param criteria the search criteria
+     * @param pageable the page request
+     * @return the page of trade rows
+     */
+    @Transactional(readOnly = true)
+    public Page<TradeRow> searchTrades(SearchCriteria criteria, Pageable pageable) {
+        return tradeRepository.findProjected(SearchSpecifications.matching(criteria, "tradeDate"), pageable, TradeRow.class);
+    }
+
+    /**
+     * Get a page of the trades matching the criteria, projected on their summary: only the summary columns are
+     * selected. The count query only runs when the page is full
+     *
+     * @param criteria the search criteria
+     * @param pageable the page request
+     * @return the page of summaries
+     */
+    @Transactional(readOnly = true)
+    public Page<TradeSummary> getTradeSummaries(SearchCriteria criteria, Pageable pageable) {
+        return tradeRepository.findProjected(SearchSpecifications.matching(criteria, "tradeDate"), pageable, TradeSummary.class);
+    }
+
+    /**
+     * Get a trade projected on its summary
+     *
+     * @param id the trade ID
+     * @return the summary, empty if no trade has the ID
+     */
+    @Transactional(readOnly = true)
+    public Optional<TradeSummary> getTradeSummaryById(long id) {
+        return tradeRepository.findProjectedByTradeId(id, TradeSummary.class);
+    }
 }
\ No newline at end of file
@@ -1,42 +1,95 @@
 package com.nnk.springboot.services;
 
 
+import com.nnk.springboot.config.CacheConfig;
 import com.nnk.springboot.repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashSet;
 import java.util.Set;
 
 @Service
-public class  UserDetailsServiceImpl implements UserDetailsService {
+public class  UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
+
+    /**
+     * What is kept in the cache: an immutable copy of the user. Spring Security erases the password of the
+     * UserDetails once authenticated, so the cached instance itself must never be handed out.
+     */
+    private record CachedUser(String username, String password, Set<GrantedAuthority> authorities) {
+    }
+
+    private final UserRepository userRepository;
+    private final Cache userDetailsCache;
 
     @Autowired
-    UserRepository userRepository;
+    public UserDetailsServiceImpl(UserRepository userRepository, CacheManager cacheManager) {
+        this.userRepository = userRepository;
+        this.userDetailsCache = cacheManager.getCache(CacheConfig.USER_DETAILS_CACHE);
+    }
 
     /**
      * Load a user by username with specific authorities depending on its role
      * @Override of method loadUserByUserName from UserDetailsService
+     * The user is read from the users table only on a cache miss.
      * @param username the username equals the user email address
      * @return UserDetails model including username (e-mail address), password and authority)
      * @throws UsernameNotFoundException user cannot be found
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Set<GrantedAuthority> grantedAuthorities = new HashSet<>();
-        com.nnk.springboot.domain.User personToLogin = userRepository.findByUsername(username);
-        if(personToLogin.getRole().equals("ADMIN")) {
-            grantedAuthorities.add(new SimpleGrantedAuthority("ADMIN"));
+        CachedUser cachedUser;
+        try {
+            cachedUser = userDetailsCache.get(username, () -> loadFromRepository(username));
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof UsernameNotFoundException notFound) {
+                throw notFound;
+            }
+            throw e;
+        }
+        return new User(cachedUser.username(), cachedUser.password(), cachedUser.authorities());
+    }
+
+    /**
+     * Store the upgraded password hash of a user, called after a successful login with an outdated hash.
+     * The hash is replaced only if it is still the one that was verified, so a password changed meanwhile wins.
+     * @param user the authenticated user, with the verified hash
+     * @param newPassword the new hash
+     * @return the user with the new hash
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        if (userRepository.updatePassword(user.getUsername(), user.getPassword(), newPassword) == 0) {
+            return user;
         }
-        else {
-            grantedAuthorities.add(new SimpleGrantedAuthority("USER"));
+        evictUser(user.getUsername());
+        return User.withUserDetails(user).password(newPassword).build();
+    }
+
+    /**
+     * Remove a user from the cache, to be called whenever the user is changed or deleted
+     * @param username the username of the changed user
+     */
+    public void evictUser(String username) {
+        userDetailsCache.evict(username);
+    }
+
+    private CachedUser loadFromRepository(String username) {
+        com.nnk.springboot.domain.User personToLogin = userRepository.findByUsername(username);
+        if (personToLogin == null) {
+            throw new UsernameNotFoundException("User not found: " + username);
         }
-        return new User(personToLogin.getUsername(), personToLogin.getPassword(), grantedAuthorities);
+        GrantedAuthority authority = new SimpleGrantedAuthority("ADMIN".equals(personToLogin.getRole()) ? "ADMIN" : "USER");
+        return new CachedUser(personToLogin.getUsername(), personToLogin.getPassword(), Set.of(authority));
     }
-}
\ No newline at end of file
+}
@@ -1,26 +1,32 @@
 package com.nnk.springboot.services;
 
 
+import com.nnk.springboot.config.MetricsConfig;
 import com.nnk.springboot.domain.User;
 import com.nnk.springboot.repositories.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class UserService {
 
 	private UserRepository userRepository;
+	private PasswordEncoder passwordEncoder;
 
 	@Autowired
-	public UserService(UserRepository userRep) {
+	public UserService(UserRepository userRep, PasswordEncoder passwordEncoder) {
 		this.userRepository = userRep;
+		this.passwordEncoder = passwordEncoder;
 	}
 
 	/**
@@ -46,7 +52,7 @@ public class UserService {
 	 * @param id the user ID
 	 * @return true if ID already exists
 	 */
-	public boolean checkIfUserExistsById(int id) {
+	public boolean checkIfUserExistsById(long id) {
 		return userRepository.existsById(id);
 	}
 
@@ -56,7 +62,7 @@ public class UserService {
 	 * @param id the user ID
 	 * @return UserModel found with the ID
 	 */
-	public Optional<User> getUserById(int id) {
+	public Optional<User> getUserById(long id) {
 		return userRepository.findById(id);
 	}
 
@@ -81,7 +87,7 @@ public class UserService {
 	 * Delete an existent user from the DB
 	 * @param id the user ID
 	 */
-	public void deleteUserById(int id) {
+	public void deleteUserById(long id) {
 		userRepository.deleteById(id);
 	}
 
@@ -92,7 +98,7 @@ public class UserService {
 	 * @return Encrypted password in the UserModel
 	 */
 	public User setUpUserModel(User user) {
-		user.setPassword(new BCryptPasswordEncoder().encode(user.getPassword()));
+		user.setPassword(passwordEncoder.encode(user.getPassword()));
 		return user;
 	}
 
@@ -101,12 +107,22 @@ public class UserService {
 	 * @return
 	 */
 	public String getCurrentLoggedInUser() {
+		return getCurrentUsername().orElse("Utilisateur non connecté");
+	}
+
+	/**
+	 * Get the name of the authenticated user, whatever the type of its principal
+	 * @return the username, empty when nobody is logged in
+	 */
+	public Optional<String> getCurrentUsername() {
 		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-		if (authentication != null && authentication.getPrincipal() instanceof UserDetails) {
-			UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-			return userDetails.getUsername(); // Cela vous donnera le nom d'utilisateur de l'utilisateur connecté
-		} else {
-			return "Utilisateur non connecté";
+		if (authentication == null || !authentication.isAuthenticated()
+				|| authentication instanceof AnonymousAuthenticationToken) {
+			return Optional.empty();
+		}
+		if (authentication.getPrincipal() instanceof UserDetails userDetails) {
+			return Optional.of(userDetails.getUsername());
 		}
+		return Optional.ofNullable(authentication.getName());
 	}
 }
\ No newline at end of file
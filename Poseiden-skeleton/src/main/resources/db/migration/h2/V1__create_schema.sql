@@ -0,0 +1,117 @@
+-- Schema of the application, validated by Hibernate at startup (spring.jpa.hibernate.ddl-auto=validate).
+-- Ids are BIGINT; the indexes serve the lookups and filters of the repositories.
+
+CREATE TABLE bidlist (
+  id             BIGINT       NOT NULL,
+  version        INT          NOT NULL DEFAULT 0,
+  account        VARCHAR(255) NOT NULL,
+  type           VARCHAR(255) NOT NULL,
+  bid_quantity   DOUBLE,
+  ask_quantity   DOUBLE,
+  bid            DOUBLE,
+  ask            DOUBLE,
+  benchmark      VARCHAR(255),
+  bid_list_date  TIMESTAMP(6),
+  commentary     VARCHAR(255),
+  security       VARCHAR(255),
+  status         VARCHAR(255),
+  trader         VARCHAR(255),
+  book           VARCHAR(255),
+  creation_name  VARCHAR(255),
+  creation_date  TIMESTAMP(6),
+  revision_name  VARCHAR(255),
+  revision_date  TIMESTAMP(6),
+  deal_name      VARCHAR(255),
+  deal_type      VARCHAR(255),
+  source_list_id VARCHAR(255),
+  side           VARCHAR(255),
+  PRIMARY KEY (id)
+);
+
+-- Sequence of the bid ids, allocated by blocks of 50 for the batched inserts of the import
+CREATE SEQUENCE bidlist_seq START WITH 1 INCREMENT BY 50;
+
+CREATE INDEX bidlist_account_type_idx ON bidlist (account, type);
+
+CREATE TABLE trade (
+  id             BIGINT GENERATED BY DEFAULT AS IDENTITY,
+  version        INT          NOT NULL DEFAULT 0,
+  account        VARCHAR(255) NOT NULL,
+  type           VARCHAR(255) NOT NULL,
+  buy_quantity   DOUBLE       NOT NULL,
+  sell_quantity  DOUBLE,
+  buy_price      DOUBLE,
+  sell_price     DOUBLE,
+  benchmark      VARCHAR(255),
+  trade_date     TIMESTAMP(6),
+  security       VARCHAR(255),
+  status         VARCHAR(255),
+  trader         VARCHAR(255),
+  book           VARCHAR(255),
+  creation_name  VARCHAR(255),
+  creation_date  TIMESTAMP(6),
+  revision_name  VARCHAR(255),
+  revision_date  TIMESTAMP(6),
+  deal_name      VARCHAR(255),
+  deal_type      VARCHAR(255),
+  source_list_id VARCHAR(255),
+  side           VARCHAR(255),
+  PRIMARY KEY (id)
+);
+
+CREATE INDEX trade_account_book_security_idx ON trade (account, book, security);
+
+CREATE TABLE curvepoint (
+  id            BIGINT GENERATED BY DEFAULT AS IDENTITY,
+  curve_id      INT NOT NULL,
+  as_of_date    TIMESTAMP(6),
+  term          DOUBLE,
+  "value"       DOUBLE,
+  creation_date TIMESTAMP(6),
+  PRIMARY KEY (id)
+);
+
+CREATE INDEX curvepoint_curve_id_term_idx ON curvepoint (curve_id, term);
+
+CREATE TABLE rating (
+  id            BIGINT GENERATED BY DEFAULT AS IDENTITY,
+  moodys_rating VARCHAR(255) NOT NULL,
+  sandp_rating  VARCHAR(255) NOT NULL,
+  fitch_rating  VARCHAR(255) NOT NULL,
+  order_number  INT          NOT NULL,
+  PRIMARY KEY (id)
+);
+
+CREATE TABLE rulename (
+  id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+  name        VARCHAR(255),
+  description VARCHAR(255),
+  json        CLOB,
+  template    VARCHAR(255),
+  sql_str     VARCHAR(255),
+  sql_part    VARCHAR(255),
+  PRIMARY KEY (id)
+);
+
+CREATE TABLE users (
+  id       BIGINT GENERATED BY DEFAULT AS IDENTITY,
+  username VARCHAR(255),
+  password VARCHAR(255),
+  fullname VARCHAR(255),
+  role     VARCHAR(255),
+  PRIMARY KEY (id),
+  CONSTRAINT users_username_uk UNIQUE (username)
+);
+
+CREATE TABLE audit_event (
+  id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+  entity_type VARCHAR(64)  NOT NULL,
+  entity_id   VARCHAR(64),
+  action      VARCHAR(16)  NOT NULL,
+  username    VARCHAR(125),
+  occurred_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+  changes     CLOB,
+  PRIMARY KEY (id)
+);
+
+CREATE INDEX audit_event_entity_idx ON audit_event (entity_type, entity_id);
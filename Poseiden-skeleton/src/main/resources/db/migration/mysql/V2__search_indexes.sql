@@ -0,0 +1,4 @@
+-- Date indexes of the trade and bid searches, bounding the trade and bid list dates to a range of days.
+
+CREATE INDEX trade_trade_date_idx ON trade (trade_date);
+CREATE INDEX bidlist_bid_list_date_idx ON bidlist (bid_list_date);
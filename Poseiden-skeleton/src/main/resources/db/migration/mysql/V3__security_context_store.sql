@@ -0,0 +1,11 @@
+-- Security contexts of the form login with a shared store (security.mode=store, security.session.store=jdbc), by the
+-- SHA-256 digest of the session id; expires_at in epoch milliseconds, indexed for the purge of the expired rows.
+
+CREATE TABLE security_context (
+  session_key VARCHAR(64)     NOT NULL,
+  context     VARBINARY(1024) NOT NULL,
+  expires_at  BIGINT          NOT NULL,
+  PRIMARY KEY (session_key)
+) ENGINE = InnoDB;
+
+CREATE INDEX security_context_expires_at_idx ON security_context (expires_at);
@@ -0,0 +1,57 @@
+/*
+ * Live updates of a list page from the change stream (/api/v1/changes).
+ * The table names the entity type it lists in data-live; its rows carry the entity id in data-id and the cells
+ * to refresh the summary property they show in data-field. Updates are applied to the rows in place and deleted
+ * rows removed; new rows, and missed changes after a reconnection ("reset"), are announced with a reload link,
+ * their place in the page depending on its sort and filter.
+ */
+(function () {
+    var table = document.querySelector('table[data-live]');
+    if (!table || !window.EventSource) {
+        return;
+    }
+
+    function format(value) {
+        if (value === null || value === undefined) {
+            return '';
+        }
+        return typeof value === 'number' && Number.isInteger(value) ? value.toFixed(1) : String(value);
+    }
+
+    function announce(text) {
+        var notice = document.getElementById('live-notice');
+        if (!notice) {
+            notice = document.createElement('div');
+            notice.id = 'live-notice';
+            notice.className = 'alert alert-info';
+            table.parentNode.insertBefore(notice, table);
+        }
+        notice.textContent = text + ' ';
+        var reload = document.createElement('a');
+        reload.href = window.location.href;
+        reload.textContent = 'Reload';
+        notice.appendChild(reload);
+    }
+
+    var created = 0;
+    var source = new EventSource('/api/v1/changes?entity=' + encodeURIComponent(table.dataset.live));
+    source.addEventListener('change', function (event) {
+        var change = JSON.parse(event.data);
+        var row = table.querySelector('tr[data-id="' + change.id + '"]');
+        if (change.action === 'DELETE') {
+            if (row) {
+                row.remove();
+            }
+        } else if (row) {
+            row.querySelectorAll('[data-field]').forEach(function (cell) {
+                cell.textContent = format(change.data[cell.dataset.field]);
+            });
+        } else if (change.action === 'CREATE') {
+            created++;
+            announce(created + (created === 1 ? ' new row.' : ' new rows.'));
+        }
+    });
+    source.addEventListener('reset', function () {
+        announce('The list has changed.');
+    });
+})();
@@ -0,0 +1,161 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.repositories.BidListSummary;
+import com.nnk.springboot.repositories.SearchCriteria;
+import com.nnk.springboot.services.BidListService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BidListApiControllerTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockBean
+	private BidListService bidListService;
+
+	private final BidListSummary summary = new BidListSummary(1L, "Account", "Type", 10.0, 20.0, 1.5, 1.6,
+			null, null, null, null, null, null, 2);
+
+	@Test
+	@WithMockUser(username = "Admin", roles = {"ADMIN"})
+	void testGetBidsPage() throws Exception {
+		when(bidListService.getBidSummaries(any(SearchCriteria.class), any(Pageable.class)))
+				.thenReturn(new PageImpl<>(List.of(summary), PageRequest.of(0, 50, Sort.by("id")), 1));
+
+		mockMvc.perform(get("/api/v1/bidLists"))
+				.andExpect(status().isOk())
+				.andExpect(header().exists(HttpHeaders.ETAG))
+				.andExpect(jsonPath("$.content[0].id").value(1))
+				.andExpect(jsonPath("$.content[0].account").value("Account"))
+				.andExpect(jsonPath("$.page").value(0))
+				.andExpect(jsonPath("$.size").value(50))
+				.andExpect(jsonPath("$.totalElements").value(1));
+
+		verify(bidListService).getBidSummaries(SearchCriteria.NONE, PageRequest.of(0, 50, Sort.by("id")));
+	}
+
+	@Test
+	@WithMockUser(username = "Admin", roles = {"ADMIN"})
+	void testGetBidsPageSizeIsCapped() throws Exception {
+		when(bidListService.getBidSummaries(any(SearchCriteria.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+
+		mockMvc.perform(get("/api/v1/bidLists").param("page", "2").param("size", "10000"))
+				.andExpect(status().isOk());
+
+		verify(bidListService).getBidSummaries(SearchCriteria.NONE, PageRequest.of(2, 500, Sort.by("id")));
+	}
+
+	@Test
+	@WithMockUser(username = "Admin", roles = {"ADMIN"})
+	void testGetBidsFiltered() throws Exception {
+		when(bidListService.getBidSummaries(any(SearchCriteria.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+
+		mockMvc.perform(get("/api/v1/bidLists").param("account", "Account").param("side", "BUY")
+						.param("from", "2024-01-01").param("to", "2024-01-31"))
+				.andExpect(status().isOk());
+
+		verify(bidListService).getBidSummaries(new SearchCriteria("Account", null, null, null, null, "BUY",
+				LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)), PageRequest.of(0, 50, Sort.by("id")));
+	}
+
+	@Test
+	@WithMockUser(username = "Admin", roles = {"ADMIN"})
+	void testGetBidNotModified() throws Exception {
+		when(bidListService.getBidSummaryById(1)).thenReturn(Optional.of(summary));
+
+		MvcResult first = mockMvc.perform(get("/api/v1/bidLists/1"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.bidQuantity").value(10.0))
+				.andReturn();
+		String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/api/v1/bidLists/1").header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+	}
+
+	@Test
+	@WithMockUser(username = "Admin", roles = {"ADMIN"})
+	void testGetBidNotFound() throws Exception {
+		when(bidListService.getBidSummaryById(2)).thenReturn(Optional.empty());
+
+		mockMvc.perform(get("/api/v1/bidLists/2"))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void testGetBidsUnauthenticated() throws Exception {
+		mockMvc.perform(get("/api/v1/bidLists"))
+				.andExpect(status().isUnauthorized());
+
+		verifyNoInteractions(bidListService);
+	}
+
+	@Test
+	@WithMockUser(username = "Admin", roles = {"ADMIN"})
+	void testPatchBid() throws Exception {
+		when(bidListService.getBidSummaryById(1)).thenReturn(Optional.of(summary));
+
+		mockMvc.perform(patch("/api/v1/bidLists/1").with(csrf())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"version\": 1, \"bidQuantity\": 10.0}"))
+				.andExpect(status().isOk())
+				.andExpect(header().exists(HttpHeaders.ETAG))
+				.andExpect(jsonPath("$.version").value(2));
+
+		verify(bidListService).updateBid(1, 1, Map.of("bidQuantity", 10.0));
+	}
+
+	@Test
+	@WithMockUser(username = "Admin", roles = {"ADMIN"})
+	void testPatchBidErrors() throws Exception {
+		when(bidListService.updateBid(eq(1L), eq(1), any()))
+				.thenThrow(new ObjectOptimisticLockingFailureException("BidList", 1));
+		when(bidListService.updateBid(eq(1L), isNull(), any()))
+				.thenThrow(new IllegalArgumentException("Field creationName cannot be updated"));
+		when(bidListService.updateBid(eq(2L), any(), any())).thenThrow(new NoSuchElementException("No bid with id 2"));
+
+		mockMvc.perform(patch("/api/v1/bidLists/1").with(csrf())
+						.contentType(MediaType.APPLICATION_JSON).content("{\"version\": 1, \"bid\": 1.0}"))
+				.andExpect(status().isConflict());
+		mockMvc.perform(patch("/api/v1/bidLists/1").with(csrf())
+						.contentType(MediaType.APPLICATION_JSON).content("{\"creationName\": \"Someone\"}"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(patch("/api/v1/bidLists/1").with(csrf())
+						.contentType(MediaType.APPLICATION_JSON).content("{\"version\": \"one\"}"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(patch("/api/v1/bidLists/2").with(csrf())
+						.contentType(MediaType.APPLICATION_JSON).content("{\"bid\": 1.0}"))
+				.andExpect(status().isNotFound());
+	}
+}
@@ -1,6 +1,9 @@
 package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.repositories.BidListRow;
+import com.nnk.springboot.repositories.BidListSortColumn;
+import com.nnk.springboot.repositories.SearchCriteria;
 import com.nnk.springboot.services.BidListService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,14 +12,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -38,11 +50,42 @@ class BidListControllerTest {
 	@Test
 	@WithMockUser(username = "Admin", roles={"ADMIN"})
 	void testShowBidListPage() throws Exception {
+		BidListRow bid = new BidListRow(1L, "Test Account", "Test Type", 100.0, 0);
+		when(bidListService.getBidsPage(eq(SearchCriteria.NONE), eq(BidListSortColumn.ID), eq(Sort.Direction.ASC), isNull(), isNull(), anyInt()))
+				.thenReturn(new SliceImpl<>(List.of(bid)));
+
 		mockMvc.perform(get("/bidList/list"))
 				.andExpect(MockMvcResultMatchers.status().isOk())
 				.andExpect(MockMvcResultMatchers.view().name("bidList/list"))
 				.andExpect(MockMvcResultMatchers.model().attributeExists("bids"))
-				.andExpect(MockMvcResultMatchers.model().attributeExists("currentUser"));
+				.andExpect(MockMvcResultMatchers.model().attributeExists("currentUser"))
+				.andExpect(content().string(containsString("<tr data-id=\"1\">")))
+				.andExpect(content().string(containsString("<a href=\"/bidList/update/1\">Edit</a>")))
+				.andExpect(content().string(containsString("<a href=\"/curvePoint/list\">Curve Points</a>")));
+	}
+
+	@Test
+	@WithMockUser(username = "Admin", roles={"ADMIN"})
+	void testShowBidListPageNextLink() throws Exception {
+		BidListRow bid = new BidListRow(7L, "Test Account", "Test Type", 100.0, 0);
+		when(bidListService.getBidsPage(eq(SearchCriteria.NONE), eq(BidListSortColumn.BID_QUANTITY), eq(Sort.Direction.DESC), isNull(), isNull(), eq(1)))
+				.thenReturn(new SliceImpl<>(List.of(bid), PageRequest.of(0, 1), true));
+
+		mockMvc.perform(get("/bidList/list").param("sort", "bidQuantity").param("direction", "desc").param("size", "1"))
+				.andExpect(status().isOk())
+				.andExpect(model().attribute("nextLink",
+						"/bidList/list?sort=bidQuantity&direction=desc&size=1&afterId=7&afterValue=100.0"));
+	}
+
+	@Test
+	@WithMockUser(username = "Admin", roles={"ADMIN"})
+	void testShowBidListPageMalformedCursor() throws Exception {
+		mockMvc.perform(get("/bidList/list").param("sort", "bidQuantity").param("afterValue", "abc"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/bidList/list").param("sort", "bidQuantity").param("afterId", "abc").param("afterValue", "1.0"))
+				.andExpect(status().isBadRequest());
+
+		verifyNoInteractions(bidListService);
 	}
 
 	@Test
@@ -70,7 +113,7 @@ class BidListControllerTest {
 	@WithMockUser(username = "Admin", roles={"ADMIN", "USER"})
 	void testValidateBidController() throws Exception {
 		BidList bid = new BidList("Test Account", "Test Type", 100.0);
-		bid.setId(1);
+		bid.setId(1L);
 		bid.setAccount("Test Account");
 		when(bidListService.saveBid(any())).thenReturn(bid);
 
@@ -87,10 +130,10 @@ class BidListControllerTest {
 	@WithMockUser(username = "testUser", roles = {"ADMIN"})
 	void testUpdateBid_WithValidData() throws Exception {
 		BidList existingBid = new BidList("Test Account", "Test Type", 100.0);
-		existingBid.setId(1);
+		existingBid.setId(1L);
 
 		BidList updatedBid = new BidList("Updated Account", "Updated Type", 200.0);
-		updatedBid.setId(1);
+		updatedBid.setId(1L);
 
 		when(bidListService.getBidByBidListId(1)).thenReturn(Optional.of(existingBid));
 		mockMvc.perform(post("/bidList/update/1")
@@ -102,9 +145,31 @@ class BidListControllerTest {
 				.andExpect(redirectedUrl("/bidList/list"));
 
 
-		verify(bidListService).saveBid(argThat(bid -> bid.getAccount().equals("Updated Account")
-				&& bid.getType().equals("Updated Type")
-				&& bid.getBidQuantity().equals(200.0)));	}
+		verify(bidListService).updateBid(eq(1L), isNull(), eq(Map.of("account", "Updated Account",
+				"type", "Updated Type", "bidQuantity", "200.0")));
+		verify(bidListService, never()).saveBid(any());
+	}
+
+	@Test
+	@WithMockUser(username = "testUser", roles = {"ADMIN"})
+	void testUpdateBid_WithConcurrentChange() throws Exception {
+		BidList currentBid = new BidList("Current Account", "Test Type", 100.0);
+		currentBid.setId(1L);
+		currentBid.setVersion(4);
+		when(bidListService.updateBid(eq(1L), eq(3), any()))
+				.thenThrow(new ObjectOptimisticLockingFailureException(BidList.class, 1));
+		when(bidListService.getBidByBidListId(1)).thenReturn(Optional.of(currentBid));
+
+		mockMvc.perform(post("/bidList/update/1")
+						.with(csrf())
+						.param("version", "3")
+						.param("account", "Updated Account")
+						.param("type", "Test Type"))
+				.andExpect(status().isOk())
+				.andExpect(view().name("bidList/update"))
+				.andExpect(model().attribute("conflict", true))
+				.andExpect(model().attribute("bid", currentBid));
+	}
 
 	@Test
 	@WithMockUser(username = "Admin", roles={"ADMIN"})
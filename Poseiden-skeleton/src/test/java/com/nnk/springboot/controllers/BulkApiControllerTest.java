@@ -0,0 +1,82 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.repositories.SearchCriteria;
+import com.nnk.springboot.services.BulkOperationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BulkApiControllerTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockBean
+	private BulkOperationService bulkOperationService;
+
+	@Test
+	@WithMockUser(username = "Admin", roles = {"ADMIN"})
+	void testDeleteBidsByCriteria() throws Exception {
+		SearchCriteria criteria = new SearchCriteria("ACC-1", null, null, "CANCELLED", null, null,
+				LocalDate.of(2024, 1, 1), null);
+		when(bulkOperationService.deleteBids(isNull(), eq(criteria))).thenReturn(1200L);
+
+		mockMvc.perform(post("/api/v1/bidLists/bulk-delete").with(csrf())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"criteria\": {\"account\": \"ACC-1\", \"status\": \"CANCELLED\", \"from\": \"2024-01-01\"}}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.count").value(1200));
+	}
+
+	@Test
+	@WithMockUser(username = "Admin", roles = {"ADMIN"})
+	void testUpdateTradeStatusByIds() throws Exception {
+		when(bulkOperationService.updateTradeStatus(eq(List.of(1L, 2L)), isNull(), eq("CLOSED"))).thenReturn(2L);
+
+		mockMvc.perform(post("/api/v1/trades/bulk-status").with(csrf())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"ids\": [1, 2], \"status\": \"CLOSED\"}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.count").value(2));
+	}
+
+	@Test
+	@WithMockUser(username = "Admin", roles = {"ADMIN"})
+	void testMissingSelectionIsBadRequest() throws Exception {
+		when(bulkOperationService.deleteRatings(isNull()))
+				.thenThrow(new IllegalArgumentException("The ids of the rows are required"));
+
+		mockMvc.perform(post("/api/v1/ratings/bulk-delete").with(csrf())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.detail").value("The ids of the rows are required"));
+		verify(bulkOperationService, never()).deleteBids(any(), any());
+	}
+
+	@Test
+	void testUnauthenticatedCallRejected() throws Exception {
+		mockMvc.perform(post("/api/v1/trades/bulk-delete").with(csrf())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"ids\": [1]}"))
+				.andExpect(status().isUnauthorized());
+		verifyNoInteractions(bulkOperationService);
+	}
+}
@@ -0,0 +1,131 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.services.BidListService;
+import com.nnk.springboot.services.TradeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// The results are not printed: the streams are still being written by their sender threads
+@SpringBootTest
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+class ChangeStreamControllerTest {
+
+	private static final Pattern EVENT_ID = Pattern.compile("id:(\\S+)\\s+event:change\\s+data:(.*)");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private TradeService tradeService;
+
+	@Autowired
+	private BidListService bidListService;
+
+	private MockHttpServletResponse subscribe(String entity, String lastEventId) throws Exception {
+		MvcResult result = mockMvc.perform(lastEventId == null
+						? get("/api/v1/changes").param("entity", entity)
+						: get("/api/v1/changes").param("entity", entity).header("Last-Event-ID", lastEventId))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		return result.getResponse();
+	}
+
+	private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+		String content = response.getContentAsString();
+		for (int i = 0; i < 100 && !content.contains(expected); i++) {
+			Thread.sleep(50);
+			content = response.getContentAsString();
+		}
+		assertTrue(content.contains(expected), content);
+		return content;
+	}
+
+	private Trade saveTrade(String account) {
+		Trade trade = new Trade();
+		trade.setAccount(account);
+		trade.setType("Type");
+		trade.setBuyQuantity(10.0);
+		tradeService.saveTrade(trade);
+		return trade;
+	}
+
+	@Test
+	@WithMockUser(username = "Admin", roles = {"ADMIN"})
+	void testChangesAreStreamedAfterCommit() throws Exception {
+		MockHttpServletResponse response = subscribe("Trade", null);
+
+		Trade trade = saveTrade("Streamed");
+		tradeService.updateTrade(trade.getTradeId(), null, Map.of("buyQuantity", 20.0));
+		bidListService.saveBid(new BidList("Not streamed", "Type", 10.0));
+		tradeService.deleteTradeById(trade.getTradeId());
+
+		String content = awaitContent(response, "\"action\":\"DELETE\"");
+		assertTrue(content.contains("\"entityType\":\"Trade\",\"id\":" + trade.getTradeId() + ",\"action\":\"CREATE\""));
+		assertTrue(content.contains("\"action\":\"UPDATE\",\"data\":{\"tradeId\":" + trade.getTradeId()));
+		assertTrue(content.contains("\"buyQuantity\":20.0"));
+		assertTrue(content.contains("\"version\":1"));
+		assertFalse(content.contains("Not streamed"));
+	}
+
+	@Test
+	@WithMockUser(username = "Admin", roles = {"ADMIN"})
+	void testSavedTradeIsStreamedWithItsNewVersion() throws Exception {
+		MockHttpServletResponse response = subscribe("Trade", null);
+
+		Trade trade = saveTrade("Resaved");
+		trade.setBuyQuantity(30.0);
+		tradeService.saveTrade(trade);
+
+		String content = awaitContent(response, "\"buyQuantity\":30.0");
+		assertTrue(content.contains("\"action\":\"UPDATE\",\"data\":{\"tradeId\":" + trade.getTradeId()));
+		assertTrue(content.matches("(?s).*\"buyQuantity\":30\\.0[^}]*\"version\":1.*"), content);
+	}
+
+	@Test
+	@WithMockUser(username = "Admin", roles = {"ADMIN"})
+	void testReconnectingClientGetsTheMissedChanges() throws Exception {
+		MockHttpServletResponse first = subscribe("Trade", null);
+		saveTrade("Before");
+		Matcher event = EVENT_ID.matcher(awaitContent(first, "Before"));
+		assertTrue(event.find());
+		String lastEventId = event.group(1);
+
+		saveTrade("Missed");
+		MockHttpServletResponse second = subscribe("Trade", lastEventId);
+
+		String content = awaitContent(second, "Missed");
+		assertFalse(content.contains("Before"));
+		assertFalse(content.contains("event:reset"));
+	}
+
+	@Test
+	@WithMockUser(username = "Admin", roles = {"ADMIN"})
+	void testUnknownLastEventIdGetsReset() throws Exception {
+		MockHttpServletResponse response = subscribe("", "previous-boot-42");
+
+		awaitContent(response, "event:reset");
+	}
+
+	@Test
+	void testChangesUnauthenticated() throws Exception {
+		mockMvc.perform(get("/api/v1/changes"))
+				.andExpect(status().isUnauthorized());
+	}
+}
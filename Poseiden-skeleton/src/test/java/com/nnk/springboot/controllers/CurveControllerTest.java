@@ -81,7 +81,7 @@ class CurveControllerTest {
 	@WithMockUser(username = "Admin", roles={"ADMIN"})
 	void testUpdateCurve() throws Exception {
 		CurvePoint curvePoint = new CurvePoint();
-		curvePoint.setId(1);
+		curvePoint.setId(1L);
 		curvePoint.setCurveId(1);
 		curvePoint.setTerm(10.0);
 		curvePoint.setValue(20.0);
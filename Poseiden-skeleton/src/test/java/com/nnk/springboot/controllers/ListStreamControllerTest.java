@@ -0,0 +1,124 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.SearchCriteria;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.services.ListStreamService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "lists.stream.page-size=2")
+@AutoConfigureMockMvc
+class ListStreamControllerTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private TradeRepository tradeRepository;
+
+	@Autowired
+	private BidListRepository bidListRepository;
+
+	@Autowired
+	private ListStreamService listStreamService;
+
+	private static Trade trade(String account) {
+		Trade trade = new Trade(account, "Type");
+		trade.setBuyQuantity(10.0);
+		return trade;
+	}
+
+	@Test
+	@WithMockUser(username = "Admin", roles = {"ADMIN"})
+	void testAllTradesStreamsEveryMatchingRow() throws Exception {
+		String account = "stream-" + UUID.randomUUID().toString().substring(0, 8);
+		List<Trade> trades = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			trades.add(tradeRepository.save(trade(account)));
+		}
+		tradeRepository.save(trade("other-" + account));
+
+		String html = mockMvc.perform(get("/trade/list/all").param("account", account))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith("text/html"))
+				.andExpect(content().string(containsString("<h2>All Trades</h2>")))
+				.andExpect(content().string(containsString("<b class=\"user\">Admin</b>")))
+				.andExpect(content().string(containsString("name=\"_csrf\"")))
+				.andExpect(content().string(not(containsString(ListStreamController.ROWS_MARKER))))
+				.andExpect(content().string(not(containsString("other-" + account))))
+				.andReturn().getResponse().getContentAsString();
+
+		int previous = html.indexOf("<tbody>");
+		for (Trade trade : trades) {
+			int row = html.indexOf("<tr data-id=\"" + trade.getTradeId() + "\">");
+			assertTrue(row > previous, "rows are ordered by id inside the table");
+			previous = row;
+		}
+		assertTrue(html.indexOf("</tbody>") > previous);
+		assertTrue(html.endsWith("</html>"));
+	}
+
+	@Test
+	@WithMockUser(username = "Admin", roles = {"ADMIN"})
+	void testAllBidListsStreamsEveryMatchingRow() throws Exception {
+		String account = "stream-" + UUID.randomUUID().toString().substring(0, 8);
+		BidList first = bidListRepository.save(new BidList(account, "Type", 10.0));
+		BidList second = bidListRepository.save(new BidList(account, "Type", 20.0));
+
+		mockMvc.perform(get("/bidList/list/all").param("account", account))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("<h2>All Bids</h2>")))
+				.andExpect(content().string(containsString("<a href=\"/bidList/update/" + first.getId() + "\">Edit</a>")))
+				.andExpect(content().string(containsString("<a href=\"/bidList/update/" + second.getId() + "\">Edit</a>")))
+				.andExpect(content().string(containsString("value=\"" + account + "\"")));
+	}
+
+	@Test
+	@WithMockUser(username = "Admin", roles = {"ADMIN"})
+	void testListPagesLinkToAllRows() throws Exception {
+		mockMvc.perform(get("/trade/list").param("account", "acc"))
+				.andExpect(status().isOk())
+				.andExpect(model().attribute("allLink", "/trade/list/all?account=acc"));
+	}
+
+	@Test
+	void testRowsWrittenWithoutTransaction() throws Exception {
+		String account = "stream-" + UUID.randomUUID().toString().substring(0, 8);
+		for (int i = 0; i < 3; i++) {
+			tradeRepository.save(trade(account));
+		}
+		List<Boolean> inTransaction = new ArrayList<>();
+		StringWriter writer = new StringWriter() {
+			@Override
+			public void write(String row) {
+				inTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+				super.write(row);
+			}
+		};
+
+		long count = listStreamService.writeTradeRows(
+				new SearchCriteria(account, null, null, null, null, null, null, null), writer);
+
+		assertEquals(3, count);
+		assertEquals(List.of(false, false, false), inTransaction);
+	}
+}
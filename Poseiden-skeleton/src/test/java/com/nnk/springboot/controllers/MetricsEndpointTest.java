@@ -0,0 +1,57 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.services.RatingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private RatingService ratingService;
+
+	@Test
+	@WithMockUser(username = "Admin", authorities = {"ADMIN"})
+	void testPrometheusScrape() throws Exception {
+		ratingService.getAllRatings();
+
+		mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("poseidon_service_seconds_count{class=\"com.nnk.springboot.services.RatingService\",exception=\"none\",method=\"getAllRatings\"")))
+				.andExpect(content().string(containsString("hikaricp_connections_max")))
+				.andExpect(content().string(containsString("hibernate_query_executions_total")))
+				.andExpect(content().string(containsString("hibernate_entities_loads_total")))
+				.andExpect(content().string(containsString("hibernate_cache_query_requests_total")))
+				.andExpect(content().string(containsString("hibernate_second_level_cache_requests_total{entityManagerFactory=\"entityManagerFactory\",region=\"rating\",result=\"hit\"")));
+	}
+
+	@Test
+	@WithMockUser(username = "User", authorities = {"USER"})
+	void testPrometheusForbiddenToUsers() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void testPrometheusNeedsAuthentication() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isUnauthorized());
+
+		mockMvc.perform(get("/actuator/health"))
+				.andExpect(status().isOk());
+	}
+}
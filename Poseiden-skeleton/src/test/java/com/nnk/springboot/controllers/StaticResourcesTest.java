@@ -0,0 +1,26 @@
+package com.nnk.springboot.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "web.css.max-age=1d")
+@AutoConfigureMockMvc
+class StaticResourcesTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void testStylesheetsAreCacheable() throws Exception {
+		mockMvc.perform(get("/css/style.css"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Cache-Control", "max-age=86400, public"))
+				.andExpect(header().exists("Last-Modified"));
+	}
+}
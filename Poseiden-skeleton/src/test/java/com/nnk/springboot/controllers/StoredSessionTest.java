@@ -0,0 +1,197 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.domain.User;
+import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.security.JdbcSecurityContextStore;
+import com.nnk.springboot.security.SecurityContextCodec;
+import com.nnk.springboot.security.SecurityContextStore;
+import com.nnk.springboot.security.StoredSecurityContextRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"security.mode=store", "security.session.store=jdbc",
+		"security.session.purge-interval=0s", "security.session.purge-batch-size=2"})
+@AutoConfigureMockMvc
+class StoredSessionTest {
+
+	private static final String PASSWORD = "Password1!";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private StoredSecurityContextRepository repository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private String username;
+
+	@BeforeEach
+	void createUser() {
+		username = UUID.randomUUID() + "@poseidon.com";
+		User user = new User();
+		user.setUsername(username);
+		user.setPassword(passwordEncoder.encode(PASSWORD));
+		user.setFullname("Stored User");
+		user.setRole("ADMIN");
+		userRepository.save(user);
+	}
+
+	private Cookie login() throws Exception {
+		MvcResult result = mockMvc.perform(post("/app/login").with(csrf())
+						.param("username", username)
+						.param("password", PASSWORD))
+				.andExpect(status().is3xxRedirection())
+				.andExpect(redirectedUrl("/bidList/list"))
+				.andReturn();
+		assertNull(result.getRequest().getSession(false));
+		Cookie cookie = result.getResponse().getCookie(StoredSecurityContextRepository.COOKIE);
+		assertNotNull(cookie);
+		assertTrue(cookie.isHttpOnly());
+		return cookie;
+	}
+
+	@Test
+	void testLoginIsStoredByDigest() throws Exception {
+		Cookie session = login();
+
+		mockMvc.perform(get("/api/v1/trades").cookie(session))
+				.andExpect(status().isOk());
+		// Only the digest of the session id is stored
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM security_context WHERE session_key = ?",
+				Integer.class, session.getValue()));
+		assertTrue(meterRegistry.get("poseidon.session.store").tag("operation", "write").timer().count() > 0);
+		assertTrue(meterRegistry.get("poseidon.session.store").tag("operation", "read").timer().count() > 0);
+	}
+
+	@Test
+	void testLogoutDeletesStoredContext() throws Exception {
+		Cookie session = login();
+		Integer before = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM security_context", Integer.class);
+
+		mockMvc.perform(post("/logout").with(csrf()).cookie(session))
+				.andExpect(status().is3xxRedirection())
+				.andExpect(cookie().maxAge(StoredSecurityContextRepository.COOKIE, 0));
+
+		assertEquals(before - 1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM security_context", Integer.class));
+		mockMvc.perform(get("/api/v1/trades").cookie(session))
+				.andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	void testRenewalRacingLogoutKeepsContextDeleted() throws Exception {
+		Cookie session = login();
+		Integer before = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM security_context", Integer.class);
+		JdbcSecurityContextStore jdbcStore = new JdbcSecurityContextStore(jdbcTemplate);
+		// A logout on another instance deletes the context between its read and its renewal
+		SecurityContextStore store = new SecurityContextStore() {
+			@Override
+			public Optional<Entry> read(String key) {
+				Optional<Entry> entry = jdbcStore.read(key);
+				jdbcStore.delete(key);
+				return entry;
+			}
+
+			@Override
+			public void write(String key, Entry entry) {
+				jdbcStore.write(key, entry);
+			}
+
+			@Override
+			public boolean renew(String key, Instant expiresAt) {
+				return jdbcStore.renew(key, expiresAt);
+			}
+
+			@Override
+			public void delete(String key) {
+				jdbcStore.delete(key);
+			}
+
+			@Override
+			public int purgeExpired(Instant now, int batchSize) {
+				return jdbcStore.purgeExpired(now, batchSize);
+			}
+		};
+		// The timeout is long enough for the stored login to be due for renewal
+		StoredSecurityContextRepository racing = new StoredSecurityContextRepository(store, "jdbc", Duration.ofDays(1),
+				Duration.ZERO, 10, new SimpleMeterRegistry(), Clock.systemUTC());
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setCookies(session);
+
+		assertTrue(racing.loadDeferredContext(request).isGenerated());
+
+		assertEquals(before - 1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM security_context", Integer.class));
+		mockMvc.perform(get("/api/v1/trades").cookie(session))
+				.andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	void testExpiredContextsPurgedInBatches() {
+		JdbcSecurityContextStore store = new JdbcSecurityContextStore(jdbcTemplate);
+		byte[] context = SecurityContextCodec.encode(new SecurityContextImpl(
+				UsernamePasswordAuthenticationToken.authenticated("expired", null, AuthorityUtils.NO_AUTHORITIES)));
+		for (int i = 0; i < 5; i++) {
+			store.write("expired-" + i, new SecurityContextStore.Entry(context, Instant.now().minusSeconds(60)));
+		}
+		store.write("valid", new SecurityContextStore.Entry(context, Instant.now().plusSeconds(60)));
+
+		assertTrue(repository.purgeExpired() >= 5);
+
+		assertTrue(store.read("valid").isPresent());
+		assertTrue(store.read("expired-0").isEmpty());
+		assertEquals(0, store.purgeExpired(Instant.now(), 10));
+		store.delete("valid");
+	}
+
+	@Test
+	void testCodecRoundTrip() {
+		SecurityContext context = new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated(
+				username, null, AuthorityUtils.createAuthorityList("ADMIN", "USER")));
+
+		byte[] encoded = SecurityContextCodec.encode(context);
+		SecurityContext decoded = SecurityContextCodec.decode(encoded);
+
+		assertTrue(encoded.length < 100);
+		assertEquals(username, decoded.getAuthentication().getName());
+		assertEquals(AuthorityUtils.createAuthorityList("ADMIN", "USER"), decoded.getAuthentication().getAuthorities());
+		assertTrue(decoded.getAuthentication().isAuthenticated());
+		assertThrows(IllegalArgumentException.class, () -> SecurityContextCodec.decode(new byte[]{9}));
+	}
+}
@@ -0,0 +1,238 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.config.CookieFlashMapManager;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.domain.User;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.security.SignedTokens;
+import com.nnk.springboot.security.TokenDenyList;
+import com.nnk.springboot.security.TokenSecurityContextRepository;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"security.mode=token", "security.token.ttl=15m", "security.token.max-age=8h",
+		"security.token.keys=" + TokenAuthenticationTest.KEYS})
+@AutoConfigureMockMvc
+class TokenAuthenticationTest {
+
+	static final String KEYS = "k2:MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=,k1:ZmVkY2JhOTg3NjU0MzIxMGZlZGNiYTk4NzY1NDMyMTA=";
+
+	private static final String PASSWORD = "Password1!";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private TokenDenyList tokenDenyList;
+
+	@Autowired
+	private TradeRepository tradeRepository;
+
+	private String username;
+
+	private Long userId;
+
+	@BeforeEach
+	void createUser() {
+		username = UUID.randomUUID() + "@poseidon.com";
+		User user = new User();
+		user.setUsername(username);
+		user.setPassword(passwordEncoder.encode(PASSWORD));
+		user.setFullname("Token User");
+		user.setRole("USER");
+		userId = userRepository.save(user).getId();
+	}
+
+	private SignedTokens tokensAt(Instant now) {
+		return new SignedTokens(List.of(KEYS.split(",")), Duration.ofMinutes(15), Duration.ofHours(8), tokenDenyList,
+				Clock.fixed(now, ZoneOffset.UTC));
+	}
+
+	private Cookie login() throws Exception {
+		MvcResult result = mockMvc.perform(post("/app/login").with(csrf())
+						.param("username", username)
+						.param("password", PASSWORD))
+				.andExpect(status().is3xxRedirection())
+				.andExpect(redirectedUrl("/bidList/list"))
+				.andReturn();
+		assertNull(result.getRequest().getSession(false));
+		Cookie cookie = result.getResponse().getCookie(TokenSecurityContextRepository.COOKIE);
+		assertNotNull(cookie);
+		assertTrue(cookie.isHttpOnly());
+		return cookie;
+	}
+
+	@Test
+	void testLoginIssuesTokenAcceptedWithoutSession() throws Exception {
+		Cookie token = login();
+
+		mockMvc.perform(get("/bidList/list").cookie(token))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/api/v1/trades").header("Authorization", "Bearer " + token.getValue()))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void testTamperedTokenRejected() throws Exception {
+		String token = login().getValue();
+		String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+		mockMvc.perform(get("/api/v1/trades").header("Authorization", "Bearer " + tampered))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/api/v1/trades").header("Authorization", "Bearer k9" + token.substring(2)))
+				.andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	void testLogoutRevokesToken() throws Exception {
+		Cookie token = login();
+
+		mockMvc.perform(post("/logout").with(csrf()).cookie(token))
+				.andExpect(status().is3xxRedirection())
+				.andExpect(cookie().maxAge(TokenSecurityContextRepository.COOKIE, 0));
+
+		mockMvc.perform(get("/api/v1/trades").cookie(token))
+				.andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	void testRevokedUserTokenRejected() throws Exception {
+		Cookie token = login();
+
+		tokenDenyList.revokeUser(username);
+
+		mockMvc.perform(get("/api/v1/trades").cookie(token))
+				.andExpect(status().isUnauthorized());
+		Cookie renewed = login();
+		mockMvc.perform(get("/api/v1/trades").cookie(renewed))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void testActiveTokenCookieRenewed() throws Exception {
+		// A token issued 10 minutes ago, past half its time to live, before the user was demoted from ADMIN
+		Cookie token = new Cookie(TokenSecurityContextRepository.COOKIE, tokensAt(Instant.now().minus(Duration.ofMinutes(10)))
+				.issue(username, AuthorityUtils.createAuthorityList("ADMIN")));
+
+		MvcResult result = mockMvc.perform(get("/bidList/list").cookie(token))
+				.andExpect(status().isOk())
+				.andReturn();
+		Cookie renewed = result.getResponse().getCookie(TokenSecurityContextRepository.COOKIE);
+		assertNotNull(renewed);
+		assertNotEquals(token.getValue(), renewed.getValue());
+		assertEquals(15 * 60, renewed.getMaxAge());
+		assertEquals(List.of("USER"), tokensAt(Instant.now()).verify(renewed.getValue()).orElseThrow().auth());
+
+		// A fresh token, a bearer token and the static resources are not renewed
+		mockMvc.perform(get("/bidList/list").cookie(renewed))
+				.andExpect(status().isOk())
+				.andExpect(cookie().doesNotExist(TokenSecurityContextRepository.COOKIE));
+		mockMvc.perform(get("/api/v1/trades").header("Authorization", "Bearer " + token.getValue()))
+				.andExpect(status().isOk())
+				.andExpect(cookie().doesNotExist(TokenSecurityContextRepository.COOKIE));
+		mockMvc.perform(get("/css/bootstrap.min.css").cookie(token))
+				.andExpect(cookie().doesNotExist(TokenSecurityContextRepository.COOKIE));
+	}
+
+	@Test
+	void testRenewalKeepsLoginAndRevocation() {
+		List<GrantedAuthority> user = AuthorityUtils.createAuthorityList("USER");
+		Instant login = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+		SignedTokens.Claims issued = tokensAt(login).verify(tokensAt(login).issue(username, user)).orElseThrow();
+
+		assertFalse(tokensAt(login.plus(Duration.ofMinutes(5))).isDueForRenewal(issued));
+		Instant later = login.plus(Duration.ofMinutes(10));
+		assertTrue(tokensAt(later).isDueForRenewal(issued));
+		String renewed = tokensAt(later).renew(issued, user);
+		SignedTokens.Claims claims = tokensAt(later).verify(renewed).orElseThrow();
+		assertEquals(issued.jti(), claims.jti());
+		assertEquals(login.toEpochMilli(), claims.login());
+		assertEquals(later.plus(Duration.ofMinutes(15)), claims.expiresAt());
+		// Valid after the first token has expired, up to the maximum age of the login
+		assertTrue(tokensAt(login.plus(Duration.ofMinutes(20))).verify(renewed).isPresent());
+		Instant end = login.plus(Duration.ofHours(8));
+		SignedTokens.Claims last = tokensAt(end.minusSeconds(60))
+				.verify(tokensAt(end.minus(Duration.ofMinutes(10))).renew(issued, user)).orElseThrow();
+		assertEquals(end, last.expiresAt());
+		assertFalse(tokensAt(end.minusSeconds(30)).isDueForRenewal(last));
+
+		// Revoking the first token revokes its renewals
+		tokensAt(later).revoke(issued);
+		assertTrue(tokensAt(later).verify(renewed).isEmpty());
+	}
+
+	@Test
+	void testFlashAttributesKeptInCookie() throws Exception {
+		Cookie token = login();
+
+		MvcResult result = mockMvc.perform(get("/user/delete/" + userId).cookie(token))
+				.andExpect(redirectedUrl("/user/list"))
+				.andReturn();
+		assertNull(result.getRequest().getSession(false));
+		Cookie flash = result.getResponse().getCookie(CookieFlashMapManager.COOKIE);
+		assertNotNull(flash);
+		assertTrue(flash.isHttpOnly());
+
+		result = mockMvc.perform(get("/user/list").cookie(token, flash))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("Vous ne pouvez pas supprimer votre propre utilisateur.")))
+				.andExpect(cookie().maxAge(CookieFlashMapManager.COOKIE, 0))
+				.andReturn();
+		assertNull(result.getRequest().getSession(false));
+	}
+
+	@Test
+	void testBearerRequestNeedsNoCsrfToken() throws Exception {
+		Cookie token = login();
+		Trade trade = new Trade();
+		trade.setAccount("Account");
+		trade.setType("Type");
+		trade.setBuyQuantity(10.0);
+		Long tradeId = tradeRepository.save(trade).getTradeId();
+
+		mockMvc.perform(patch("/api/v1/trades/" + tradeId).header("Authorization", "Bearer " + token.getValue())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"buyQuantity\": 20.0}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.buyQuantity").value(20.0));
+
+		// The token cookie, sent by the browser with any request, still needs the CSRF token
+		mockMvc.perform(patch("/api/v1/trades/" + tradeId).cookie(token)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"buyQuantity\": 30.0}"))
+				.andExpect(status().isForbidden());
+	}
+}
@@ -0,0 +1,151 @@
+package com.nnk.springboot.controllers;
+
+import com.nnk.springboot.repositories.SearchCriteria;
+import com.nnk.springboot.repositories.TradeSummary;
+import com.nnk.springboot.services.TradeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.data.util.TypeInformation;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TradeApiControllerTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockBean
+	private TradeService tradeService;
+
+	private final TradeSummary summary = new TradeSummary(3L, "Account", "Type", 10.0, null, 1.5, null,
+			"Security", null, null, "Book", null, 0);
+
+	@Test
+	@WithMockUser(username = "Admin", roles = {"ADMIN"})
+	void testGetTradesSorted() throws Exception {
+		when(tradeService.getTradeSummaries(any(SearchCriteria.class), any(Pageable.class)))
+				.thenReturn(new PageImpl<>(List.of(summary), PageRequest.of(1, 1), 3));
+
+		mockMvc.perform(get("/api/v1/trades").param("page", "1").param("size", "1").param("sort", "account,desc"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content[0].tradeId").value(3))
+				.andExpect(jsonPath("$.totalPages").value(3));
+
+		verify(tradeService).getTradeSummaries(SearchCriteria.NONE, PageRequest.of(1, 1, Sort.by(Sort.Direction.DESC, "account")));
+	}
+
+	@Test
+	@WithMockUser(username = "Admin", roles = {"ADMIN"})
+	void testGetTradesFiltered() throws Exception {
+		when(tradeService.getTradeSummaries(any(SearchCriteria.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+
+		mockMvc.perform(get("/api/v1/trades").param("book", "Book").param("trader", " Trader ").param("from", "2024-01-01"))
+				.andExpect(status().isOk());
+
+		verify(tradeService).getTradeSummaries(new SearchCriteria(null, "Book", " Trader ", null, null, null,
+				LocalDate.of(2024, 1, 1), null), PageRequest.of(0, 50, Sort.by("tradeId")));
+	}
+
+	@Test
+	@WithMockUser(username = "Admin", roles = {"ADMIN"})
+	void testGetTradesInvalidDate() throws Exception {
+		mockMvc.perform(get("/api/v1/trades").param("from", "yesterday"))
+				.andExpect(status().isBadRequest());
+
+		verifyNoInteractions(tradeService);
+	}
+
+	@Test
+	@WithMockUser(username = "Admin", roles = {"ADMIN"})
+	void testGetTradesNotModified() throws Exception {
+		when(tradeService.getTradeSummaries(any(SearchCriteria.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(summary)));
+
+		String eTag = mockMvc.perform(get("/api/v1/trades"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/api/v1/trades").header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified());
+
+		// A changed page gets another tag
+		when(tradeService.getTradeSummaries(any(SearchCriteria.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+		mockMvc.perform(get("/api/v1/trades").header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+	}
+
+	@Test
+	@WithMockUser(username = "Admin", roles = {"ADMIN"})
+	void testGetTradeFound() throws Exception {
+		when(tradeService.getTradeSummaryById(3)).thenReturn(Optional.of(summary));
+
+		mockMvc.perform(get("/api/v1/trades/3"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.security").value("Security"))
+				.andExpect(jsonPath("$.book").value("Book"));
+	}
+
+	@Test
+	@WithMockUser(username = "Admin", roles = {"ADMIN"})
+	void testGetTradesUnknownSortProperty() throws Exception {
+		when(tradeService.getTradeSummaries(any(SearchCriteria.class), any(Pageable.class)))
+				.thenThrow(new PropertyReferenceException("unknown", TypeInformation.of(TradeSummary.class), List.of()));
+
+		mockMvc.perform(get("/api/v1/trades").param("sort", "unknown"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	@WithMockUser(username = "Admin", roles = {"ADMIN"})
+	void testPatchTrade() throws Exception {
+		when(tradeService.getTradeSummaryById(3)).thenReturn(Optional.of(summary));
+
+		mockMvc.perform(patch("/api/v1/trades/3").with(csrf())
+						.contentType("application/merge-patch+json")
+						.content("{\"buyQuantity\": 10, \"book\": \"Book\"}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.buyQuantity").value(10.0));
+
+		verify(tradeService).updateTrade(3, null, Map.of("buyQuantity", 10, "book", "Book"));
+	}
+
+	@Test
+	@WithMockUser(username = "Admin", roles = {"ADMIN"})
+	void testPatchTradeConflict() throws Exception {
+		when(tradeService.updateTrade(eq(3L), eq(0), any()))
+				.thenThrow(new ObjectOptimisticLockingFailureException("Trade", 3));
+
+		mockMvc.perform(patch("/api/v1/trades/3").with(csrf())
+						.contentType(MediaType.APPLICATION_JSON).content("{\"version\": 0, \"book\": \"Book\"}"))
+				.andExpect(status().isConflict());
+
+		verify(tradeService, never()).getTradeSummaryById(anyLong());
+	}
+}
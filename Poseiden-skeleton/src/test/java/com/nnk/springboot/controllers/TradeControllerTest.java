@@ -1,6 +1,8 @@
 package com.nnk.springboot.controllers;
 
 import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.SearchCriteria;
+import com.nnk.springboot.repositories.TradeRow;
 import com.nnk.springboot.services.TradeService;
 import com.nnk.springboot.services.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,15 +12,24 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
-import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -39,14 +50,16 @@ class TradeControllerTest {
 	@BeforeEach
 	void setUp() {
 		TradeController tradeController = new TradeController(tradeService, userService);
-		mockMvc = MockMvcBuilders.standaloneSetup(tradeController).build();
+		mockMvc = MockMvcBuilders.standaloneSetup(tradeController)
+				.setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+				.build();
 	}
 
 	@Test
 	@WithMockUser(username = "Admin", roles={"ADMIN"})
 	void testHome() throws Exception {
 		when(userService.getCurrentLoggedInUser()).thenReturn("Admin");
-		when(tradeService.getAllTrades()).thenReturn(Collections.emptyList());
+		when(tradeService.searchTrades(any(SearchCriteria.class), any(Pageable.class))).thenReturn(Page.empty());
 
 		mockMvc.perform(get("/trade/list"))
 				.andExpect(status().isOk())
@@ -55,7 +68,24 @@ class TradeControllerTest {
 				.andExpect(model().attributeExists("currentUser"));
 
 		verify(userService, times(1)).getCurrentLoggedInUser();
-		verify(tradeService, times(1)).getAllTrades();
+		verify(tradeService, times(1)).searchTrades(SearchCriteria.NONE, PageRequest.of(0, 50, Sort.by("tradeId")));
+	}
+
+	@Test
+	@WithMockUser(username = "Admin", roles={"ADMIN"})
+	void testHomeFilteredKeepsTheCriteriaInThePageLinks() throws Exception {
+		TradeRow trade = new TradeRow(1L, "Account A", "Type", 10.0, 0);
+		when(tradeService.searchTrades(any(SearchCriteria.class), any(Pageable.class)))
+				.thenReturn(new PageImpl<>(List.of(trade), PageRequest.of(1, 1, Sort.by("tradeId")), 3));
+
+		mockMvc.perform(get("/trade/list").param("account", "Account A").param("page", "1").param("size", "1"))
+				.andExpect(status().isOk())
+				.andExpect(model().attribute("criteria", new SearchCriteria("Account A", null, null, null, null, null, null, null)))
+				.andExpect(model().attribute("previousLink", "/trade/list?page=0&size=1&account=Account%20A"))
+				.andExpect(model().attribute("nextLink", "/trade/list?page=2&size=1&account=Account%20A"));
+
+		verify(tradeService).searchTrades(new SearchCriteria("Account A", null, null, null, null, null, null, null),
+				PageRequest.of(1, 1, Sort.by("tradeId")));
 	}
 
 	@Test
@@ -106,7 +136,29 @@ class TradeControllerTest {
 				.andExpect(status().is3xxRedirection())
 				.andExpect(redirectedUrl("/trade/list"));
 
-		verify(tradeService, times(1)).saveTrade(any(Trade.class));
+		verify(tradeService, times(1)).updateTrade(eq(1L), isNull(), eq(Map.of("account", "Test Account",
+				"type", "Test Type", "buyQuantity", "10.0")));
+		verify(tradeService, never()).saveTrade(any(Trade.class));
+	}
+
+	@Test
+	@WithMockUser(username = "Admin", roles={"ADMIN"})
+	void testUpdateTradeWithConcurrentChange() throws Exception {
+		Trade current = new Trade("Current Account", "Test Type");
+		current.setVersion(2);
+		when(tradeService.updateTrade(eq(1L), eq(1), any()))
+				.thenThrow(new ObjectOptimisticLockingFailureException(Trade.class, 1));
+		when(tradeService.getTradeById(1)).thenReturn(Optional.of(current));
+
+		mockMvc.perform(post("/trade/update/{id}", 1)
+						.contentType(MediaType.APPLICATION_FORM_URLENCODED)
+						.param("version", "1")
+						.param("account", "Test Account")
+						.param("type", "Test Type"))
+				.andExpect(status().isOk())
+				.andExpect(view().name("trade/update"))
+				.andExpect(model().attribute("conflict", true))
+				.andExpect(model().attribute("trade", current));
 	}
 
 	@Test
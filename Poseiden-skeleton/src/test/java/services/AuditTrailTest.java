@@ -0,0 +1,169 @@
+package services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.Application;
+import com.nnk.springboot.domain.AuditEvent;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.services.AuditService;
+import com.nnk.springboot.services.BidListImportService;
+import com.nnk.springboot.services.TradeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithAnonymousUser;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = Application.class)
+@WithMockUser(username = "auditor")
+class AuditTrailTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BidListImportService bidListImportService;
+
+    @Autowired
+    private BidListRepository bidListRepository;
+
+    private static Trade trade(String account, double buyQuantity) {
+        Trade trade = new Trade();
+        trade.setAccount(account);
+        trade.setType("Type");
+        trade.setBuyQuantity(buyQuantity);
+        return trade;
+    }
+
+    private List<AuditEvent> awaitHistory(Trade trade, int size) throws InterruptedException {
+        return awaitHistory("Trade", trade.getTradeId(), size);
+    }
+
+    private List<AuditEvent> awaitHistory(String entityType, Long id, int size) throws InterruptedException {
+        List<AuditEvent> history = auditService.getHistory(entityType, id);
+        for (int i = 0; i < 100 && history.size() < size; i++) {
+            Thread.sleep(50);
+            history = auditService.getHistory(entityType, id);
+        }
+        return history;
+    }
+
+    @Test
+    void testCreateUpdateDeleteAreAudited() throws Exception {
+        // Given
+        Trade trade = trade("Account", 10.0);
+        tradeService.saveTrade(trade);
+
+        // When
+        tradeService.updateTrade(trade.getTradeId(), trade.getVersion(), Map.of("buyQuantity", 20.0));
+        tradeService.deleteTradeById(trade.getTradeId());
+        List<AuditEvent> history = awaitHistory(trade, 3);
+
+        // Then
+        assertEquals("auditor", trade.getCreationName());
+        assertEquals(List.of("CREATE", "UPDATE", "DELETE"), history.stream().map(AuditEvent::getAction).toList());
+        assertTrue(history.stream().allMatch(event -> "auditor".equals(event.getUsername())));
+        JsonNode created = MAPPER.readTree(history.get(0).getChanges());
+        assertEquals("Account", created.get("account").get(1).asText());
+        assertEquals("auditor", created.get("creationName").get(1).asText());
+        JsonNode updated = MAPPER.readTree(history.get(1).getChanges());
+        assertEquals(10.0, updated.get("buyQuantity").get(0).asDouble());
+        assertEquals(20.0, updated.get("buyQuantity").get(1).asDouble());
+        assertFalse(updated.has("account"));
+        assertFalse(updated.has("creationName"));
+        JsonNode deleted = MAPPER.readTree(history.get(2).getChanges());
+        assertEquals(20.0, deleted.get("buyQuantity").get(0).asDouble());
+        assertTrue(deleted.get("buyQuantity").get(1).isNull());
+    }
+
+    @Test
+    void testRejectedEntryIsDroppedWithoutStoppingTheWriter() throws Exception {
+        // Given
+        Trade trade = trade("Account", 1.0);
+        tradeService.saveTrade(trade);
+
+        // When
+        auditService.record("Trade", "x".repeat(100), AuditService.Action.UPDATE, Map.of());
+        tradeService.updateTrade(trade.getTradeId(), trade.getVersion(), Map.of("buyQuantity", 2.0));
+        List<AuditEvent> history = awaitHistory(trade, 2);
+
+        // Then
+        assertEquals(List.of("CREATE", "UPDATE"), history.stream().map(AuditEvent::getAction).toList());
+        assertTrue(auditService.getHistory("Trade", "x".repeat(100)).isEmpty());
+    }
+
+    @Test
+    void testRolledBackChangesAreNotAudited() throws Exception {
+        // Given
+        Trade committed = trade("Committed", 1.0);
+        Trade rolledBack = trade("RolledBack", 1.0);
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            tradeService.saveTrade(rolledBack);
+            status.setRollbackOnly();
+        });
+        tradeService.saveTrade(committed);
+        awaitHistory(committed, 1);
+
+        // Then
+        assertEquals(1, auditService.getHistory("Trade", committed.getTradeId()).size());
+        assertTrue(auditService.getHistory("Trade", rolledBack.getTradeId()).isEmpty());
+    }
+
+    @Test
+    void testImportedBidsAreAuditedOneByOne() throws Exception {
+        // Given
+        String account = "import-" + UUID.randomUUID().toString().substring(0, 8);
+        String csv = "account,type,bidQuantity\n" + account + ",Type1,10.0\n" + account + ",Type2,20.0\n";
+
+        // When
+        bidListImportService.importCsv(new StringReader(csv));
+        List<BidList> imported = bidListRepository.findAll().stream()
+                .filter(bid -> account.equals(bid.getAccount())).toList();
+
+        // Then
+        assertEquals(2, imported.size());
+        for (BidList bid : imported) {
+            List<AuditEvent> history = awaitHistory("BidList", bid.getId(), 1);
+            assertEquals(List.of("CREATE"), history.stream().map(AuditEvent::getAction).toList());
+            JsonNode created = MAPPER.readTree(history.get(0).getChanges());
+            assertEquals(account, created.get("account").get(1).asText());
+            assertEquals(bid.getBidQuantity(), created.get("bidQuantity").get(1).asDouble());
+        }
+    }
+
+    @Test
+    @WithAnonymousUser
+    void testChangesWithoutUserAreMadeBySystem() throws Exception {
+        // Given
+        Trade trade = trade("System", 1.0);
+
+        // When
+        tradeService.saveTrade(trade);
+        List<AuditEvent> history = awaitHistory(trade, 1);
+
+        // Then
+        assertEquals(AuditService.SYSTEM_USER, trade.getCreationName());
+        assertEquals(AuditService.SYSTEM_USER, trade.getRevisionName());
+        assertEquals(AuditService.SYSTEM_USER, history.get(0).getUsername());
+    }
+}
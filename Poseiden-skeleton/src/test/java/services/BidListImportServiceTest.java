@@ -0,0 +1,101 @@
+package services;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.services.BidListImportService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BidListImportServiceTest {
+
+    @Mock
+    private BidListRepository bidListRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BidListImportService bidListImportService;
+
+    private final List<BidList> saved = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        bidListImportService = new BidListImportService(bidListRepository, entityManager, transactionManager, 2);
+    }
+
+    @Test
+    void testImportCsvInBatches() throws Exception {
+        // Given
+        String csv = "account,type,bidQuantity,commentary\n"
+                + "Account1,Type1,10.0,\n"
+                + "Account2,Type2,,\"with, comma\"\n"
+                + "\n"
+                + "Account3,Type3,30.5,\"say \"\"hi\"\"\"\n";
+        when(bidListRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            saved.addAll(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+
+        // When
+        BidListImportService.ImportResult result = bidListImportService.importCsv(new StringReader(csv));
+
+        // Then
+        assertEquals(3, result.imported());
+        assertEquals(0, result.rejected());
+        verify(bidListRepository, times(2)).saveAll(anyList());
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        verify(transactionManager, times(2)).commit(any());
+        assertEquals("Account1", saved.get(0).getAccount());
+        assertEquals(10.0, saved.get(0).getBidQuantity());
+        assertNull(saved.get(1).getBidQuantity());
+        assertEquals("with, comma", saved.get(1).getCommentary());
+        assertEquals("say \"hi\"", saved.get(2).getCommentary());
+    }
+
+    @Test
+    void testImportCsvRejectsInvalidLines() throws Exception {
+        // Given
+        String csv = "account,type,bidQuantity\n"
+                + "Account1,,10.0\n"
+                + "Account2,Type2,abc\n"
+                + "Account3,Type3\n"
+                + "Account4,Type4,40.0\n";
+
+        // When
+        BidListImportService.ImportResult result = bidListImportService.importCsv(new StringReader(csv));
+
+        // Then
+        assertEquals(1, result.imported());
+        assertEquals(3, result.rejected());
+        assertEquals(3, result.errors().size());
+        assertTrue(result.errors().get(0).startsWith("Line 2: type must not be null"));
+        assertTrue(result.errors().get(1).startsWith("Line 3:"));
+        assertTrue(result.errors().get(2).startsWith("Line 4: expected 3 values"));
+        verify(bidListRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void testImportCsvUnknownColumn() {
+        assertThrows(IllegalArgumentException.class,
+                () -> bidListImportService.importCsv(new StringReader("account,unknown\nA,B\n")));
+        verifyNoInteractions(bidListRepository);
+    }
+}
@@ -2,24 +2,39 @@ package services;
 
 import com.nnk.springboot.domain.BidList;
 import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.BidListRow;
+import com.nnk.springboot.repositories.BidListSortColumn;
+import com.nnk.springboot.repositories.SearchCriteria;
+import com.nnk.springboot.services.AuditService;
 import com.nnk.springboot.services.BidListService;
+import com.nnk.springboot.services.ChangeStreamService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ContextConfiguration;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +43,9 @@ class BidListServiceTest {
     @Mock
     private BidListRepository bidListRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BidListService bidListService;
 
@@ -48,7 +66,7 @@ class BidListServiceTest {
     @Test
     void testCheckIfIdExists() {
         // Given
-        int id = 1;
+        long id = 1;
         when(bidListRepository.existsById(id)).thenReturn(true);
 
         // When
@@ -70,12 +88,13 @@ class BidListServiceTest {
         // Then
         Assertions.assertNotNull(result);
         Assertions.assertEquals(bid, result);
+        verify(eventPublisher).publishEvent(new ChangeStreamService.EntityChangedEvent("BidList", null, AuditService.Action.CREATE, bid));
     }
 
     @Test
     void testDeleteBidById() {
         // Given
-        int id = 1;
+        long id = 1;
 
         // When
         bidListService.deleteBidById(id);
@@ -87,7 +106,7 @@ class BidListServiceTest {
     @Test
     void testGetBidByBidListId() {
         // Given
-        int id = 1;
+        long id = 1;
         BidList bid = new BidList();
         when(bidListRepository.findById(id)).thenReturn(Optional.of(bid));
 
@@ -98,4 +117,85 @@ class BidListServiceTest {
         Assertions.assertTrue(result.isPresent());
         Assertions.assertEquals(bid, result.get());
     }
+
+    @Test
+    void testGetBidsPageWithMoreRows() {
+        // Given
+        BidListRow bid1 = new BidListRow(1L, "A", "Type", 10.0, 0);
+        BidListRow bid2 = new BidListRow(2L, "B", "Type", 10.0, 0);
+        BidListRow bid3 = new BidListRow(3L, "C", "Type", 10.0, 0);
+        when(bidListRepository.findProjected(ArgumentMatchers.<Specification<BidList>>any(), eq(3), eq(BidListRow.class)))
+                .thenReturn(Arrays.asList(bid1, bid2, bid3));
+
+        // When
+        Slice<BidListRow> result = bidListService.getBidsPage(SearchCriteria.NONE, BidListSortColumn.ACCOUNT, Sort.Direction.ASC, null, null, 2);
+
+        // Then
+        Assertions.assertEquals(Arrays.asList(bid1, bid2), result.getContent());
+        Assertions.assertTrue(result.hasNext());
+    }
+
+    @Test
+    void testGetBidsPageLastPage() {
+        // Given
+        BidListRow bid1 = new BidListRow(9L, "A", "Type", 10.0, 0);
+        when(bidListRepository.findProjected(ArgumentMatchers.<Specification<BidList>>any(), eq(3), eq(BidListRow.class))).thenReturn(List.of(bid1));
+
+        // When
+        Slice<BidListRow> result = bidListService.getBidsPage(SearchCriteria.NONE, BidListSortColumn.ID, Sort.Direction.DESC, 10L, 10, 2);
+
+        // Then
+        Assertions.assertEquals(1, result.getNumberOfElements());
+        Assertions.assertFalse(result.hasNext());
+    }
+
+    @Test
+    void testUpdateBidSetsOnlyTheGivenFields() {
+        // Given
+        BidList bid = new BidList("Account", "Type", 10.0);
+        bid.setVersion(3);
+        bid.setCommentary("Commentary");
+        when(bidListRepository.findById(1L)).thenReturn(Optional.of(bid));
+
+        // When
+        BidList result = bidListService.updateBid(1, 3, Map.of("bidQuantity", "20.5", "askQuantity", ""));
+
+        // Then
+        Assertions.assertSame(bid, result);
+        Assertions.assertEquals(20.5, result.getBidQuantity());
+        Assertions.assertNull(result.getAskQuantity());
+        Assertions.assertEquals("Account", result.getAccount());
+        Assertions.assertEquals("Commentary", result.getCommentary());
+        verify(bidListRepository, never()).save(any());
+    }
+
+    @Test
+    void testUpdateBidWithStaleVersion() {
+        // Given
+        BidList bid = new BidList("Account", "Type", 10.0);
+        bid.setVersion(4);
+        when(bidListRepository.findById(1L)).thenReturn(Optional.of(bid));
+
+        // When
+        Assertions.assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> bidListService.updateBid(1, 3, Map.of("bidQuantity", 20.0)));
+
+        // Then
+        Assertions.assertEquals(10.0, bid.getBidQuantity());
+    }
+
+    @Test
+    void testUpdateBidRejectsInvalidFields() {
+        // Given
+        BidList bid = new BidList("Account", "Type", 10.0);
+        when(bidListRepository.findById(1L)).thenReturn(Optional.of(bid));
+
+        // When Then
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> bidListService.updateBid(1, null, Map.of("creationName", "Someone")));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> bidListService.updateBid(1, null, Map.of("bidQuantity", "many")));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> bidListService.updateBid(1, null, Collections.singletonMap("account", null)));
+    }
 }
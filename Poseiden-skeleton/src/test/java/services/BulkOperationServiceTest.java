@@ -0,0 +1,226 @@
+package services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nnk.springboot.Application;
+import com.nnk.springboot.domain.AuditEvent;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.RatingRepository;
+import com.nnk.springboot.repositories.SearchCriteria;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.services.AuditService;
+import com.nnk.springboot.services.BidListService;
+import com.nnk.springboot.services.BulkOperationService;
+import com.nnk.springboot.services.TradePositionService;
+import com.nnk.springboot.services.TradeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = Application.class, properties = "bulk.max-rows=3")
+@WithMockUser(username = "bulk")
+class BulkOperationServiceTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Autowired
+    private BulkOperationService bulkOperationService;
+
+    @Autowired
+    private BidListRepository bidListRepository;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private BidListService bidListService;
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Autowired
+    private TradePositionService tradePositionService;
+
+    @Autowired
+    private AuditService auditService;
+
+    private static String account() {
+        return "bulk-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private static SearchCriteria byAccount(String account) {
+        return new SearchCriteria(account, null, null, null, null, null, null, null);
+    }
+
+    private BidList bid(String account, String status) {
+        BidList bid = new BidList(account, "Type", 10.0);
+        bid.setStatus(status);
+        return bidListRepository.save(bid);
+    }
+
+    private Trade trade(String account) {
+        Trade trade = new Trade(account, "Type");
+        trade.setBook("Book");
+        trade.setSecurity("Security");
+        trade.setBuyQuantity(10.0);
+        tradeService.saveTrade(trade);
+        return trade;
+    }
+
+    private List<AuditEvent> awaitHistory(String entityType, Long id, int size) throws InterruptedException {
+        List<AuditEvent> history = auditService.getHistory(entityType, id);
+        for (int i = 0; i < 100 && history.size() < size; i++) {
+            Thread.sleep(50);
+            history = auditService.getHistory(entityType, id);
+        }
+        return history;
+    }
+
+    @Test
+    void testBidStatusUpdatedByCriteria() throws Exception {
+        // Given
+        String account = account();
+        BidList first = bid(account, "OPEN");
+        BidList second = bid(account, "OPEN");
+        BidList other = bid(account(), "OPEN");
+
+        // When
+        long updated = bulkOperationService.updateBidStatus(null, byAccount(account), "CANCELLED");
+
+        // Then
+        assertEquals(2, updated);
+        BidList reloaded = bidListRepository.findById(first.getId()).orElseThrow();
+        assertEquals("CANCELLED", reloaded.getStatus());
+        assertEquals(first.getVersion() + 1, reloaded.getVersion());
+        assertEquals("bulk", reloaded.getRevisionName());
+        assertNotNull(reloaded.getRevisionDate());
+        assertEquals("CANCELLED", bidListRepository.findById(second.getId()).orElseThrow().getStatus());
+        assertEquals("OPEN", bidListRepository.findById(other.getId()).orElseThrow().getStatus());
+        List<AuditEvent> history = awaitHistory("BidList", first.getId(), 2);
+        assertEquals("UPDATE", history.get(history.size() - 1).getAction());
+        JsonNode changes = MAPPER.readTree(history.get(history.size() - 1).getChanges());
+        assertEquals("OPEN", changes.get("status").get(0).asText());
+        assertEquals("CANCELLED", changes.get("status").get(1).asText());
+    }
+
+    @Test
+    void testTradesDeletedByIdsLeavePositions() throws Exception {
+        // Given
+        String account = account();
+        Trade first = trade(account);
+        Trade second = trade(account);
+        Trade kept = trade(account());
+
+        // When
+        long deleted = bulkOperationService.deleteTrades(List.of(first.getTradeId(), second.getTradeId(), -1L), null);
+
+        // Then
+        assertEquals(2, deleted);
+        assertFalse(tradeRepository.existsById(first.getTradeId()));
+        assertFalse(tradeRepository.existsById(second.getTradeId()));
+        assertTrue(tradeRepository.existsById(kept.getTradeId()));
+        assertTrue(tradePositionService.getPositions().stream().noneMatch(position -> account.equals(position.account())));
+        List<AuditEvent> history = awaitHistory("Trade", first.getTradeId(), 2);
+        assertEquals("DELETE", history.get(history.size() - 1).getAction());
+        assertTrue(MAPPER.readTree(history.get(history.size() - 1).getChanges()).get("account").get(1).isNull());
+    }
+
+    @Test
+    void testBulkDeleteAuditedAsSingleDelete() throws Exception {
+        // Given
+        String account = account();
+        BidList single = bid(account, "OPEN");
+        BidList bulk = bid(account, "OPEN");
+        for (BidList bid : List.of(single, bulk)) {
+            bid.setCommentary("Commentary");
+            bid.setDealName("Deal");
+            bid.setSourceListId("Source");
+            bid.setBidListDate(LocalDateTime.now());
+            bidListRepository.save(bid);
+        }
+
+        // When
+        bidListService.deleteBidById(single.getId());
+        bulkOperationService.deleteBids(List.of(bulk.getId()), null);
+
+        // Then
+        List<AuditEvent> singleHistory = awaitHistory("BidList", single.getId(), 3);
+        List<AuditEvent> bulkHistory = awaitHistory("BidList", bulk.getId(), 3);
+        JsonNode singleChanges = MAPPER.readTree(singleHistory.get(singleHistory.size() - 1).getChanges());
+        JsonNode bulkChanges = MAPPER.readTree(bulkHistory.get(bulkHistory.size() - 1).getChanges());
+        assertEquals("DELETE", bulkHistory.get(bulkHistory.size() - 1).getAction());
+        assertEquals(fieldNames(singleChanges), fieldNames(bulkChanges));
+        assertEquals("Commentary", bulkChanges.get("commentary").get(0).asText());
+        assertEquals("bulk", bulkChanges.get("creationName").get(0).asText());
+        assertTrue(bulkChanges.has("bidListDate"));
+    }
+
+    private static List<String> fieldNames(JsonNode changes) {
+        List<String> names = new ArrayList<>();
+        changes.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+
+    @Test
+    void testIdsAndCriteriaCombined() {
+        // Given
+        String account = account();
+        BidList matching = bid(account, "OPEN");
+        BidList otherAccount = bid(account(), "OPEN");
+
+        // When
+        long deleted = bulkOperationService.deleteBids(List.of(matching.getId(), otherAccount.getId()), byAccount(account));
+
+        // Then
+        assertEquals(1, deleted);
+        assertFalse(bidListRepository.existsById(matching.getId()));
+        assertTrue(bidListRepository.existsById(otherAccount.getId()));
+        assertEquals(0, bulkOperationService.deleteBids(List.of(), byAccount(account)));
+    }
+
+    @Test
+    void testSelectionRequiredAndBounded() {
+        // Given
+        String account = account();
+        for (int i = 0; i < 4; i++) {
+            bid(account, "OPEN");
+        }
+
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> bulkOperationService.deleteBids(null, null));
+        assertThrows(IllegalArgumentException.class, () -> bulkOperationService.deleteBids(null, SearchCriteria.NONE));
+        assertThrows(IllegalArgumentException.class, () -> bulkOperationService.deleteBids(null, byAccount(account)));
+        assertThrows(IllegalArgumentException.class, () -> bulkOperationService.updateBidStatus(null, byAccount(account), " "));
+        assertThrows(IllegalArgumentException.class, () -> bulkOperationService.deleteRatings(null));
+        assertEquals(4, bidListRepository.findAll().stream().filter(bid -> account.equals(bid.getAccount())).count());
+    }
+
+    @Test
+    void testRatingsDeletedByIds() {
+        // Given
+        Rating first = ratingRepository.save(new Rating("Aaa", "AAA", "AAA", 1));
+        Rating second = ratingRepository.save(new Rating("Aa1", "AA+", "AA+", 2));
+
+        // When
+        long deleted = bulkOperationService.deleteRatings(List.of(first.getId(), second.getId(), -1L));
+
+        // Then
+        assertEquals(2, deleted);
+        assertFalse(ratingRepository.existsById(first.getId()));
+        assertTrue(ratingRepository.findById(second.getId()).isEmpty());
+    }
+}
@@ -0,0 +1,100 @@
+package services;
+
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.services.CurveEngine;
+import com.nnk.springboot.services.InterpolatedCurve;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static com.nnk.springboot.services.InterpolatedCurve.Interpolation.CUBIC_SPLINE;
+import static com.nnk.springboot.services.InterpolatedCurve.Interpolation.LINEAR;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CurveEngineTest {
+
+    @Mock
+    private CurvePointRepository curvePointRepository;
+
+    @InjectMocks
+    private CurveEngine curveEngine;
+
+    private static CurvePoint point(long id, int curveId, Double term, Double value) {
+        CurvePoint curvePoint = new CurvePoint(curveId, term, value);
+        curvePoint.setId(id);
+        return curvePoint;
+    }
+
+    @Test
+    void testLoadAllAndInterpolate() {
+        // Given
+        when(curvePointRepository.findAll(any(Sort.class))).thenReturn(new ArrayList<>(List.of(
+                point(1, 1, 0.0, 0.0), point(2, 1, 1.0, 1.0), point(3, 1, 2.0, 0.0),
+                point(4, 2, 1.0, 5.0), point(5, 2, 3.0, null))));
+
+        // When
+        curveEngine.loadAll();
+
+        // Then
+        assertArrayEquals(new int[]{1, 2}, curveEngine.getCurveIds());
+        assertEquals(0.5, curveEngine.valueAt(1, 0.5, LINEAR), 1e-12);
+        assertEquals(0.6875, curveEngine.valueAt(1, 0.5, CUBIC_SPLINE), 1e-12);
+        assertEquals(1.0, curveEngine.valueAt(1, 1.0, CUBIC_SPLINE), 1e-12);
+        assertEquals(0.0, curveEngine.valueAt(1, -3.0, LINEAR), 1e-12);
+        assertEquals(0.0, curveEngine.valueAt(1, 10.0, CUBIC_SPLINE), 1e-12);
+        assertEquals(5.0, curveEngine.valueAt(2, 7.0, LINEAR), 1e-12);
+        assertThrows(NoSuchElementException.class, () -> curveEngine.valueAt(3, 1.0, LINEAR));
+    }
+
+    @Test
+    void testSplineOnStraightLineIsLinear() {
+        InterpolatedCurve curve = new InterpolatedCurve(1, new double[]{1, 2, 5, 10}, new double[]{2, 4, 10, 20});
+
+        assertEquals(curve.valueAt(3.3, LINEAR), curve.valueAt(3.3, CUBIC_SPLINE), 1e-12);
+        assertEquals(15.0, curve.valueAt(7.5, CUBIC_SPLINE), 1e-12);
+    }
+
+    @Test
+    void testInvalidCurve() {
+        assertThrows(IllegalArgumentException.class, () -> new InterpolatedCurve(1, new double[]{2, 1}, new double[]{0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> new InterpolatedCurve(1, new double[0], new double[0]));
+    }
+
+    @Test
+    void testRefreshAddsReplacesAndRemovesCurves() {
+        // Given
+        when(curvePointRepository.findByCurveIdOrderByTermAscIdAsc(2)).thenReturn(List.of(point(1, 2, 1.0, 3.0)));
+        when(curvePointRepository.findByCurveIdOrderByTermAscIdAsc(1)).thenReturn(List.of(point(2, 1, 1.0, 1.0)));
+
+        // When
+        curveEngine.onCurveChanged(new CurveEngine.CurveChangedEvent(2));
+        curveEngine.onCurveChanged(new CurveEngine.CurveChangedEvent(1));
+
+        // Then
+        assertArrayEquals(new int[]{1, 2}, curveEngine.getCurveIds());
+        assertEquals(3.0, curveEngine.valueAt(2, 1.0, LINEAR));
+
+        // When the points of curve 2 change, then disappear
+        when(curvePointRepository.findByCurveIdOrderByTermAscIdAsc(2))
+                .thenReturn(List.of(point(1, 2, 1.0, 3.0), point(3, 2, 1.0, 4.0)))
+                .thenReturn(List.of());
+        curveEngine.refresh(2);
+        assertEquals(4.0, curveEngine.valueAt(2, 1.0, LINEAR));
+        curveEngine.refresh(2);
+
+        // Then
+        assertArrayEquals(new int[]{1}, curveEngine.getCurveIds());
+        assertEquals(1, curveEngine.getCurve(1).size());
+    }
+}
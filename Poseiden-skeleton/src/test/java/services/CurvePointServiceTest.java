@@ -2,6 +2,7 @@ package services;
 
 import com.nnk.springboot.domain.CurvePoint;
 import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.services.CurveEngine;
 import com.nnk.springboot.services.CurvePointService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,6 +11,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -24,6 +26,9 @@ class CurvePointServiceTest {
     @Mock
     private CurvePointRepository curvePointRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CurvePointService curvePointService;
     @Test
@@ -55,7 +60,7 @@ class CurvePointServiceTest {
     @Test
     void testCheckIfIdExists() {
         // Given
-        int id = 1;
+        long id = 1;
         when(curvePointRepository.existsById(id)).thenReturn(true);
 
         // When
@@ -68,7 +73,7 @@ class CurvePointServiceTest {
     @Test
     void testDeleteCurvePointById() {
         // Given
-        int id = 1;
+        long id = 1;
 
         // When
         curvePointService.deleteCurvePointById(id);
@@ -80,7 +85,7 @@ class CurvePointServiceTest {
     @Test
     void testGetCurvePointById() {
         // Given
-        int id = 1;
+        long id = 1;
         CurvePoint curvePoint = new CurvePoint();
         when(curvePointRepository.findById(id)).thenReturn(Optional.of(curvePoint));
 
@@ -100,4 +105,46 @@ class CurvePointServiceTest {
         // Then
         assertNotNull(result);
     }
+
+    @Test
+    void testSaveCurvePointPublishesCurveChanged() {
+        // Given
+        CurvePoint curvePoint = new CurvePoint(3, 1.0, 2.0);
+
+        // When
+        curvePointService.saveCurvePoint(curvePoint);
+
+        // Then
+        verify(eventPublisher).publishEvent(new CurveEngine.CurveChangedEvent(3));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void testSaveCurvePointMovedToAnotherCurve() {
+        // Given
+        CurvePoint existing = new CurvePoint(3, 1.0, 2.0);
+        CurvePoint curvePoint = new CurvePoint(4, 1.0, 2.0);
+        curvePoint.setId(7L);
+        when(curvePointRepository.findById(7L)).thenReturn(Optional.of(existing));
+
+        // When
+        curvePointService.saveCurvePoint(curvePoint);
+
+        // Then
+        verify(eventPublisher).publishEvent(new CurveEngine.CurveChangedEvent(3));
+        verify(eventPublisher).publishEvent(new CurveEngine.CurveChangedEvent(4));
+    }
+
+    @Test
+    void testDeleteCurvePointPublishesCurveChanged() {
+        // Given
+        when(curvePointRepository.findById(7L)).thenReturn(Optional.of(new CurvePoint(3, 1.0, 2.0)));
+
+        // When
+        curvePointService.deleteCurvePointById(7);
+
+        // Then
+        verify(curvePointRepository).deleteById(7L);
+        verify(eventPublisher).publishEvent(new CurveEngine.CurveChangedEvent(3));
+    }
 }
@@ -0,0 +1,63 @@
+package services;
+
+import com.nnk.springboot.Application;
+import com.nnk.springboot.repositories.BidListRow;
+import com.nnk.springboot.repositories.TradeRow;
+import com.nnk.springboot.services.AuditService;
+import com.nnk.springboot.services.ChangeStreamService;
+import com.nnk.springboot.services.ListRowRenderer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = Application.class)
+class ListRowRendererTest {
+
+    @Autowired
+    private ListRowRenderer listRowRenderer;
+
+    @Test
+    void testTradeRowRenderedAndEscaped() {
+        // Given
+        TradeRow trade = new TradeRow(-1L, "<Account>", "Type", 10.0, 0);
+
+        // When
+        String html = listRowRenderer.tradeRow(trade);
+
+        // Then
+        assertTrue(html.startsWith("<tr data-id=\"-1\">"), html);
+        assertTrue(html.contains("<td data-field=\"account\">&lt;Account&gt;</td>"), html);
+        assertTrue(html.contains("<a href=\"/trade/update/-1\">Edit</a>"), html);
+    }
+
+    @Test
+    void testRowReusedUntilVersionChanges() {
+        // Given
+        String first = listRowRenderer.bidListRow(new BidListRow(-2L, "Before", "Type", 10.0, 0));
+
+        // When
+        String sameVersion = listRowRenderer.bidListRow(new BidListRow(-2L, "Before", "Type", 10.0, 0));
+        String newVersion = listRowRenderer.bidListRow(new BidListRow(-2L, "After", "Type", 10.0, 1));
+
+        // Then
+        assertSame(first, sameVersion);
+        assertTrue(newVersion.contains("After"));
+    }
+
+    @Test
+    void testRowEvictedWhenEntityChanges() {
+        // Given
+        String first = listRowRenderer.tradeRow(new TradeRow(-3L, "Account", "Type", 10.0, 0));
+
+        // When
+        listRowRenderer.onEntityChanged(new ChangeStreamService.EntityChangedEvent("Trade", -3L,
+                AuditService.Action.DELETE, null));
+        String rendered = listRowRenderer.tradeRow(new TradeRow(-3L, "Account", "Type", 10.0, 0));
+
+        // Then
+        assertEquals(first, rendered);
+        assertNotSame(first, rendered);
+    }
+}
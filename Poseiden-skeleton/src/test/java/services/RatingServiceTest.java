@@ -43,7 +43,7 @@ class RatingServiceTest {
     @Test
     void testCheckIfIdExists() {
         // Given
-        int id = 1;
+        long id = 1;
         when(ratingRepository.existsById(id)).thenReturn(true);
 
         // When
@@ -68,7 +68,7 @@ class RatingServiceTest {
     @Test
     void testDeleteRatingById() {
         // Given
-        int id = 1;
+        long id = 1;
 
         // When
         ratingService.deleteRatingById(id);
@@ -80,7 +80,7 @@ class RatingServiceTest {
     @Test
     void testGetRatingById() {
         // Given
-        int id = 1;
+        long id = 1;
         Rating rating = new Rating();
         when(ratingRepository.findById(id)).thenReturn(Optional.of(rating));
 
@@ -0,0 +1,102 @@
+package services;
+
+import com.nnk.springboot.Application;
+import com.nnk.springboot.domain.Rating;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.services.RatingService;
+import com.nnk.springboot.services.RuleNameService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = Application.class)
+class ReferenceDataCacheTest {
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private RuleNameService ruleNameService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testRatingListServedFromCacheUntilChanged() {
+        // Given
+        ratingService.saveRating(new Rating("Aaa", "AAA", "AAA", 1));
+        Rating rating = new Rating("Baa1", "BBB+", "BBB+", 2);
+        ratingService.saveRating(rating);
+        int size = ratingService.getAllRatings().size();
+        statistics.clear();
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            assertEquals(size, ratingService.getAllRatings().size());
+        }
+
+        // Then
+        assertEquals(3, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        // When
+        ratingService.saveRating(new Rating("Caa1", "CCC+", "CCC+", 3));
+        List<Rating> afterSave = ratingService.getAllRatings();
+        ratingService.deleteRatingById(rating.getId());
+        List<Rating> afterDelete = ratingService.getAllRatings();
+
+        // Then
+        assertEquals(size + 1, afterSave.size());
+        assertEquals(size, afterDelete.size());
+        assertTrue(afterDelete.stream().noneMatch(r -> r.getId().equals(rating.getId())));
+        assertTrue(ratingService.getRatingById(rating.getId()).isEmpty());
+    }
+
+    @Test
+    void testRuleNameServedFromCacheUntilChanged() {
+        // Given
+        RuleName ruleName = new RuleName("Rule", "Description", "{}", "Template", "SQL", "SQL part");
+        ruleNameService.saveRuleName(ruleName);
+        ruleNameService.getRuleNameById(ruleName.getId());
+        statistics.clear();
+
+        // When
+        RuleName cached = ruleNameService.getRuleNameById(ruleName.getId()).orElseThrow();
+        boolean exists = ruleNameService.checkIfIdExists(ruleName.getId())
+                && ruleNameService.checkIfIdExists(ruleName.getId());
+
+        // Then
+        assertEquals("{}", cached.getJson());
+        assertTrue(exists);
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        // When
+        cached.setJson("""
+                {"all": [{"field": "account", "op": "like", "value": "ACC%"},
+                         {"field": "side", "op": "eq", "value": "BUY"},
+                         {"any": [{"field": "bidQuantity", "op": ">", "value": 1000},
+                                  {"field": "askQuantity", "op": ">", "value": 1000},
+                                  {"field": "security", "op": ">=", "value": "M"}]}]}""");
+        ruleNameService.saveRuleName(cached);
+
+        // Then, a condition tree longer than a VARCHAR(255)
+        assertTrue(cached.getJson().length() > 255);
+        assertEquals(cached.getJson(), ruleNameService.getRuleNameById(ruleName.getId()).orElseThrow().getJson());
+    }
+}
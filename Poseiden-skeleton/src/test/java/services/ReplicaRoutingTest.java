@@ -0,0 +1,186 @@
+package services;
+
+import com.nnk.springboot.Application;
+import com.nnk.springboot.config.ReplicaRoutingDataSource;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.services.BidListService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import jakarta.servlet.http.Cookie;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two H2 databases stand in for the primary and its replica; nothing replicates between them,
+ * so the rows read tell which database served the query.
+ */
+@SpringBootTest(classes = Application.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "spring.datasource.replica.driver-class-name=org.h2.Driver",
+        "spring.datasource.replica.username=sa",
+        "spring.datasource.replica.password=",
+        "spring.datasource.replica.hikari.minimum-idle=1",
+        "spring.datasource.replica.read-your-writes-window=1h",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"})
+@Import(ReplicaRoutingTest.ReplicaSchema.class)
+class ReplicaRoutingTest {
+
+    @TestConfiguration
+    static class ReplicaSchema {
+
+        /**
+         * Copy the schema created by Hibernate on the primary to the replica, before the application reads it
+         */
+        @Bean
+        Path replicaSchema(EntityManagerFactory entityManagerFactory,
+                           @Qualifier("primaryDataSource") DataSource primary,
+                           @Qualifier("replicaDataSource") DataSource replica) throws IOException {
+            Path script = Files.createTempFile("replica-schema", ".sql");
+            new JdbcTemplate(primary).execute("SCRIPT NODATA TO '" + script + "'");
+            try (var connection = replica.getConnection()) {
+                connection.setReadOnly(false);
+                connection.createStatement().execute("RUNSCRIPT FROM '" + script + "'");
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return script;
+        }
+    }
+
+    @Autowired
+    private BidListService bidListService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        try (var connection = replica.getConnection()) {
+            connection.setReadOnly(false);
+            connection.createStatement().execute(
+                    "INSERT INTO bidlist (id, version, account, type) VALUES (NEXT VALUE FOR bidlist_seq, 0, 'Replica', 'Type')");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        RequestContextHolder.resetRequestAttributes();
+        new JdbcTemplate(primary).update("DELETE FROM bidlist");
+        try (var connection = replica.getConnection()) {
+            connection.setReadOnly(false);
+            connection.createStatement().execute("DELETE FROM bidlist");
+        }
+    }
+
+    private static BidList bid(String account) {
+        BidList bidList = new BidList();
+        bidList.setAccount(account);
+        bidList.setType("Type");
+        return bidList;
+    }
+
+    private List<String> accounts() {
+        return bidListService.getAllBids().stream().map(BidList::getAccount).toList();
+    }
+
+    @Test
+    void testReadOnlyTransactionsReadTheReplica() {
+        // Given no request, as for background work
+        RequestContextHolder.resetRequestAttributes();
+        bidListService.saveBid(bid("Primary"));
+
+        // When
+        List<String> accounts = accounts();
+
+        // Then
+        assertEquals(List.of("Replica"), accounts);
+        assertEquals(1, new JdbcTemplate(primary).queryForObject("SELECT COUNT(*) FROM bidlist", Integer.class));
+    }
+
+    @Test
+    void testSessionReadsItsWritesFromThePrimary() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        List<String> before = accounts();
+
+        // When
+        bidListService.saveBid(bid("Primary"));
+        List<String> after = accounts();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        List<String> otherSession = accounts();
+
+        // Then
+        assertEquals(List.of("Replica"), before);
+        assertEquals(List.of("Primary"), after);
+        assertNotNull(request.getSession().getAttribute(ReplicaRoutingDataSource.LAST_WRITE_ATTRIBUTE));
+        assertEquals(List.of("Replica"), otherSession);
+    }
+
+    @Test
+    void testSessionlessReadsItsWritesFromThePrimary() {
+        // Given the routing of the modes keeping the login out of the HTTP session
+        DataSource routing = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replica, Duration.ofHours(1), true));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(routing);
+        TransactionTemplate writing = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        TransactionTemplate reading = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        reading.setReadOnly(true);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+
+        // When
+        writing.executeWithoutResult(status -> jdbcTemplate.update(
+                "INSERT INTO bidlist (id, version, account, type) VALUES (NEXT VALUE FOR bidlist_seq, 0, 'Primary', 'Type')"));
+        List<String> sameRequest = reading.execute(status -> jdbcTemplate.queryForList("SELECT account FROM bidlist", String.class));
+        Cookie lastWrite = response.getCookie(ReplicaRoutingDataSource.LAST_WRITE_COOKIE);
+        MockHttpServletRequest next = new MockHttpServletRequest();
+        next.setCookies(lastWrite);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(next));
+        List<String> nextRequest = reading.execute(status -> jdbcTemplate.queryForList("SELECT account FROM bidlist", String.class));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        List<String> otherUser = reading.execute(status -> jdbcTemplate.queryForList("SELECT account FROM bidlist", String.class));
+
+        // Then
+        assertEquals(List.of("Primary"), sameRequest);
+        assertNotNull(lastWrite);
+        assertEquals(3600, lastWrite.getMaxAge());
+        assertNull(request.getSession(false));
+        assertEquals(List.of("Primary"), nextRequest);
+        assertNull(next.getSession(false));
+        assertEquals(List.of("Replica"), otherUser);
+    }
+}
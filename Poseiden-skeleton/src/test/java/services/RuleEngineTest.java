@@ -0,0 +1,149 @@
+package services;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.RuleName;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.services.CompiledRule;
+import com.nnk.springboot.services.RuleEngine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RuleEngineTest {
+
+    @Mock
+    private RuleNameRepository ruleNameRepository;
+
+    @InjectMocks
+    private RuleEngine ruleEngine;
+
+    private static RuleName rule(String json) {
+        return new RuleName("Rule", "Description", json, null, null, null);
+    }
+
+    private static BidList bid(String account, String side, Double bidQuantity) {
+        BidList bidList = new BidList();
+        bidList.setAccount(account);
+        bidList.setSide(side);
+        bidList.setBidQuantity(bidQuantity);
+        return bidList;
+    }
+
+    @Test
+    void testEvaluateBidLists() {
+        // Given
+        when(ruleNameRepository.findById(1L)).thenReturn(Optional.of(rule("""
+                {"all": [{"field": "account", "op": "like", "value": "ACC%"},
+                         {"any": [{"field": "bidQuantity", "op": ">", "value": 1000},
+                                  {"field": "side", "op": "in", "value": ["SELL", "SHORT"]}]},
+                         {"not": {"field": "bidQuantity", "op": "isNull"}}]}""")));
+        List<BidList> bids = List.of(
+                bid("ACC1", "BUY", 1500.0),
+                bid("ACC2", "SELL", 10.0),
+                bid("OTHER", "SELL", 5000.0),
+                bid("ACC3", "BUY", 10.0),
+                bid("ACC4", "SELL", null),
+                bid(null, "SELL", 5000.0));
+
+        // When
+        BitSet matches = ruleEngine.evaluate(1, BidList.class, bids);
+
+        // Then
+        assertEquals(BitSet.valueOf(new long[]{0b11}), matches);
+        assertEquals(List.of(bids.get(0), bids.get(1)), ruleEngine.filter(1, BidList.class, bids));
+    }
+
+    @Test
+    void testEvaluateTrades() {
+        // Given
+        when(ruleNameRepository.findById(2L)).thenReturn(Optional.of(rule("""
+                {"any": [{"field": "security", "op": ">=", "value": "M"},
+                         {"field": "book", "op": "=", "value": "Main"}]}""")));
+        Trade late = new Trade();
+        late.setSecurity("TSLA");
+        Trade early = new Trade();
+        early.setSecurity("AAPL");
+        Trade main = new Trade();
+        main.setBook("Main");
+
+        // When
+        List<Trade> matches = ruleEngine.filter(2, Trade.class, List.of(late, early, main));
+
+        // Then
+        assertEquals(List.of(late, main), matches);
+    }
+
+    @Test
+    void testCompiledRuleIsCachedUntilChanged() {
+        // Given
+        when(ruleNameRepository.findById(3L))
+                .thenReturn(Optional.of(rule("{\"field\": \"side\", \"op\": \"eq\", \"value\": \"BUY\"}")))
+                .thenReturn(Optional.of(rule("{\"field\": \"side\", \"op\": \"eq\", \"value\": \"SELL\"}")));
+        List<BidList> bids = List.of(bid("A", "BUY", 1.0), bid("B", "SELL", 1.0));
+
+        // When
+        CompiledRule first = ruleEngine.getRule(3);
+        BitSet before = ruleEngine.evaluate(3, BidList.class, bids);
+        ruleEngine.onRuleChanged(new RuleEngine.RuleChangedEvent(3));
+        BitSet after = ruleEngine.evaluate(3, BidList.class, bids);
+
+        // Then
+        assertSame(first.predicate(BidList.class), first.predicate(BidList.class));
+        assertTrue(before.get(0) && !before.get(1));
+        assertTrue(!after.get(0) && after.get(1));
+        verify(ruleNameRepository, times(2)).findById(3L);
+    }
+
+    @Test
+    void testRuleChangedWhileCompiledIsNotCached() {
+        // Given, a change committed while the rule is read
+        when(ruleNameRepository.findById(4L))
+                .thenAnswer(invocation -> {
+                    ruleEngine.onRuleChanged(new RuleEngine.RuleChangedEvent(4));
+                    return Optional.of(rule("{\"field\": \"side\", \"op\": \"eq\", \"value\": \"BUY\"}"));
+                })
+                .thenReturn(Optional.of(rule("{\"field\": \"side\", \"op\": \"eq\", \"value\": \"SELL\"}")));
+        List<BidList> bids = List.of(bid("A", "BUY", 1.0), bid("B", "SELL", 1.0));
+
+        // When
+        BitSet first = ruleEngine.evaluate(4, BidList.class, bids);
+        BitSet second = ruleEngine.evaluate(4, BidList.class, bids);
+        BitSet third = ruleEngine.evaluate(4, BidList.class, bids);
+
+        // Then
+        assertTrue(first.get(0) && !first.get(1));
+        assertTrue(!second.get(0) && second.get(1));
+        assertEquals(second, third);
+        verify(ruleNameRepository, times(2)).findById(4L);
+    }
+
+    @Test
+    void testInvalidRules() {
+        // Given
+        when(ruleNameRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(ruleNameRepository.findById(1L)).thenReturn(Optional.of(rule("{\"field\": \"side\", \"op\": \"eq\"")));
+        when(ruleNameRepository.findById(2L)).thenReturn(Optional.of(rule("{\"field\": \"unknown\", \"op\": \"eq\", \"value\": 1}")));
+        when(ruleNameRepository.findById(3L)).thenReturn(Optional.of(rule("{\"field\": \"bidQuantity\", \"op\": \"like\", \"value\": \"1%\"}")));
+        when(ruleNameRepository.findById(4L)).thenReturn(Optional.of(rule(null)));
+        List<BidList> bids = List.of(bid("A", "BUY", 1.0));
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> ruleEngine.getRule(1));
+        assertThrows(IllegalArgumentException.class, () -> ruleEngine.evaluate(2, BidList.class, bids));
+        assertThrows(IllegalArgumentException.class, () -> ruleEngine.evaluate(3, BidList.class, bids));
+        assertThrows(IllegalArgumentException.class, () -> ruleEngine.getRule(4));
+        assertThrows(NoSuchElementException.class, () -> ruleEngine.getRule(5));
+    }
+}
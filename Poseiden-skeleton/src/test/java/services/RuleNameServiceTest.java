@@ -2,12 +2,14 @@ package services;
 
 import com.nnk.springboot.domain.RuleName;
 import com.nnk.springboot.repositories.RuleNameRepository;
+import com.nnk.springboot.services.RuleEngine;
 import com.nnk.springboot.services.RuleNameService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
@@ -23,6 +25,9 @@ class RuleNameServiceTest {
     @Mock
     private RuleNameRepository ruleNameRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private RuleNameService ruleNameService;
 
@@ -43,7 +48,7 @@ class RuleNameServiceTest {
     @Test
     void testCheckIfIdExists() {
         // Given
-        int id = 1;
+        long id = 1;
         when(ruleNameRepository.existsById(id)).thenReturn(true);
 
         // When
@@ -63,24 +68,40 @@ class RuleNameServiceTest {
 
         // Then
         verify(ruleNameRepository, times(1)).save(ruleName);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testSaveExistingRuleNameInvalidatesCompiledRule() {
+        // Given
+        RuleName ruleName = new RuleName();
+        ruleName.setId(4L);
+
+        // When
+        ruleNameService.saveRuleName(ruleName);
+
+        // Then
+        verify(ruleNameRepository, times(1)).save(ruleName);
+        verify(eventPublisher).publishEvent(new RuleEngine.RuleChangedEvent(4));
     }
 
     @Test
     void testDeleteRuleNameById() {
         // Given
-        int id = 1;
+        long id = 1;
 
         // When
         ruleNameService.deleteRuleNameById(id);
 
         // Then
         verify(ruleNameRepository, times(1)).deleteById(id);
+        verify(eventPublisher).publishEvent(new RuleEngine.RuleChangedEvent(id));
     }
 
     @Test
     void testGetRuleNameById() {
         // Given
-        int id = 1;
+        long id = 1;
         RuleName ruleName = new RuleName();
         when(ruleNameRepository.findById(id)).thenReturn(Optional.of(ruleName));
 
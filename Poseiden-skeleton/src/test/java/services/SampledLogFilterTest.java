@@ -0,0 +1,107 @@
+package services;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import com.nnk.springboot.config.SampledLogFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SampledLogFilterTest {
+
+    private static final String SLOW_QUERIES = "org.hibernate.SQL_SLOW";
+
+    private final LoggerContext loggerContext = new LoggerContext();
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    private SampledLogFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new SampledLogFilter(now::get);
+        filter.setLoggerName(SLOW_QUERIES);
+        filter.setMaxPerMinute(2);
+        filter.start();
+    }
+
+    private FilterReply log(String loggerName) {
+        Logger logger = loggerContext.getLogger(loggerName);
+        return filter.decide(null, logger, Level.INFO, "Slow query", null, null);
+    }
+
+    @Test
+    void testAtMostMaxPerMinuteLogged() {
+        assertEquals(FilterReply.NEUTRAL, log(SLOW_QUERIES));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertEquals(FilterReply.NEUTRAL, log(SLOW_QUERIES));
+        assertEquals(FilterReply.DENY, log(SLOW_QUERIES));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(29));
+        assertEquals(FilterReply.DENY, log(SLOW_QUERIES));
+    }
+
+    @Test
+    void testNextMinuteLogsAgain() {
+        for (int i = 0; i < 5; i++) {
+            log(SLOW_QUERIES);
+        }
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(1));
+
+        assertEquals(FilterReply.NEUTRAL, log(SLOW_QUERIES));
+        assertEquals(FilterReply.NEUTRAL, log(SLOW_QUERIES));
+        assertEquals(FilterReply.DENY, log(SLOW_QUERIES));
+    }
+
+    @Test
+    void testOtherLoggersPassThrough() {
+        for (int i = 0; i < 5; i++) {
+            log(SLOW_QUERIES);
+        }
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(FilterReply.NEUTRAL, log("org.hibernate.SQL"));
+        }
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, loggerContext.getLogger(SLOW_QUERIES), Level.INFO,
+                null, null, null));
+    }
+
+    @Test
+    void testConcurrentEventsCountedOnce() throws Exception {
+        filter.setMaxPerMinute(100);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                tasks.add(() -> {
+                    int logged = 0;
+                    for (int j = 0; j < 1000; j++) {
+                        if (log(SLOW_QUERIES) == FilterReply.NEUTRAL) {
+                            logged++;
+                        }
+                    }
+                    return logged;
+                });
+            }
+            int logged = 0;
+            for (Future<Integer> result : executor.invokeAll(tasks)) {
+                logged += result.get();
+            }
+            assertEquals(100, logged);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
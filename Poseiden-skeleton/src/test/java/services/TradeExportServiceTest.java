@@ -0,0 +1,81 @@
+package services;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.services.TradeExportService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.StringWriter;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TradeExportServiceTest {
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private TradeExportService tradeExportService;
+
+    @BeforeEach
+    void setUp() {
+        tradeExportService = new TradeExportService(tradeRepository, entityManager, 250);
+    }
+
+    private Trade trade(long id, String account) {
+        Trade trade = new Trade(account, "Type");
+        trade.setTradeId(id);
+        trade.setBuyQuantity(10.0);
+        return trade;
+    }
+
+    @Test
+    void testExportCsv() throws Exception {
+        // Given
+        Trade trade1 = trade(1, "Account");
+        Trade trade2 = trade(2, "Account, \"quoted\"");
+        when(tradeRepository.streamAll(250)).thenReturn(Stream.of(trade1, trade2));
+        StringWriter writer = new StringWriter();
+
+        // When
+        long count = tradeExportService.exportTrades(TradeExportService.Format.CSV, writer);
+
+        // Then
+        String[] lines = writer.toString().split("\r\n");
+        assertEquals(2, count);
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("id,account,type,buyQuantity,"));
+        assertTrue(lines[1].startsWith("1,Account,Type,10.0,"));
+        assertTrue(lines[2].startsWith("2,\"Account, \"\"quoted\"\"\",Type,10.0,"));
+        verify(entityManager).detach(trade1);
+        verify(entityManager).detach(trade2);
+    }
+
+    @Test
+    void testExportNdjson() throws Exception {
+        // Given
+        when(tradeRepository.streamAll(250)).thenReturn(Stream.of(trade(1, "Account"), trade(2, "Other")));
+        StringWriter writer = new StringWriter();
+
+        // When
+        long count = tradeExportService.exportTrades(TradeExportService.Format.NDJSON, writer);
+
+        // Then
+        String[] lines = writer.toString().split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,\"account\":\"Account\",\"type\":\"Type\",\"buyQuantity\":10.0,"));
+        assertTrue(lines[1].contains("\"account\":\"Other\""));
+        assertTrue(lines[1].endsWith("\"side\":null}"));
+    }
+}
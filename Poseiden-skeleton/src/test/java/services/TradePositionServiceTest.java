@@ -0,0 +1,94 @@
+package services;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.TradePosition;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.services.TradePositionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TradePositionServiceTest {
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    private TradePositionService tradePositionService;
+
+    @BeforeEach
+    void setUp() {
+        tradePositionService = new TradePositionService(tradeRepository);
+    }
+
+    private Trade trade(String account, Double buyQuantity, Double buyPrice, Double sellQuantity, Double sellPrice) {
+        Trade trade = new Trade(account, "Type");
+        trade.setBook("Book");
+        trade.setSecurity("Security");
+        trade.setBuyQuantity(buyQuantity);
+        trade.setBuyPrice(buyPrice);
+        trade.setSellQuantity(sellQuantity);
+        trade.setSellPrice(sellPrice);
+        return trade;
+    }
+
+    @Test
+    void testPositionAggregates() {
+        // Given
+        TradePosition position = TradePosition.of(trade("A", 10.0, 2.0, null, null))
+                .plus(TradePosition.of(trade("A", 0.0, null, 4.0, 5.0)))
+                .plus(TradePosition.of(trade("A", 6.0, null, null, null)));
+
+        // Then
+        assertEquals(3, position.tradeCount());
+        assertEquals(12.0, position.netQuantity());
+        assertEquals(40.0, position.notional());
+        assertEquals(40.0 / 14.0, position.vwap());
+        assertNull(TradePosition.of(trade("A", 6.0, null, null, null)).vwap());
+    }
+
+    @Test
+    void testLoadAllThenIncrementalUpdates() {
+        // Given
+        when(tradeRepository.findPositions()).thenReturn(List.of(
+                TradePosition.of(trade("B", 10.0, 1.0, null, null)),
+                TradePosition.of(trade("A", 5.0, 1.0, null, null))));
+        tradePositionService.loadAll();
+        TradePosition newTrade = TradePosition.of(trade("A", 1.0, 3.0, null, null));
+
+        // When
+        tradePositionService.onTradeChanged(new TradePositionService.TradeChangedEvent(null, newTrade));
+        tradePositionService.onTradeChanged(new TradePositionService.TradeChangedEvent(
+                TradePosition.of(trade("B", 10.0, 1.0, null, null)), TradePosition.of(trade("C", 10.0, 1.0, null, null))));
+
+        // Then
+        List<TradePosition> positions = tradePositionService.getPositions();
+        assertEquals(List.of("A", "C"), positions.stream().map(TradePosition::account).toList());
+        assertEquals(2, positions.get(0).tradeCount());
+        assertEquals(6.0, positions.get(0).netQuantity());
+        assertEquals(8.0, positions.get(0).notional());
+        verify(tradeRepository, times(1)).findPositions();
+    }
+
+    @Test
+    void testDeletedTradeRemovedFromPosition() {
+        // Given
+        TradePosition first = TradePosition.of(trade("A", 5.0, 1.0, null, null));
+        TradePosition second = TradePosition.of(trade("A", 2.0, 1.0, 1.0, 1.0));
+        when(tradeRepository.findPositions()).thenReturn(List.of(first.plus(second)));
+        tradePositionService.loadAll();
+
+        // When
+        tradePositionService.onTradeChanged(new TradePositionService.TradeChangedEvent(second, null));
+
+        // Then
+        assertEquals(List.of(first), tradePositionService.getPositions());
+    }
+}
@@ -0,0 +1,150 @@
+package services;
+
+import com.nnk.springboot.Application;
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.BidListRow;
+import com.nnk.springboot.repositories.BidListSortColumn;
+import com.nnk.springboot.repositories.SearchCriteria;
+import com.nnk.springboot.repositories.TradeRow;
+import com.nnk.springboot.repositories.TradeSummary;
+import com.nnk.springboot.services.BidListService;
+import com.nnk.springboot.services.TradeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = Application.class)
+@WithMockUser(username = "searcher")
+class TradeSearchTest {
+
+    @Autowired
+    private TradeService tradeService;
+
+    @Autowired
+    private BidListService bidListService;
+
+    private Trade trade(String account, String book, String side, LocalDateTime tradeDate) {
+        Trade trade = new Trade();
+        trade.setAccount(account);
+        trade.setType("Type");
+        trade.setBuyQuantity(10.0);
+        trade.setBook(book);
+        trade.setSide(side);
+        trade.setTradeDate(tradeDate);
+        tradeService.saveTrade(trade);
+        return trade;
+    }
+
+    private static SearchCriteria account(String account, LocalDate from, LocalDate to) {
+        return new SearchCriteria(account, null, null, null, null, null, from, to);
+    }
+
+    @Test
+    void testSearchTradesByAccountAndDateRange() {
+        // Given
+        String account = UUID.randomUUID().toString();
+        Trade first = trade(account, "Book", "BUY", LocalDateTime.of(2024, 1, 1, 0, 0));
+        Trade last = trade(account, "Book", "SELL", LocalDateTime.of(2024, 1, 31, 23, 59));
+        trade(account, "Book", "BUY", LocalDateTime.of(2024, 2, 1, 0, 0));
+        trade(UUID.randomUUID().toString(), "Book", "BUY", LocalDateTime.of(2024, 1, 15, 0, 0));
+
+        // When
+        Page<TradeRow> result = tradeService.searchTrades(
+                account(account, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)),
+                PageRequest.of(0, 10, Sort.by("tradeId")));
+
+        // Then
+        assertEquals(List.of(new TradeRow(first.getTradeId(), account, "Type", 10.0, 0),
+                new TradeRow(last.getTradeId(), account, "Type", 10.0, 0)), result.getContent());
+        assertEquals(2, result.getTotalElements());
+    }
+
+    @Test
+    void testSearchTradesPagesCountTheMatches() {
+        // Given
+        String account = UUID.randomUUID().toString();
+        for (int i = 0; i < 5; i++) {
+            trade(account, "Book", "BUY", null);
+        }
+        trade(account, "Other", "BUY", null);
+        SearchCriteria criteria = new SearchCriteria(account, "Book", null, null, null, null, null, null);
+
+        // When
+        Page<TradeRow> result = tradeService.searchTrades(criteria, PageRequest.of(1, 2, Sort.by("tradeId")));
+
+        // Then
+        assertEquals(2, result.getNumberOfElements());
+        assertEquals(5, result.getTotalElements());
+        assertEquals(3, result.getTotalPages());
+    }
+
+    @Test
+    void testGetTradeSummariesFiltered() {
+        // Given
+        String account = UUID.randomUUID().toString();
+        trade(account, "Book", "BUY", null);
+        Trade sold = trade(account, "Book", "SELL", null);
+
+        // When
+        Page<TradeSummary> result = tradeService.getTradeSummaries(
+                new SearchCriteria(account, null, null, null, null, "SELL", null, null),
+                PageRequest.of(0, 50, Sort.by("tradeId")));
+
+        // Then
+        assertEquals(1, result.getTotalElements());
+        assertEquals(sold.getTradeId(), result.getContent().get(0).tradeId());
+        assertEquals("Book", result.getContent().get(0).book());
+    }
+
+    @Test
+    void testGetTradeSummariesSorted() {
+        // Given
+        String account = UUID.randomUUID().toString();
+        Trade a = trade(account, "A", "BUY", null);
+        Trade c = trade(account, "C", "BUY", null);
+        Trade b = trade(account, "B", "BUY", null);
+
+        // When
+        Page<TradeSummary> result = tradeService.getTradeSummaries(account(account, null, null),
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "book")));
+
+        // Then
+        assertEquals(List.of(c.getTradeId(), b.getTradeId()),
+                result.getContent().stream().map(TradeSummary::tradeId).toList());
+        assertEquals(3, result.getTotalElements());
+        assertNotEquals(a.getTradeId(), result.getContent().get(1).tradeId());
+    }
+
+    @Test
+    void testGetBidsPageFiltered() {
+        // Given
+        String account = UUID.randomUUID().toString();
+        BidList bid = new BidList(account, "Type", 10.0);
+        bid.setBidListDate(LocalDateTime.of(2024, 3, 10, 12, 0));
+        bidListService.saveBid(bid);
+        BidList older = new BidList(account, "Type", 20.0);
+        older.setBidListDate(LocalDateTime.of(2024, 2, 10, 12, 0));
+        bidListService.saveBid(older);
+
+        // When
+        Slice<BidListRow> result = bidListService.getBidsPage(account(account, LocalDate.of(2024, 3, 1), null),
+                BidListSortColumn.ID, Sort.Direction.ASC, null, null, 10);
+
+        // Then
+        assertEquals(List.of(new BidListRow(bid.getId(), account, "Type", 10.0, 0)), result.getContent());
+        assertFalse(result.hasNext());
+    }
+}
@@ -0,0 +1,124 @@
+package services;
+
+import com.nnk.springboot.config.CacheConfig;
+import com.nnk.springboot.domain.User;
+import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.services.UserDetailsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDetailsServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserDetailsServiceImpl userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsService = new UserDetailsServiceImpl(userRepository, new ConcurrentMapCacheManager(CacheConfig.USER_DETAILS_CACHE));
+    }
+
+    private User user(String role) {
+        User user = new User();
+        user.setUsername("admin");
+        user.setPassword("hash");
+        user.setRole(role);
+        return user;
+    }
+
+    @Test
+    void testLoadUserByUsernameIsCached() {
+        // Given
+        when(userRepository.findByUsername("admin")).thenReturn(user("ADMIN"));
+
+        // When
+        UserDetails first = userDetailsService.loadUserByUsername("admin");
+        UserDetails second = userDetailsService.loadUserByUsername("admin");
+
+        // Then
+        verify(userRepository, times(1)).findByUsername("admin");
+        assertEquals("hash", second.getPassword());
+        assertEquals(AuthorityUtils.createAuthorityList("ADMIN"), second.getAuthorities().stream().toList());
+        assertNotSame(first, second);
+    }
+
+    @Test
+    void testCachedUserSurvivesCredentialsErasure() {
+        // Given
+        when(userRepository.findByUsername("admin")).thenReturn(user("USER"));
+
+        // When
+        ((org.springframework.security.core.userdetails.User) userDetailsService.loadUserByUsername("admin")).eraseCredentials();
+        UserDetails reloaded = userDetailsService.loadUserByUsername("admin");
+
+        // Then
+        assertEquals("hash", reloaded.getPassword());
+        assertEquals(AuthorityUtils.createAuthorityList("USER"), reloaded.getAuthorities().stream().toList());
+    }
+
+    @Test
+    void testEvictUserReloadsFromRepository() {
+        // Given
+        when(userRepository.findByUsername("admin")).thenReturn(user("USER"), user("ADMIN"));
+        userDetailsService.loadUserByUsername("admin");
+
+        // When
+        userDetailsService.evictUser("admin");
+        UserDetails reloaded = userDetailsService.loadUserByUsername("admin");
+
+        // Then
+        verify(userRepository, times(2)).findByUsername("admin");
+        assertEquals(AuthorityUtils.createAuthorityList("ADMIN"), reloaded.getAuthorities().stream().toList());
+    }
+
+    @Test
+    void testUnknownUserIsNotCached() {
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("nobody"));
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("nobody"));
+        verify(userRepository, times(2)).findByUsername("nobody");
+    }
+
+    @Test
+    void testUpdatePasswordReplacesVerifiedHash() {
+        // Given
+        when(userRepository.findByUsername("admin")).thenReturn(user("USER"));
+        UserDetails verified = userDetailsService.loadUserByUsername("admin");
+        when(userRepository.updatePassword("admin", "hash", "{bcrypt}new")).thenReturn(1);
+
+        // When
+        UserDetails updated = userDetailsService.updatePassword(verified, "{bcrypt}new");
+
+        // Then
+        assertEquals("{bcrypt}new", updated.getPassword());
+        userDetailsService.loadUserByUsername("admin");
+        verify(userRepository, times(2)).findByUsername("admin");
+    }
+
+    @Test
+    void testUpdatePasswordKeepsPasswordChangedMeanwhile() {
+        // Given
+        when(userRepository.findByUsername("admin")).thenReturn(user("USER"));
+        UserDetails verified = userDetailsService.loadUserByUsername("admin");
+        when(userRepository.updatePassword("admin", "hash", "{bcrypt}new")).thenReturn(0);
+
+        // When
+        UserDetails updated = userDetailsService.updatePassword(verified, "{bcrypt}new");
+
+        // Then
+        assertEquals("hash", updated.getPassword());
+        userDetailsService.loadUserByUsername("admin");
+        verify(userRepository, times(1)).findByUsername("admin");
+    }
+}
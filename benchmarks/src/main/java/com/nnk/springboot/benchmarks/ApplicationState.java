@@ -0,0 +1,51 @@
+package com.nnk.springboot.benchmarks;
+
+import com.nnk.springboot.Application;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * The whole application started once per trial with the "benchmark" profile, on an embedded H2 database.
+ * Benchmark states receive it as a parameter of their setup method.
+ */
+@State(Scope.Benchmark)
+public class ApplicationState {
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = startApplication();
+    }
+
+    /**
+     * Starts the application with the "benchmark" profile.
+     *
+     * @param properties Additional properties, as name=value.
+     * @return The application context.
+     */
+    public static ConfigurableApplicationContext startApplication(String... properties) {
+        return new SpringApplicationBuilder(Application.class)
+                .profiles("benchmark")
+                .properties(properties)
+                .run();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public ConfigurableApplicationContext getContext() {
+        return context;
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
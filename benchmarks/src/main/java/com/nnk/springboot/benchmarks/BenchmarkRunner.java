@@ -0,0 +1,25 @@
+package com.nnk.springboot.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of the benchmarks jar: the JMH command line, writing the results as JSON (jmh-result.json
+ * unless -rff names another file) so that runs of different commits can be compared.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        if (!arguments.contains("-rf")) {
+            arguments.addAll(0, List.of("-rf", "json"));
+        }
+        Main.main(arguments.toArray(new String[0]));
+    }
+}
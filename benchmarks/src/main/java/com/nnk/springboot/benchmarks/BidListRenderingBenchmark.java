@@ -0,0 +1,75 @@
+package com.nnk.springboot.benchmarks;
+
+import com.nnk.springboot.domain.BidList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thymeleaf rendering of the bidList/list view for {@code rows} bids, through the application view resolver.
+ * The bids are built in memory: only the template rendering is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BidListRenderingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    private WebApplicationContext context;
+    private View view;
+    private Map<String, Object> model;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState application) throws Exception {
+        context = (WebApplicationContext) application.getContext();
+        view = context.getBean("thymeleafViewResolver", ViewResolver.class).resolveViewName("bidList/list", Locale.ENGLISH);
+        List<BidList> bids = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            BidList bid = new BidList("Account " + i % 100, "Type " + i % 10, (double) i);
+            bid.setId(i + 1L);
+            bids.add(bid);
+        }
+        model = new HashMap<>();
+        model.put("bids", bids);
+        model.put("sort", "id");
+        model.put("direction", "asc");
+        model.put("size", rows);
+        model.put("currentUser", "user@poseidon.com");
+    }
+
+    @Benchmark
+    public int render() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(context.getServletContext(), "GET", "/bidList/list");
+        request.setAttribute(DispatcherServlet.WEB_APPLICATION_CONTEXT_ATTRIBUTE, context);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        view.render(model, request, response);
+        return response.getContentAsByteArray().length;
+    }
+}
@@ -0,0 +1,83 @@
+package com.nnk.springboot.benchmarks;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.BidListRow;
+import com.nnk.springboot.repositories.BidListSortColumn;
+import com.nnk.springboot.repositories.SearchCriteria;
+import com.nnk.springboot.services.BidListService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BidListService CRUD paths against the embedded database, seeded with {@code rows} bids.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BidListServiceBenchmark {
+
+    @Param("10000")
+    public int rows;
+
+    private BidListService bidListService;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void seed(ApplicationState application) {
+        bidListService = application.getBean(BidListService.class);
+        List<BidList> bids = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            bids.add(new BidList("Account " + i % 100, "Type " + i % 10, (double) i));
+        }
+        ids = application.getBean(BidListRepository.class).saveAll(bids).stream().mapToLong(BidList::getId).toArray();
+    }
+
+    private long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    @Benchmark
+    public Optional<BidList> read() {
+        return bidListService.getBidByBidListId(randomId());
+    }
+
+    @Benchmark
+    public BidList update() {
+        BidList bid = bidListService.getBidByBidListId(randomId()).orElseThrow();
+        bid.setBidQuantity(ThreadLocalRandom.current().nextDouble());
+        return bidListService.saveBid(bid);
+    }
+
+    @Benchmark
+    public void createAndDelete() {
+        BidList bid = bidListService.saveBid(new BidList("Account", "Type", 1.0));
+        bidListService.deleteBidById(bid.getId());
+    }
+
+    @Benchmark
+    public Slice<BidListRow> firstPage() {
+        return bidListService.getBidsPage(SearchCriteria.NONE, BidListSortColumn.ACCOUNT, Sort.Direction.ASC, null, null, 50);
+    }
+}
@@ -0,0 +1,81 @@
+package com.nnk.springboot.benchmarks;
+
+import com.nnk.springboot.domain.CurvePoint;
+import com.nnk.springboot.repositories.CurvePointRepository;
+import com.nnk.springboot.services.CurveEngine;
+import com.nnk.springboot.services.CurvePointService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CurvePointService CRUD paths against the embedded database, seeded with {@code rows} points spread over
+ * {@code curves} curves. Writes include the rebuild of the changed curve by the CurveEngine after commit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CurvePointServiceBenchmark {
+
+    @Param("10000")
+    public int rows;
+
+    @Param("100")
+    public int curves;
+
+    private CurvePointService curvePointService;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void seed(ApplicationState application) {
+        curvePointService = application.getBean(CurvePointService.class);
+        List<CurvePoint> points = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            points.add(new CurvePoint(i % curves, (double) (i / curves), i * 0.01));
+        }
+        ids = application.getBean(CurvePointRepository.class).saveAll(points).stream().mapToLong(CurvePoint::getId).toArray();
+        application.getBean(CurveEngine.class).loadAll();
+    }
+
+    private long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    @Benchmark
+    public Optional<CurvePoint> read() {
+        return curvePointService.getCurvePointById(randomId());
+    }
+
+    @Benchmark
+    public CurvePoint update() {
+        CurvePoint curvePoint = curvePointService.getCurvePointById(randomId()).orElseThrow();
+        curvePoint.setValue(ThreadLocalRandom.current().nextDouble());
+        curvePointService.saveCurvePoint(curvePoint);
+        return curvePoint;
+    }
+
+    @Benchmark
+    public void createAndDelete() {
+        CurvePoint curvePoint = new CurvePoint(ThreadLocalRandom.current().nextInt(curves), 0.5, 1.0);
+        curvePointService.saveCurvePoint(curvePoint);
+        curvePointService.deleteCurvePointById(curvePoint.getId());
+    }
+}
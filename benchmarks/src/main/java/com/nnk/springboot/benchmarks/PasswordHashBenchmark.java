@@ -0,0 +1,62 @@
+package com.nnk.springboot.benchmarks;
+
+import com.nnk.springboot.security.PasswordHashing;
+import com.nnk.springboot.security.RehashingAuthenticationProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login throughput and latency for each BCrypt strength: a full authentication through the application
+ * provider and encoder, with as many threads as processors to reproduce concurrent logins.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(Threads.MAX)
+public class PasswordHashBenchmark {
+
+    private static final String USERNAME = "user@poseidon.com";
+    private static final String PASSWORD = "Passw0rd!";
+
+    @Param({"10", "11", "12", "13", "14"})
+    public int strength;
+
+    private RehashingAuthenticationProvider provider;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PasswordEncoder encoder = PasswordHashing.createEncoder(strength);
+        InMemoryUserDetailsManager users = new InMemoryUserDetailsManager(
+                User.withUsername(USERNAME).password(encoder.encode(PASSWORD)).roles("USER").build());
+        // The stored hash already has the benchmarked strength: no rehash is ever triggered
+        provider = new RehashingAuthenticationProvider(users, Runnable::run);
+        provider.setUserDetailsService(users);
+        provider.setPasswordEncoder(encoder);
+    }
+
+    @Benchmark
+    public Authentication login() {
+        return provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(USERNAME, PASSWORD));
+    }
+}
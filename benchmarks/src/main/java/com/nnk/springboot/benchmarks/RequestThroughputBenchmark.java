@@ -0,0 +1,129 @@
+package com.nnk.springboot.benchmarks;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.domain.User;
+import com.nnk.springboot.repositories.BidListRepository;
+import com.nnk.springboot.repositories.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Load test of the bid list page with 1000 concurrent clients sharing one logged-in session, the application
+ * serving requests on platform threads or on virtual threads. The database pool is the same in both modes.
+ * <p>
+ * On the embedded H2 database queries cost CPU only; pass the datasource properties of a real database with
+ * -jvmArgsAppend to measure the blocking JDBC case.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(RequestThroughputBenchmark.CLIENTS)
+public class RequestThroughputBenchmark {
+
+    static final int CLIENTS = 1000;
+    private static final String USERNAME = "load@poseidon.com";
+    private static final String PASSWORD = "Passw0rd!";
+    private static final Pattern CSRF_TOKEN = Pattern.compile("name=\"_csrf\" value=\"([^\"]+)\"");
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest listRequest;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        // The accept backlog holds every client, so that connections are not refused while all threads are busy
+        context = ApplicationState.startApplication("spring.threads.virtual.enabled=" + virtualThreads,
+                "server.tomcat.accept-count=" + CLIENTS);
+        seed();
+        String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .connectTimeout(Duration.ofMinutes(1))
+                .build();
+        login(baseUrl);
+        listRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/bidList/list?sort=account")).GET().build();
+    }
+
+    private void seed() {
+        List<BidList> bids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            bids.add(new BidList("Account " + i % 100, "Type " + i % 10, (double) i));
+        }
+        context.getBean(BidListRepository.class).saveAll(bids);
+        User user = new User();
+        user.setUsername(USERNAME);
+        user.setPassword(context.getBean(PasswordEncoder.class).encode(PASSWORD));
+        user.setFullname("Load test");
+        user.setRole("USER");
+        context.getBean(UserRepository.class).save(user);
+    }
+
+    private void login(String baseUrl) throws Exception {
+        String loginPage = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/app/login")).GET().build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+        Matcher csrf = CSRF_TOKEN.matcher(loginPage);
+        if (!csrf.find()) {
+            throw new IllegalStateException("No CSRF token in the login page");
+        }
+        String form = "username=" + URLEncoder.encode(USERNAME, StandardCharsets.UTF_8)
+                + "&password=" + URLEncoder.encode(PASSWORD, StandardCharsets.UTF_8)
+                + "&_csrf=" + URLEncoder.encode(csrf.group(1), StandardCharsets.UTF_8);
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/app/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build(), HttpResponse.BodyHandlers.discarding());
+        if (response.headers().firstValue("Location").filter(location -> location.contains("error")).isPresent()) {
+            throw new IllegalStateException("Login refused");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int listBids() throws Exception {
+        HttpResponse<byte[]> response = client.send(listRequest, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
@@ -0,0 +1,74 @@
+package com.nnk.springboot.benchmarks;
+
+import com.nnk.springboot.domain.BidList;
+import com.nnk.springboot.services.CompiledRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rule evaluation over a batch of {@code rows} bids: with the compiled rule reused, and compiled again for
+ * every record as a rule engine re-parsing its JSON would do. The score is the time per batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RuleEvaluationBenchmark {
+
+    private static final String RULE = """
+            {"all": [{"field": "account", "op": "like", "value": "Account 1%"},
+                     {"any": [{"field": "bidQuantity", "op": ">", "value": 5000},
+                              {"field": "side", "op": "in", "value": ["SELL", "SHORT"]}]},
+                     {"not": {"field": "status", "op": "isNull"}}]}""";
+
+    @Param("10000")
+    public int rows;
+
+    private List<BidList> bids;
+    private CompiledRule rule;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bids = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            BidList bid = new BidList("Account " + i % 100, "Type " + i % 10, (double) i);
+            bid.setSide(i % 3 == 0 ? "SELL" : "BUY");
+            bid.setStatus(i % 5 == 0 ? null : "OPEN");
+            bids.add(bid);
+        }
+        rule = CompiledRule.compile(1, RULE);
+    }
+
+    @Benchmark
+    public BitSet compiled() {
+        return rule.evaluate(BidList.class, bids);
+    }
+
+    @Benchmark
+    public BitSet reparsed() {
+        BitSet matches = new BitSet(bids.size());
+        for (int i = 0; i < bids.size(); i++) {
+            if (CompiledRule.compile(1, RULE).predicate(BidList.class).test(bids.get(i))) {
+                matches.set(i);
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,81 @@
+package com.nnk.springboot.benchmarks;
+
+import com.nnk.springboot.domain.Trade;
+import com.nnk.springboot.repositories.TradeRepository;
+import com.nnk.springboot.services.TradeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TradeService CRUD paths against the embedded database, seeded with {@code rows} trades.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TradeServiceBenchmark {
+
+    @Param("10000")
+    public int rows;
+
+    private TradeService tradeService;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void seed(ApplicationState application) {
+        tradeService = application.getBean(TradeService.class);
+        List<Trade> trades = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            trades.add(trade("Account " + i % 100, (double) i));
+        }
+        ids = application.getBean(TradeRepository.class).saveAll(trades).stream().mapToLong(Trade::getTradeId).toArray();
+    }
+
+    private static Trade trade(String account, double buyQuantity) {
+        Trade trade = new Trade(account, "Type");
+        trade.setBuyQuantity(buyQuantity);
+        return trade;
+    }
+
+    private long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    @Benchmark
+    public Optional<Trade> read() {
+        return tradeService.getTradeById(randomId());
+    }
+
+    @Benchmark
+    public Trade update() {
+        Trade trade = tradeService.getTradeById(randomId()).orElseThrow();
+        trade.setBuyQuantity(ThreadLocalRandom.current().nextDouble());
+        tradeService.saveTrade(trade);
+        return trade;
+    }
+
+    @Benchmark
+    public void createAndDelete() {
+        Trade trade = trade("Account", 1.0);
+        tradeService.saveTrade(trade);
+        tradeService.deleteTradeById(trade.getTradeId());
+    }
+}
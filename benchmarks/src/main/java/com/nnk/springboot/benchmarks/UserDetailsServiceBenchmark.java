@@ -0,0 +1,57 @@
+package com.nnk.springboot.benchmarks;
+
+import com.nnk.springboot.domain.User;
+import com.nnk.springboot.repositories.UserRepository;
+import com.nnk.springboot.services.UserDetailsServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserDetailsServiceImpl.loadUserByUsername, served from the user details cache or read from the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserDetailsServiceBenchmark {
+
+    private static final String USERNAME = "user@poseidon.com";
+
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Setup(Level.Trial)
+    public void seed(ApplicationState application) {
+        userDetailsService = application.getBean(UserDetailsServiceImpl.class);
+        User user = new User();
+        user.setUsername(USERNAME);
+        user.setPassword("{bcrypt}$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchma");
+        user.setFullname("Benchmark");
+        user.setRole("USER");
+        application.getBean(UserRepository.class).save(user);
+    }
+
+    @Benchmark
+    public UserDetails cached() {
+        return userDetailsService.loadUserByUsername(USERNAME);
+    }
+
+    @Benchmark
+    public UserDetails uncached() {
+        userDetailsService.evictUser(USERNAME);
+        return userDetailsService.loadUserByUsername(USERNAME);
+    }
+}